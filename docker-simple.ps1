@@ -25,7 +25,7 @@ Write-Host "Starting Spring Boot application..." -ForegroundColor Cyan
 docker run -d `
     --name spring-boot-employee-management `
     --network host `
-    -e SPRING_PROFILES_ACTIVE=docker `
+    -e SPRING_PROFILES_ACTIVE=docker,prod `
     -e SPRING_DATASOURCE_URL="jdbc:oracle:thin:@localhost:1521/XEPDB1" `
     -e SPRING_DATASOURCE_USERNAME="hr" `
     -e SPRING_DATASOURCE_PASSWORD="hr" `
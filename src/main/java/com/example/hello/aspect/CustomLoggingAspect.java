@@ -1,6 +1,8 @@
 package com.example.hello.aspect;
 
 import com.example.hello.annotation.AuditLog;
+import com.example.hello.audit.AuditEvent;
+import com.example.hello.audit.AuditEventWriter;
 import com.example.hello.annotation.LogExecution;
 import com.example.hello.annotation.LogPerformance;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -14,6 +16,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 
@@ -28,6 +31,12 @@ public class CustomLoggingAspect {
     private static final Logger logger = LoggerFactory.getLogger(CustomLoggingAspect.class);
     private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
 
+    private final AuditEventWriter auditEventWriter;
+
+    public CustomLoggingAspect(AuditEventWriter auditEventWriter) {
+        this.auditEventWriter = auditEventWriter;
+    }
+
     /**
      * Around advice for @LogExecution annotation
      */
@@ -109,7 +118,9 @@ public class CustomLoggingAspect {
     }
 
     /**
-     * Around advice for @AuditLog annotation
+     * Around advice for @AuditLog annotation.
+     * Besides the AUDIT log lines, queues one AUDIT_EVENTS row per call with its
+     * outcome; the row is written asynchronously by {@link AuditEventWriter}.
      */
     @Around("@annotation(auditLog)")
     public Object auditLog(ProceedingJoinPoint joinPoint, AuditLog auditLog) throws Throwable {
@@ -144,18 +155,28 @@ public class CustomLoggingAspect {
             logger.info("AUDIT MESSAGE: {}", auditLog.message());
         }
         
+        LocalDateTime eventTime = LocalDateTime.now(ZoneOffset.UTC);
+        long startTime = System.currentTimeMillis();
+        AuditEvent.Outcome outcome = AuditEvent.Outcome.FAILURE;
+        String errorMessage = null;
         try {
             Object result = joinPoint.proceed();
+            outcome = AuditEvent.Outcome.SUCCESS;
             
             // Log successful audit
             logger.info("AUDIT SUCCESS: {} completed successfully", auditLog.action());
             
             return result;
         } catch (Exception e) {
+            errorMessage = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
             // Log failed audit
             logger.error("AUDIT FAILURE: {} failed - {}", auditLog.action(), e.getMessage(), e);
             throw e;
         } finally {
+            auditEventWriter.submit(new AuditEvent(null, eventTime, username, auditLog.action(), auditLog.resource(),
+                outcome, System.currentTimeMillis() - startTime,
+                auditLog.message().isEmpty() ? null : auditLog.message(), errorMessage));
+            
             // Clear audit context
             MDC.remove("auditAction");
             MDC.remove("auditResource");
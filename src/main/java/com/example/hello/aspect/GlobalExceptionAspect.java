@@ -7,6 +7,7 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -68,6 +69,11 @@ public class GlobalExceptionAspect {
             logger.error("Security error in {}.{}: {}", className, methodName, e.getMessage(), e);
             return createErrorResponse(HttpStatus.FORBIDDEN, "Security Error", e.getMessage(), errorId);
         } catch (RuntimeException e) {
+            if (isOptimisticLockingFailure(e)) {
+                logger.warn("Concurrent modification in {}.{}: {}", className, methodName, e.getMessage());
+                return createErrorResponse(HttpStatus.CONFLICT, "Concurrent Modification",
+                    "The resource was modified by another request; reload it and retry", errorId);
+            }
             logger.error("Runtime error in {}.{}: {}", className, methodName, e.getMessage(), e);
             return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", 
                 "An unexpected error occurred", errorId);
@@ -142,6 +148,18 @@ public class GlobalExceptionAspect {
         }
     }
 
+    /**
+     * Whether the exception (possibly wrapped by the service or repository advice) is an optimistic locking failure
+     */
+    private boolean isOptimisticLockingFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Create standardized error response
      */
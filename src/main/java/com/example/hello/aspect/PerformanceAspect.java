@@ -28,9 +28,10 @@ public class PerformanceAspect {
     private final ConcurrentHashMap<String, Long> methodMaxTimes = new ConcurrentHashMap<>();
 
     /**
-     * Pointcut for all public methods in the application
+     * Pointcut for all public methods in the application.
+     * JDBC instrumentation is excluded: it runs on every statement and measures itself.
      */
-    @Pointcut("execution(public * com.example.hello..*(..))")
+    @Pointcut("execution(public * com.example.hello..*(..)) && !within(com.example.hello.jdbc..*)")
     public void allPublicMethods() {}
 
     /**
@@ -0,0 +1,22 @@
+package com.example.hello.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the AUDIT_EVENTS trail. {@code id} is null until the event has been written.
+ */
+public record AuditEvent(
+	Long id,
+	LocalDateTime eventTime,
+	String username,
+	String action,
+	String resource,
+	Outcome outcome,
+	long durationMs,
+	String message,
+	String errorMessage) {
+
+	public enum Outcome {
+		SUCCESS, FAILURE
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.hello.audit;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Paginated reads over AUDIT_EVENTS, newest first. Every filter is optional;
+ * {@code from} is inclusive and {@code to} exclusive.
+ */
+@Repository
+public class AuditEventRepository {
+
+	private static final String COLUMNS =
+		"ID, EVENT_TIME, USERNAME, ACTION, RESOURCE_TYPE, OUTCOME, DURATION_MS, MESSAGE, ERROR_MESSAGE";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public AuditEventRepository(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	public Page<AuditEvent> find(Filter filter, Pageable pageable) {
+		List<Object> params = new ArrayList<>();
+		String where = where(filter, params);
+
+		Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM AUDIT_EVENTS" + where, Long.class,
+			params.toArray());
+		if (total == null || total <= pageable.getOffset()) {
+			return new PageImpl<>(List.of(), pageable, total == null ? 0 : total);
+		}
+		params.add(pageable.getOffset());
+		params.add(pageable.getPageSize());
+		List<AuditEvent> events = jdbcTemplate.query("SELECT " + COLUMNS + " FROM AUDIT_EVENTS" + where
+			+ " ORDER BY EVENT_TIME DESC, ID DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+			AuditEventRepository::mapRow, params.toArray());
+		return new PageImpl<>(events, pageable, total);
+	}
+
+	private static String where(Filter filter, List<Object> params) {
+		List<String> conditions = new ArrayList<>();
+		if (filter.username() != null) {
+			conditions.add("USERNAME = ?");
+			params.add(filter.username());
+		}
+		if (filter.action() != null) {
+			conditions.add("ACTION = ?");
+			params.add(filter.action());
+		}
+		if (filter.resource() != null) {
+			conditions.add("RESOURCE_TYPE = ?");
+			params.add(filter.resource());
+		}
+		if (filter.outcome() != null) {
+			conditions.add("OUTCOME = ?");
+			params.add(filter.outcome().name());
+		}
+		if (filter.from() != null) {
+			conditions.add("EVENT_TIME >= ?");
+			params.add(Timestamp.valueOf(filter.from()));
+		}
+		if (filter.to() != null) {
+			conditions.add("EVENT_TIME < ?");
+			params.add(Timestamp.valueOf(filter.to()));
+		}
+		return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+	}
+
+	private static AuditEvent mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+		return new AuditEvent(
+			resultSet.getLong(1),
+			resultSet.getTimestamp(2).toLocalDateTime(),
+			resultSet.getString(3),
+			resultSet.getString(4),
+			resultSet.getString(5),
+			AuditEvent.Outcome.valueOf(resultSet.getString(6)),
+			resultSet.getLong(7),
+			resultSet.getString(8),
+			resultSet.getString(9));
+	}
+
+	/**
+	 * Optional filters; null means "any".
+	 */
+	public record Filter(
+		String username,
+		String action,
+		String resource,
+		AuditEvent.Outcome outcome,
+		LocalDateTime from,
+		LocalDateTime to) {
+	}
+}
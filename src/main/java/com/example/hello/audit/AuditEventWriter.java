@@ -0,0 +1,293 @@
+package com.example.hello.audit;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Writes audit events to AUDIT_EVENTS off the request thread.
+ * <p>
+ * {@link #submit} puts the event on a bounded queue. A single writer thread
+ * drains it and inserts one JDBC batch once {@code audit.writer.batch-size}
+ * events are waiting or {@code audit.writer.flush-interval-ms} has passed
+ * since the first event of the batch. When the queue is full, callers wait up
+ * to {@code audit.writer.offer-timeout-ms} for room (backpressure); after that
+ * the event is dropped, counted and logged. Events still queued at shutdown
+ * are flushed before the DataSource closes.
+ * <p>
+ * Every text column is truncated to its length in characters (the Oracle
+ * columns use CHAR semantics, see V12_1). A batch runs in one transaction; if
+ * it fails, it is rolled back and retried row by row, so one bad event costs
+ * only its own row.
+ */
+@Component
+public class AuditEventWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuditEventWriter.class);
+	private static final String INSERT_SQL = "INSERT INTO AUDIT_EVENTS "
+		+ "(EVENT_TIME, USERNAME, ACTION, RESOURCE_TYPE, OUTCOME, DURATION_MS, MESSAGE, ERROR_MESSAGE) "
+		+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final int MAX_USERNAME_LENGTH = 45;
+	private static final int MAX_ACTION_LENGTH = 100;
+	private static final int MAX_RESOURCE_LENGTH = 100;
+	private static final int MAX_MESSAGE_LENGTH = 500;
+	private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+	/** How often an idle writer checks for shutdown. */
+	private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final BlockingQueue<AuditEvent> queue;
+	private final int capacity;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final long offerTimeoutNanos;
+	private final Thread writerThread = new Thread(this::run, "audit-writer");
+
+	private final Counter accepted;
+	private final Counter backpressureWaits;
+	private final Counter dropped;
+	private final Counter written;
+	private final Counter failed;
+	private final DistributionSummary batchSizes;
+	private final Timer flushTimer;
+
+	private volatile boolean stopping;
+
+	public AuditEventWriter(DataSource dataSource, MeterRegistry meterRegistry,
+		@Value("${audit.writer.queue-capacity:10000}") int capacity,
+		@Value("${audit.writer.batch-size:200}") int batchSize,
+		@Value("${audit.writer.flush-interval-ms:500}") long flushIntervalMs,
+		@Value("${audit.writer.offer-timeout-ms:20}") long offerTimeoutMs) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.capacity = capacity;
+		this.batchSize = batchSize;
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+		this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+		this.writerThread.setDaemon(true);
+
+		Gauge.builder("audit.queue.size", queue, BlockingQueue::size)
+			.description("Audit events waiting to be written")
+			.register(meterRegistry);
+		Gauge.builder("audit.queue.capacity", queue, q -> capacity)
+			.description("Maximum number of audit events that can wait to be written")
+			.register(meterRegistry);
+		this.accepted = Counter.builder("audit.events.accepted")
+			.description("Audit events queued for writing")
+			.register(meterRegistry);
+		this.backpressureWaits = Counter.builder("audit.events.backpressure")
+			.description("Submissions that found the audit queue full and had to wait")
+			.register(meterRegistry);
+		this.dropped = Counter.builder("audit.events.dropped")
+			.description("Audit events dropped because the queue stayed full")
+			.register(meterRegistry);
+		this.written = Counter.builder("audit.events.written")
+			.description("Audit events inserted into AUDIT_EVENTS")
+			.register(meterRegistry);
+		this.failed = Counter.builder("audit.events.failed")
+			.description("Audit events lost because their insert failed")
+			.register(meterRegistry);
+		this.batchSizes = DistributionSummary.builder("audit.batch.size")
+			.description("Audit events per JDBC batch")
+			.register(meterRegistry);
+		this.flushTimer = Timer.builder("audit.batch.flush")
+			.description("Time to insert one batch of audit events")
+			.register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void start() {
+		writerThread.start();
+	}
+
+	/**
+	 * Queue an event for writing. Returns false if it was dropped because the
+	 * queue stayed full or the writer has stopped.
+	 */
+	public boolean submit(AuditEvent event) {
+		if (stopping) {
+			dropped.increment();
+			logger.warn("Audit writer stopped, dropped: {}", event);
+			return false;
+		}
+		if (queue.offer(event)) {
+			accepted.increment();
+			return true;
+		}
+		backpressureWaits.increment();
+		try {
+			if (queue.offer(event, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+				accepted.increment();
+				return true;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		dropped.increment();
+		logger.warn("Audit queue full ({} events), dropped: {} on {} by {} at {} - {}", capacity, event.action(),
+			event.resource(), event.username(), event.eventTime(), event.outcome());
+		return false;
+	}
+
+	private void run() {
+		List<AuditEvent> batch = new ArrayList<>(batchSize);
+		while (!stopping || !queue.isEmpty()) {
+			try {
+				AuditEvent first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				fillBatch(batch, System.nanoTime() + flushIntervalNanos);
+			} catch (InterruptedException e) {
+				// Only interrupted when shutdown timed out: write what we have and stop
+				stopping = true;
+				queue.drainTo(batch, batchSize - batch.size());
+			}
+			if (!batch.isEmpty()) {
+				flush(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Add queued events until the batch is full or the deadline passes; during
+	 * shutdown only what is already queued is taken.
+	 */
+	private void fillBatch(List<AuditEvent> batch, long deadline) throws InterruptedException {
+		while (batch.size() < batchSize) {
+			queue.drainTo(batch, batchSize - batch.size());
+			long remaining = deadline - System.nanoTime();
+			if (batch.size() == batchSize || remaining <= 0 || stopping) {
+				return;
+			}
+			// Wake up at least every IDLE_POLL_NANOS so a shutdown is not kept waiting for the deadline
+			AuditEvent next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+			if (next != null) {
+				batch.add(next);
+			}
+		}
+	}
+
+	private void flush(List<AuditEvent> batch) {
+		long start = System.nanoTime();
+		try {
+			transactionTemplate.executeWithoutResult(status ->
+				jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), AuditEventWriter::bind));
+			written.increment(batch.size());
+			batchSizes.record(batch.size());
+		} catch (DataAccessException e) {
+			logger.warn("Failed to write batch of {} audit events, retrying one by one: {}", batch.size(),
+				e.getMessage());
+			batch.forEach(this::insert);
+		} finally {
+			flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void insert(AuditEvent event) {
+		try {
+			jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, event));
+			written.increment();
+		} catch (DataAccessException e) {
+			failed.increment();
+			// The application log is the fallback trail for lost rows
+			logger.error("AUDIT NOT PERSISTED: {} ({})", event, e.getMessage());
+		}
+	}
+
+	private static void bind(PreparedStatement statement, AuditEvent event) throws SQLException {
+		statement.setTimestamp(1, Timestamp.valueOf(event.eventTime()));
+		statement.setString(2, truncate(event.username(), MAX_USERNAME_LENGTH));
+		statement.setString(3, truncate(event.action(), MAX_ACTION_LENGTH));
+		statement.setString(4, truncate(event.resource(), MAX_RESOURCE_LENGTH));
+		statement.setString(5, event.outcome().name());
+		statement.setLong(6, event.durationMs());
+		statement.setString(7, truncate(event.message(), MAX_MESSAGE_LENGTH));
+		statement.setString(8, truncate(event.errorMessage(), MAX_ERROR_MESSAGE_LENGTH));
+	}
+
+	/**
+	 * At most {@code maxLength} chars, never ending in half of a surrogate pair.
+	 */
+	private static String truncate(String value, int maxLength) {
+		if (value == null || value.length() <= maxLength) {
+			return value;
+		}
+		int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+		return value.substring(0, end);
+	}
+
+	public Stats stats() {
+		return new Stats(
+			queue.size(),
+			capacity,
+			(long) accepted.count(),
+			(long) backpressureWaits.count(),
+			(long) dropped.count(),
+			(long) written.count(),
+			(long) failed.count(),
+			batchSizes.count(),
+			batchSizes.mean(),
+			flushTimer.mean(TimeUnit.MILLISECONDS),
+			flushTimer.max(TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Stop accepting new work, flush what is queued and wait for the writer to finish.
+	 */
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		stopping = true;
+		writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+		if (writerThread.isAlive()) {
+			writerThread.interrupt();
+			logger.warn("Audit writer did not finish in time, {} events still queued", queue.size());
+		}
+	}
+
+	/**
+	 * Queue occupancy, throughput and batch statistics.
+	 */
+	public record Stats(
+		int queued,
+		int capacity,
+		long accepted,
+		long backpressureWaits,
+		long dropped,
+		long written,
+		long failed,
+		long batches,
+		double meanBatchSize,
+		double meanFlushMillis,
+		double maxFlushMillis) {
+	}
+}
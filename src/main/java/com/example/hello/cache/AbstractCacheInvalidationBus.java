@@ -0,0 +1,114 @@
+package com.example.hello.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Local side of a {@link CacheInvalidationBus}: the region registry, evicting
+ * this node's caches after commit, and applying invalidations from other
+ * nodes. Subclasses only transport {@link CacheInvalidation}s.
+ */
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+	private static final Logger logger = LoggerFactory.getLogger(AbstractCacheInvalidationBus.class);
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final Map<String, List<InvalidationTarget>> targets = new ConcurrentHashMap<>();
+	private final Counter sent;
+	private final Counter received;
+
+	protected AbstractCacheInvalidationBus(MeterRegistry meterRegistry) {
+		this.sent = Counter.builder("cache.invalidations.sent")
+			.description("Cache invalidations broadcast by this node")
+			.register(meterRegistry);
+		this.received = Counter.builder("cache.invalidations.received")
+			.description("Cache invalidations from other nodes applied locally")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public void evict(String region, Object key) {
+		publish(new CacheInvalidation(region, key.toString(), nodeId));
+	}
+
+	@Override
+	public void clear(String region) {
+		publish(new CacheInvalidation(region, null, nodeId));
+	}
+
+	@Override
+	public void register(String region, InvalidationTarget target) {
+		targets.computeIfAbsent(region, ignored -> new CopyOnWriteArrayList<>()).add(target);
+	}
+
+	@Override
+	public String nodeId() {
+		return nodeId;
+	}
+
+	/**
+	 * Transport an invalidation to the other nodes. Called inside the writer's
+	 * transaction when there is one.
+	 */
+	protected abstract void send(CacheInvalidation invalidation);
+
+	/**
+	 * Apply an invalidation received from the transport. This node's own are ignored;
+	 * they were applied when the write committed.
+	 */
+	protected void deliver(CacheInvalidation invalidation) {
+		if (!nodeId.equals(invalidation.originNode())) {
+			received.increment();
+			apply(invalidation);
+		}
+	}
+
+	/**
+	 * Clear every registered region, for when invalidations may have been missed.
+	 */
+	protected void clearAll() {
+		targets.values().forEach(regionTargets -> regionTargets.forEach(InvalidationTarget::invalidateAll));
+	}
+
+	private void publish(CacheInvalidation invalidation) {
+		send(invalidation);
+		sent.increment();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			// Evicting before commit would let a concurrent read cache the old row again
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(invalidation);
+				}
+			});
+		} else {
+			apply(invalidation);
+		}
+	}
+
+	private void apply(CacheInvalidation invalidation) {
+		List<InvalidationTarget> regionTargets = targets.get(invalidation.region());
+		if (regionTargets == null) {
+			logger.debug("No local cache for invalidated region {}", invalidation.region());
+			return;
+		}
+		for (InvalidationTarget target : regionTargets) {
+			if (invalidation.clearsRegion()) {
+				target.invalidateAll();
+			} else {
+				target.invalidate(invalidation.key());
+			}
+		}
+	}
+}
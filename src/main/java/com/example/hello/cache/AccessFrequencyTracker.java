@@ -0,0 +1,108 @@
+package com.example.hello.cache;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.hello.model.Employee;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Counts lookups per cache key so a starting instance knows what to preload.
+ * <p>
+ * At shutdown the {@code warmup.snapshot-size} most-accessed keys of each
+ * region are written to ACCESS_SNAPSHOTS; {@link #hottest} ranks keys by
+ * their hits summed over the snapshots of the last
+ * {@code warmup.snapshot-max-age-hours}, across all instances. At most
+ * {@code warmup.tracked-keys} keys are counted per region; lookups of keys
+ * first seen after that are not counted.
+ */
+@Component
+public class AccessFrequencyTracker {
+
+	private static final Logger logger = LoggerFactory.getLogger(AccessFrequencyTracker.class);
+	private static final String HOTTEST_SQL = "SELECT CACHE_KEY FROM ACCESS_SNAPSHOTS "
+		+ "WHERE REGION = ? AND RECORDED_AT > ? GROUP BY CACHE_KEY ORDER BY SUM(HITS) DESC FETCH FIRST ? ROWS ONLY";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Map<String, Map<String, LongAdder>> hits = new ConcurrentHashMap<>();
+
+	@Value("${warmup.tracked-keys:10000}")
+	private int trackedKeys;
+
+	@Value("${warmup.snapshot-size:1000}")
+	private int snapshotSize;
+
+	@Value("${warmup.snapshot-max-age-hours:72}")
+	private long snapshotMaxAgeHours;
+
+	private volatile boolean recording = true;
+
+	public AccessFrequencyTracker(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	public void record(String region, Object key) {
+		if (!recording) {
+			return;
+		}
+		Map<String, LongAdder> regionHits = hits.computeIfAbsent(region, ignored -> new ConcurrentHashMap<>());
+		LongAdder counter = regionHits.get(key.toString());
+		if (counter == null) {
+			if (regionHits.size() >= trackedKeys) {
+				return;
+			}
+			counter = regionHits.computeIfAbsent(key.toString(), ignored -> new LongAdder());
+		}
+		counter.increment();
+	}
+
+	/**
+	 * Stop or resume counting, e.g. while synthetic warm-up traffic runs.
+	 */
+	public void setRecording(boolean recording) {
+		this.recording = recording;
+	}
+
+	/**
+	 * Keys of a region with the most hits in recent snapshots, hottest first.
+	 */
+	public List<String> hottest(String region, int limit) {
+		Timestamp since = Timestamp.valueOf(Employee.currentTimestamp().minusHours(snapshotMaxAgeHours));
+		return jdbcTemplate.queryForList(HOTTEST_SQL, String.class, region, since, limit);
+	}
+
+	@PreDestroy
+	public void snapshot() {
+		Timestamp now = Timestamp.valueOf(Employee.currentTimestamp());
+		List<Object[]> rows = new ArrayList<>();
+		hits.forEach((region, regionHits) -> regionHits.entrySet().stream()
+			.map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+			.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+			.limit(snapshotSize)
+			.forEach(entry -> rows.add(new Object[] {region, entry.getKey(), entry.getValue(), now})));
+		try {
+			jdbcTemplate.batchUpdate(
+				"INSERT INTO ACCESS_SNAPSHOTS (REGION, CACHE_KEY, HITS, RECORDED_AT) VALUES (?, ?, ?, ?)", rows);
+			jdbcTemplate.update("DELETE FROM ACCESS_SNAPSHOTS WHERE RECORDED_AT < ?",
+				Timestamp.valueOf(now.toLocalDateTime().minusHours(snapshotMaxAgeHours)));
+			logger.info("Saved access snapshot of {} keys", rows.size());
+		} catch (RuntimeException e) {
+			// Only costs the next start a colder cache
+			logger.warn("Could not save access snapshot: {}", e.getMessage());
+		}
+	}
+}
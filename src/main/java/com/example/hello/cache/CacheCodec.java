@@ -0,0 +1,43 @@
+package com.example.hello.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Converts cached values to and from the bytes kept in a {@link SharedCacheStore}.
+ * Encoded values must not be empty; an empty value marks a cached absence.
+ */
+public interface CacheCodec<V> {
+
+	byte[] encode(V value);
+
+	V decode(byte[] bytes);
+
+	/**
+	 * JSON through the given mapper, which must read back every property it
+	 * writes ({@code READ_ONLY} properties are skipped on read by default).
+	 */
+	static <V> CacheCodec<V> json(ObjectMapper objectMapper, Class<V> type) {
+		return new CacheCodec<>() {
+			@Override
+			public byte[] encode(V value) {
+				try {
+					return objectMapper.writeValueAsBytes(value);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+
+			@Override
+			public V decode(byte[] bytes) {
+				try {
+					return objectMapper.readValue(bytes, type);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		};
+	}
+}
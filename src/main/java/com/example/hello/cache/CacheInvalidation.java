@@ -0,0 +1,15 @@
+package com.example.hello.cache;
+
+/**
+ * One eviction broadcast over the {@link CacheInvalidationBus}.
+ *
+ * @param region cache region, e.g. {@code employees}
+ * @param key evicted key in its string form; null clears the whole region
+ * @param originNode instance that made the change
+ */
+public record CacheInvalidation(String region, String key, String originNode) {
+
+	public boolean clearsRegion() {
+		return key == null;
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.hello.cache;
+
+/**
+ * Broadcasts cache evictions to every application instance.
+ * <p>
+ * Writers call {@link #evict} or {@link #clear} for each cached value they
+ * make stale. The originating node evicts once the current transaction
+ * commits (or immediately outside a transaction); other nodes evict when the
+ * invalidation reaches them. Local caches register per region with
+ * {@link #register}.
+ * <p>
+ * {@link JdbcCacheInvalidationBus} (the default, {@code cache.invalidation.bus=jdbc})
+ * needs nothing beyond the application database. A broker-backed bus extends
+ * {@link AbstractCacheInvalidationBus}, sends in {@code send} and hands
+ * received messages to {@code deliver}.
+ */
+public interface CacheInvalidationBus {
+
+	/**
+	 * Evict one key of a region on every node.
+	 */
+	void evict(String region, Object key);
+
+	/**
+	 * Clear a whole region on every node, e.g. after a bulk change.
+	 */
+	void clear(String region);
+
+	/**
+	 * Register a local cache of a region; it receives every invalidation for
+	 * that region, including this node's own. A region may have several.
+	 */
+	void register(String region, InvalidationTarget target);
+
+	/**
+	 * Identifies this instance in broadcast invalidations.
+	 */
+	String nodeId();
+}
@@ -0,0 +1,101 @@
+package com.example.hello.cache;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Applies shared-tier cache writes (fills and evictions) off the request
+ * thread, on one thread in submission order, so an eviction always lands
+ * after a fill queued before it.
+ * <p>
+ * The queue holds {@code cache.write-behind.queue-capacity} tasks. When it is
+ * full the submitting thread waits for room: evictions must not be dropped, and
+ * running one on the caller would let fills queued before it overwrite it with
+ * the stale value. Only after shutdown are writes run on the caller.
+ */
+@Component
+public class CacheWriteBehind {
+
+	private static final Logger logger = LoggerFactory.getLogger(CacheWriteBehind.class);
+
+	private final BlockingQueue<Runnable> queue;
+	private final ThreadPoolExecutor executor;
+
+	public CacheWriteBehind(@Value("${cache.write-behind.queue-capacity:10000}") int queueCapacity,
+		MeterRegistry meterRegistry) {
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+			Thread thread = new Thread(runnable, "cache-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		}, CacheWriteBehind::enqueue);
+		Gauge.builder("cache.write.behind.queued", queue, BlockingQueue::size)
+			.description("Shared cache writes waiting to be applied")
+			.register(meterRegistry);
+	}
+
+	public void submit(Runnable write) {
+		executor.execute(() -> {
+			try {
+				write.run();
+			} catch (RuntimeException e) {
+				logger.warn("Shared cache write failed: {}", e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Rejection handler: block until the queue has room, keeping submission order.
+	 */
+	private static void enqueue(Runnable task, ThreadPoolExecutor executor) {
+		if (executor.isShutdown()) {
+			task.run();
+			return;
+		}
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					executor.getQueue().put(task);
+					return;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Wait until every write submitted so far has been applied.
+	 */
+	public boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		executor.execute(done::countDown);
+		return done.await(timeout, unit);
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+			logger.warn("{} shared cache writes not applied at shutdown", queue.size());
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.hello.cache;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Serves user lookups from the per-node {@code users} cache, so HTTP Basic
+ * requests do not query APP_USERS and APP_AUTHORITIES every time. Unknown
+ * users are not cached.
+ * <p>
+ * Callers get a copy: the authentication manager erases the password of the
+ * returned user after a successful login, which must not reach the cached one.
+ */
+public class CachingUserDetailsService implements UserDetailsService {
+
+	private final UserDetailsService delegate;
+	private final TieredCache<String, UserDetails> cache;
+	private final AccessFrequencyTracker accessTracker;
+
+	public CachingUserDetailsService(UserDetailsService delegate, TieredCache<String, UserDetails> cache,
+		AccessFrequencyTracker accessTracker) {
+		this.delegate = delegate;
+		this.cache = cache;
+		this.accessTracker = accessTracker;
+	}
+
+	@Override
+	public UserDetails loadUserByUsername(String username) {
+		accessTracker.record(cache.region(), username);
+		UserDetails user = cache.get(username, this::loadOrNull);
+		if (user == null) {
+			throw new UsernameNotFoundException("User not found: " + username);
+		}
+		return User.withUserDetails(user).build();
+	}
+
+	private UserDetails loadOrNull(String username) {
+		try {
+			return delegate.loadUserByUsername(username);
+		} catch (UsernameNotFoundException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.example.hello.cache;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.hello.config.CacheConfig;
+import com.example.hello.event.EmployeeChangedEvent;
+import com.example.hello.event.EmployeesBulkChangedEvent;
+
+/**
+ * Broadcasts an eviction for every employee write. The listeners run
+ * synchronously in the writing transaction, so the invalidation commits (or
+ * rolls back) with the change.
+ */
+@Component
+public class EmployeeCacheInvalidator {
+
+	private final CacheInvalidationBus bus;
+
+	public EmployeeCacheInvalidator(CacheInvalidationBus bus) {
+		this.bus = bus;
+	}
+
+	@EventListener
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		bus.evict(CacheConfig.EMPLOYEES, event.employeeId());
+	}
+
+	@EventListener
+	public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+		// Set-based statements do not report which rows they touched
+		bus.clear(CacheConfig.EMPLOYEES);
+	}
+}
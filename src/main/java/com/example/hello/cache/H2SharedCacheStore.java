@@ -0,0 +1,148 @@
+package com.example.hello.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link SharedCacheStore} in an H2 database of its own, separate from the
+ * application database so cache traffic never reaches Oracle.
+ * <p>
+ * Opt-in: the store exists only when {@code cache.l2.url} is set, and the URL
+ * must reach an H2 server shared by the instances
+ * ({@code jdbc:h2:tcp://cache-host:9092/mem:l2-cache}) or, on one host, a file
+ * database with {@code AUTO_SERVER=TRUE}. An embedded in-memory store per JVM
+ * would only duplicate L1 without a bound, so it is rejected. The H2 driver is
+ * not part of the application artifact; build with {@code -Pshared-cache-h2}
+ * to include it.
+ * <p>
+ * The store holds about {@code cache.l2.max-entries} entries: every
+ * max-entries / 100 puts, the entries are counted and those closest to expiry
+ * removed if there are too many, so each instance can overshoot by about 1%
+ * between checks. The pool waits
+ * at most {@code cache.l2.timeout-ms} for a connection, so an unreachable store
+ * costs a request that long before it falls back to the database. Expired
+ * entries are ignored on read and purged periodically.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.l2.url")
+public class H2SharedCacheStore implements SharedCacheStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(H2SharedCacheStore.class);
+	private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS CACHE_ENTRIES ("
+		+ "REGION VARCHAR(50) NOT NULL, CACHE_KEY VARCHAR(200) NOT NULL, CACHE_VALUE VARBINARY NOT NULL, "
+		+ "EXPIRES_AT BIGINT NOT NULL, PRIMARY KEY (REGION, CACHE_KEY))";
+	private static final String CREATE_INDEX_SQL =
+		"CREATE INDEX IF NOT EXISTS IDX_CACHE_ENTRIES_EXPIRES ON CACHE_ENTRIES (EXPIRES_AT)";
+	// Expiry of the n-th entry closest to expiry (0-based): everything up to it makes room
+	private static final String NTH_EXPIRY_SQL =
+		"SELECT EXPIRES_AT FROM CACHE_ENTRIES ORDER BY EXPIRES_AT OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY";
+	private static final String MERGE_SQL = "MERGE INTO CACHE_ENTRIES (REGION, CACHE_KEY, CACHE_VALUE, EXPIRES_AT) "
+		+ "KEY (REGION, CACHE_KEY) VALUES (?, ?, ?, ?)";
+	private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+	private static final int SIZE_CHECKS_PER_LIMIT = 100;
+
+	private final HikariDataSource dataSource;
+	private final JdbcTemplate jdbcTemplate;
+	private final AtomicLong lastPurgeMillis = new AtomicLong(System.currentTimeMillis());
+	private final long maxEntries;
+	private final long sizeCheckInterval;
+	private final AtomicLong putsSinceSizeCheck = new AtomicLong();
+
+	public H2SharedCacheStore(@Value("${cache.l2.url}") String url,
+		@Value("${cache.l2.pool-size:4}") int poolSize,
+		@Value("${cache.l2.timeout-ms:250}") long timeoutMs,
+		@Value("${cache.l2.max-entries:100000}") long maxEntries) {
+		if (!isShared(url)) {
+			throw new IllegalArgumentException("cache.l2.url must point at a shared H2 server "
+				+ "(jdbc:h2:tcp:, jdbc:h2:ssl: or AUTO_SERVER=TRUE), not " + url);
+		}
+		this.maxEntries = maxEntries;
+		this.sizeCheckInterval = Math.max(1, maxEntries / SIZE_CHECKS_PER_LIMIT);
+		HikariConfig config = new HikariConfig();
+		config.setPoolName("l2-cache");
+		config.setJdbcUrl(url);
+		config.setUsername("sa");
+		config.setMaximumPoolSize(poolSize);
+		config.setConnectionTimeout(timeoutMs);
+		// Let the application start (and fall back to the database) while the store is down
+		config.setInitializationFailTimeout(-1);
+		this.dataSource = new HikariDataSource(config);
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		try {
+			jdbcTemplate.execute(CREATE_TABLE_SQL);
+			jdbcTemplate.execute(CREATE_INDEX_SQL);
+		} catch (RuntimeException e) {
+			logger.warn("Shared cache store {} not available: {}", url, e.getMessage());
+		}
+	}
+
+	@Override
+	public byte[] get(String region, String key) {
+		List<byte[]> values = jdbcTemplate.query(
+			"SELECT CACHE_VALUE FROM CACHE_ENTRIES WHERE REGION = ? AND CACHE_KEY = ? AND EXPIRES_AT > ?",
+			(resultSet, rowNum) -> resultSet.getBytes(1), region, key, System.currentTimeMillis());
+		return values.isEmpty() ? null : values.get(0);
+	}
+
+	@Override
+	public void put(String region, String key, byte[] value, Duration ttl) {
+		long now = System.currentTimeMillis();
+		jdbcTemplate.update(MERGE_SQL, region, key, value, now + ttl.toMillis());
+		long lastPurge = lastPurgeMillis.get();
+		if (now - lastPurge > PURGE_INTERVAL_MILLIS && lastPurgeMillis.compareAndSet(lastPurge, now)) {
+			int purged = jdbcTemplate.update("DELETE FROM CACHE_ENTRIES WHERE EXPIRES_AT <= ?", now);
+			logger.debug("Purged {} expired shared cache entries", purged);
+		}
+		// Counting scans the whole store, so only every sizeCheckInterval puts
+		if (putsSinceSizeCheck.incrementAndGet() >= sizeCheckInterval) {
+			putsSinceSizeCheck.set(0);
+			Long size = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM CACHE_ENTRIES", Long.class);
+			if (size != null && size > maxEntries) {
+				trim(size - maxEntries);
+			}
+		}
+	}
+
+	private void trim(long excess) {
+		List<Long> threshold = jdbcTemplate.queryForList(NTH_EXPIRY_SQL, Long.class, excess - 1);
+		if (!threshold.isEmpty()) {
+			int removed = jdbcTemplate.update("DELETE FROM CACHE_ENTRIES WHERE EXPIRES_AT <= ?", threshold.get(0));
+			logger.debug("Removed {} shared cache entries over the limit of {}", removed, maxEntries);
+		}
+	}
+
+	@Override
+	public void evict(String region, String key) {
+		jdbcTemplate.update("DELETE FROM CACHE_ENTRIES WHERE REGION = ? AND CACHE_KEY = ?", region, key);
+	}
+
+	@Override
+	public void clear(String region) {
+		jdbcTemplate.update("DELETE FROM CACHE_ENTRIES WHERE REGION = ?", region);
+	}
+
+	private static boolean isShared(String url) {
+		return url.startsWith("jdbc:h2:tcp:") || url.startsWith("jdbc:h2:ssl:")
+			|| url.toUpperCase(Locale.ROOT).contains(";AUTO_SERVER=TRUE");
+	}
+
+	@PreDestroy
+	public void close() {
+		dataSource.close();
+	}
+}
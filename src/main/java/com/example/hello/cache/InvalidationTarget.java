@@ -0,0 +1,15 @@
+package com.example.hello.cache;
+
+/**
+ * Something on this node that holds copies of a region's values and must drop
+ * them when the {@link CacheInvalidationBus} says they are stale.
+ */
+public interface InvalidationTarget {
+
+	/**
+	 * Drop one key, given in its string form.
+	 */
+	void invalidate(String key);
+
+	void invalidateAll();
+}
@@ -0,0 +1,243 @@
+package com.example.hello.cache;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.hello.model.Employee;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link CacheInvalidationBus} over the CACHE_INVALIDATIONS table of the shared database.
+ * <p>
+ * Invalidations are inserted in the writer's transaction, so they are
+ * broadcast exactly when the write commits and never for a rolled-back write.
+ * Each instance polls {@code ID > cursor} every
+ * {@code cache.invalidation.poll-interval-ms} and evicts locally.
+ * <p>
+ * IDs are assigned at insert time and can commit out of order, so a poll may
+ * see ID 7 while ID 6 is still uncommitted. IDs skipped over are remembered
+ * as gaps and re-read on every poll until they show up or
+ * {@code cache.invalidation.gap-timeout-seconds} passes. The gap timeout must be
+ * at least {@code spring.transaction.default-timeout} (checked at start), so by
+ * then a missing ID is normally a rolled-back write. A transaction can still
+ * commit after its deadline, though, and the region of a row that was never
+ * read is unknown, so an expired gap clears every local region rather than
+ * being dropped. So does having too many gaps to track. Rows older than
+ * {@code cache.invalidation.retention-minutes} are purged.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+	private static final Logger logger = LoggerFactory.getLogger(JdbcCacheInvalidationBus.class);
+	private static final String INSERT_SQL =
+		"INSERT INTO CACHE_INVALIDATIONS (REGION, CACHE_KEY, NODE_ID, CREATED_AT) VALUES (?, ?, ?, ?)";
+	private static final String SELECT_AFTER_SQL = "SELECT ID, REGION, CACHE_KEY, NODE_ID FROM CACHE_INVALIDATIONS "
+		+ "WHERE ID > ? ORDER BY ID FETCH FIRST ? ROWS ONLY";
+	private static final String SELECT_IDS_SQL = "SELECT ID, REGION, CACHE_KEY, NODE_ID FROM CACHE_INVALIDATIONS "
+		+ "WHERE ID IN (%s)";
+	private static final int IN_LIST_CHUNK_SIZE = 1000;
+	private static final long PURGE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Thread pollerThread = new Thread(this::pollLoop, "cache-invalidation-poller");
+	// Skipped ID -> deadline (System.nanoTime) for it to commit; poller thread only
+	private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+	@Value("${cache.invalidation.poll-interval-ms:1000}")
+	private long pollIntervalMs;
+
+	@Value("${cache.invalidation.batch-size:1000}")
+	private int batchSize;
+
+	@Value("${cache.invalidation.gap-timeout-seconds:60}")
+	private long gapTimeoutSeconds;
+
+	@Value("${spring.transaction.default-timeout:-1}")
+	private Duration transactionTimeout;
+
+	@Value("${cache.invalidation.max-gaps:10000}")
+	private int maxGaps;
+
+	@Value("${cache.invalidation.retention-minutes:60}")
+	private long retentionMinutes;
+
+	private volatile long cursor;
+	private volatile boolean stopping;
+	private long lastPurgeNanos;
+
+	public JdbcCacheInvalidationBus(DataSource dataSource, MeterRegistry meterRegistry) {
+		super(meterRegistry);
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.pollerThread.setDaemon(true);
+		Gauge.builder("cache.invalidations.cursor", this, bus -> bus.cursor)
+			.description("Highest CACHE_INVALIDATIONS ID seen by this node")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Starts polling before other ready listeners, so nothing cached during the
+	 * warm-up (WarmupRunner) misses an invalidation.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void start() {
+		checkGapTimeout();
+		Long maxId = jdbcTemplate.queryForObject("SELECT MAX(ID) FROM CACHE_INVALIDATIONS", Long.class);
+		cursor = maxId == null ? 0 : maxId;
+		lastPurgeNanos = System.nanoTime();
+		pollerThread.start();
+		logger.info("Cache invalidation bus started at {} as node {}", cursor, nodeId());
+	}
+
+	void checkGapTimeout() {
+		if (transactionTimeout.isNegative() || transactionTimeout.isZero()) {
+			logger.warn("No spring.transaction.default-timeout; uncommitted cache invalidations are given up on after {} s "
+				+ "by clearing all local caches", gapTimeoutSeconds);
+		} else if (Duration.ofSeconds(gapTimeoutSeconds).compareTo(transactionTimeout) < 0) {
+			throw new IllegalStateException("cache.invalidation.gap-timeout-seconds (" + gapTimeoutSeconds
+				+ ") must be at least spring.transaction.default-timeout (" + transactionTimeout.toSeconds() + " s)");
+		}
+	}
+
+	@Override
+	protected void send(CacheInvalidation invalidation) {
+		jdbcTemplate.update(INSERT_SQL, invalidation.region(), invalidation.key(), invalidation.originNode(),
+			Timestamp.valueOf(Employee.currentTimestamp()));
+	}
+
+	private void pollLoop() {
+		while (!stopping) {
+			try {
+				while (poll() == batchSize && !stopping) {
+					// Backlog: keep reading without waiting
+				}
+				if (System.nanoTime() - lastPurgeNanos > PURGE_INTERVAL_NANOS) {
+					purge();
+				}
+			} catch (RuntimeException e) {
+				logger.error("Cache invalidation poll failed: {}", e.getMessage(), e);
+			}
+			try {
+				Thread.sleep(pollIntervalMs);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Apply invalidations committed since the last poll, including late commits
+	 * of skipped IDs. Returns the number of new rows after the cursor.
+	 */
+	int poll() {
+		List<Row> rows = jdbcTemplate.query(SELECT_AFTER_SQL, JdbcCacheInvalidationBus::mapRow, cursor, batchSize);
+		long now = System.nanoTime();
+		for (Row row : recheckGaps()) {
+			gaps.remove(row.id());
+			deliver(row.invalidation());
+		}
+		for (Row row : rows) {
+			trackGaps(row.id(), now);
+			cursor = row.id();
+			deliver(row.invalidation());
+		}
+		int tracked = gaps.size();
+		gaps.values().removeIf(deadline -> deadline - now < 0);
+		if (gaps.size() < tracked) {
+			// Most likely rolled back, but a late commit would otherwise never be applied
+			logger.warn("{} cache invalidation IDs still uncommitted after {} s; clearing all local caches",
+				tracked - gaps.size(), gapTimeoutSeconds);
+			clearAll();
+		}
+		return rows.size();
+	}
+
+	private void trackGaps(long id, long now) {
+		long skipped = id - cursor - 1;
+		if (skipped <= 0) {
+			return;
+		}
+		if (gaps.size() + skipped > maxGaps) {
+			// Cannot tell which invalidations may still commit: start over with empty caches
+			logger.warn("{} unconfirmed cache invalidation IDs before {}; clearing all local caches",
+				gaps.size() + skipped, id);
+			gaps.clear();
+			clearAll();
+			return;
+		}
+		long deadline = now + TimeUnit.SECONDS.toNanos(gapTimeoutSeconds);
+		for (long gap = cursor + 1; gap < id; gap++) {
+			gaps.put(gap, deadline);
+		}
+	}
+
+	private List<Row> recheckGaps() {
+		if (gaps.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Long> ids = new ArrayList<>(gaps.keySet());
+		List<Row> found = new ArrayList<>();
+		for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK_SIZE) {
+			List<Long> chunk = ids.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, ids.size()));
+			String sql = String.format(SELECT_IDS_SQL, String.join(",", Collections.nCopies(chunk.size(), "?")));
+			found.addAll(jdbcTemplate.query(sql, JdbcCacheInvalidationBus::mapRow, chunk.toArray()));
+		}
+		return found;
+	}
+
+	private void purge() {
+		lastPurgeNanos = System.nanoTime();
+		Timestamp cutoff = Timestamp.valueOf(Employee.currentTimestamp().minusMinutes(retentionMinutes));
+		int deleted = jdbcTemplate.update("DELETE FROM CACHE_INVALIDATIONS WHERE CREATED_AT < ?", cutoff);
+		if (deleted > 0) {
+			logger.debug("Purged {} cache invalidations", deleted);
+		}
+	}
+
+	private static Row mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+		return new Row(resultSet.getLong(1),
+			new CacheInvalidation(resultSet.getString(2), resultSet.getString(3), resultSet.getString(4)));
+	}
+
+	long cursor() {
+		return cursor;
+	}
+
+	int pendingGaps() {
+		return gaps.size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		stopping = true;
+		pollerThread.interrupt();
+	}
+
+	private record Row(long id, CacheInvalidation invalidation) {
+	}
+}
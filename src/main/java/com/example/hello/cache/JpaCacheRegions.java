@@ -0,0 +1,103 @@
+package com.example.hello.cache;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import com.example.hello.config.CacheConfig;
+import com.example.hello.model.Authority;
+import com.example.hello.model.Employee;
+import com.example.hello.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The Hibernate second-level cache regions, their cross-node eviction and statistics.
+ * <p>
+ * Hibernate evicts its regions on this node after its own writes (bulk JPQL
+ * updates clear the whole entity region). Other nodes learn about the change
+ * through the {@link CacheInvalidationBus}: an {@code employees} invalidation
+ * evicts the Employee entry, a {@code users} invalidation clears the user,
+ * authority and user query regions (user changes are rare).
+ */
+@Component
+public class JpaCacheRegions {
+
+	public static final String EMPLOYEE = "employee";
+	public static final String USER = "user";
+	public static final String USER_AUTHORITIES = "user-authorities";
+	public static final String AUTHORITY = "authority";
+	/** Query results of the user and authority lookups by username. */
+	public static final String USER_QUERIES = "user-queries";
+	/** Hibernate's region for cacheable queries that name no region. */
+	public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+	/** Hibernate's last-change time per table, which decides whether a cached query result is still valid. */
+	public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+	/** Bounded regions; see JpaCacheConfig. */
+	public static final List<String> REGIONS =
+		List.of(EMPLOYEE, USER, USER_AUTHORITIES, AUTHORITY, USER_QUERIES, DEFAULT_QUERY_RESULTS);
+
+	private static final List<String> ENTITY_REGIONS = List.of(EMPLOYEE, USER, USER_AUTHORITIES, AUTHORITY);
+
+	private final SessionFactory sessionFactory;
+
+	public JpaCacheRegions(EntityManagerFactory entityManagerFactory, CacheInvalidationBus bus) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		org.hibernate.Cache cache = sessionFactory.getCache();
+		bus.register(CacheConfig.EMPLOYEES, new InvalidationTarget() {
+			@Override
+			public void invalidate(String key) {
+				cache.evictEntityData(Employee.class, Long.valueOf(key));
+			}
+
+			@Override
+			public void invalidateAll() {
+				cache.evictEntityData(Employee.class);
+			}
+		});
+		bus.register(CacheConfig.USERS, new InvalidationTarget() {
+			@Override
+			public void invalidate(String key) {
+				invalidateAll();
+			}
+
+			@Override
+			public void invalidateAll() {
+				cache.evictEntityData(User.class);
+				cache.evictEntityData(Authority.class);
+				cache.evictCollectionData(User.class.getName() + ".authorities");
+				cache.evictQueryRegion(USER_QUERIES);
+			}
+		});
+	}
+
+	/**
+	 * Hits, misses and puts per region since startup, plus entries held on this node.
+	 */
+	public List<RegionStats> statistics() {
+		Statistics statistics = sessionFactory.getStatistics();
+		return REGIONS.stream()
+			.map(region -> toStats(region, ENTITY_REGIONS.contains(region)
+				? statistics.getDomainDataRegionStatistics(region)
+				: statistics.getQueryRegionStatistics(region)))
+			.toList();
+	}
+
+	private static RegionStats toStats(String region, CacheRegionStatistics statistics) {
+		if (statistics == null) {
+			return new RegionStats(region, 0, 0, 0, 0);
+		}
+		return new RegionStats(region, statistics.getHitCount(), statistics.getMissCount(), statistics.getPutCount(),
+			statistics.getElementCountInMemory());
+	}
+
+	/**
+	 * Counters of one region; {@code entries} is -1 when the provider does not report it.
+	 */
+	public record RegionStats(String region, long hits, long misses, long puts, long entries) {
+	}
+}
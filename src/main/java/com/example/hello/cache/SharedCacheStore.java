@@ -0,0 +1,26 @@
+package com.example.hello.cache;
+
+import java.time.Duration;
+
+/**
+ * Second cache tier shared by the application instances, holding encoded
+ * values per region and key.
+ * <p>
+ * {@link H2SharedCacheStore} (enabled by {@code cache.l2.url}) only needs an
+ * H2 server; a networked store such as Redis implements the same four
+ * operations. Implementations may throw on failure: {@link TieredCache}
+ * treats the tier as optional and falls back to loading from the database.
+ */
+public interface SharedCacheStore {
+
+	/**
+	 * The stored value, or null when there is none or it has expired.
+	 */
+	byte[] get(String region, String key);
+
+	void put(String region, String key, byte[] value, Duration ttl);
+
+	void evict(String region, String key);
+
+	void clear(String region);
+}
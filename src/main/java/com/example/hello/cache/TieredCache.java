@@ -0,0 +1,228 @@
+package com.example.hello.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of one region in two tiers, kept coherent across nodes by the
+ * {@link CacheInvalidationBus} it registers with.
+ * <p>
+ * L1 is a bounded in-process Caffeine cache. L2 is an optional
+ * {@link SharedCacheStore} holding encoded values, so a value loaded by one
+ * node is served to the others without another database read. Misses read
+ * through L1, then L2, then the loader; the loaded value fills L2 in the
+ * background through {@link CacheWriteBehind}.
+ * <p>
+ * A loader returning null is cached as absent for {@code negativeTtl} (zero
+ * disables it), so repeated lookups of a missing ID do not reach the database.
+ * <p>
+ * Invalidation removes the L1 entry at once and queues the L2 eviction. Until
+ * that eviction has run, misses on the key skip L2 so they cannot pick the
+ * stale value up again. Entries also expire after a TTL, as a backstop for
+ * writes that bypass the application (manual SQL, other systems).
+ *
+ * @param <K> key type; invalidations and L2 carry its {@code toString()} form
+ * @param <V> cached value type
+ */
+public class TieredCache<K, V> implements InvalidationTarget {
+
+	private static final Logger logger = LoggerFactory.getLogger(TieredCache.class);
+	private static final byte[] ABSENT = new byte[0];
+
+	private final String region;
+	private final Function<String, K> keyParser;
+	private final Duration negativeTtl;
+	private final Cache<K, Optional<V>> l1;
+	private final SharedTier<V> l2;
+	// L2 evictions queued but not yet applied, per key
+	private final Map<String, AtomicInteger> pendingEvictions = new ConcurrentHashMap<>();
+	private final AtomicInteger pendingClears = new AtomicInteger();
+	private final LongAdder l2Hits = new LongAdder();
+	private final LongAdder l2Misses = new LongAdder();
+	private final Counter l2Errors;
+
+	/**
+	 * A cache with only the in-process tier.
+	 */
+	public TieredCache(String region, Function<String, K> keyParser, long maxSize, Duration ttl, Duration negativeTtl,
+		CacheInvalidationBus bus, MeterRegistry meterRegistry) {
+		this(region, keyParser, maxSize, ttl, negativeTtl, null, bus, meterRegistry);
+	}
+
+	public TieredCache(String region, Function<String, K> keyParser, long maxSize, Duration ttl, Duration negativeTtl,
+		SharedTier<V> l2, CacheInvalidationBus bus, MeterRegistry meterRegistry) {
+		this.region = region;
+		this.keyParser = keyParser;
+		this.negativeTtl = negativeTtl;
+		this.l2 = l2;
+		this.l1 = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfter(new ValueExpiry<K, V>(ttl, negativeTtl))
+			.recordStats()
+			.build();
+		this.l2Errors = Counter.builder("cache.l2.errors")
+			.description("Failed reads and writes of the shared cache tier")
+			.tag("cache", region)
+			.register(meterRegistry);
+		CaffeineCacheMetrics.monitor(meterRegistry, l1, region);
+		Gauge.builder("cache.tier.hit.ratio", l1, cache -> cache.stats().hitRate())
+			.description("Share of lookups answered by the tier")
+			.tags("cache", region, "tier", "l1")
+			.register(meterRegistry);
+		if (l2 != null) {
+			Gauge.builder("cache.tier.hit.ratio", this, TieredCache::l2HitRatio)
+				.description("Share of lookups answered by the tier")
+				.tags("cache", region, "tier", "l2")
+				.register(meterRegistry);
+		}
+		bus.register(region, this);
+	}
+
+	/**
+	 * The cached value, loading it on a miss. Returns null when the loader
+	 * returns null; that absence is cached only if negative caching is enabled.
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		Optional<V> value = l1.get(key, missing -> load(missing, loader));
+		return value == null ? null : value.orElse(null);
+	}
+
+	@Override
+	public void invalidate(String key) {
+		l1.invalidate(keyParser.apply(key));
+		if (l2 != null) {
+			AtomicInteger pending = pendingEvictions.computeIfAbsent(key, ignored -> new AtomicInteger());
+			pending.incrementAndGet();
+			l2.writeBehind().submit(() -> {
+				try {
+					l2.store().evict(region, key);
+				} finally {
+					pendingEvictions.computeIfPresent(key, (ignored, count) -> count.decrementAndGet() == 0 ? null : count);
+				}
+			});
+		}
+	}
+
+	@Override
+	public void invalidateAll() {
+		l1.invalidateAll();
+		if (l2 != null) {
+			pendingClears.incrementAndGet();
+			l2.writeBehind().submit(() -> {
+				try {
+					l2.store().clear(region);
+				} finally {
+					pendingClears.decrementAndGet();
+				}
+			});
+		}
+	}
+
+	public String region() {
+		return region;
+	}
+
+	public long size() {
+		return l1.estimatedSize();
+	}
+
+	double l2HitRatio() {
+		long hits = l2Hits.sum();
+		long total = hits + l2Misses.sum();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	/**
+	 * L1 miss: the L2 entry when there is a usable one, otherwise the loader's
+	 * value, which is then written to L2. Returns null for "do not cache".
+	 */
+	private Optional<V> load(K key, Function<? super K, ? extends V> loader) {
+		String storeKey = key.toString();
+		boolean useL2 = l2 != null && pendingClears.get() == 0 && !pendingEvictions.containsKey(storeKey);
+		if (useL2) {
+			Optional<V> shared = readL2(storeKey);
+			if (shared != null) {
+				l2Hits.increment();
+				return shared;
+			}
+			l2Misses.increment();
+		}
+		V loaded = loader.apply(key);
+		if (loaded == null && negativeTtl.isZero()) {
+			return null;
+		}
+		if (useL2) {
+			byte[] encoded = loaded == null ? ABSENT : l2.codec().encode(loaded);
+			Duration ttl = loaded == null ? negativeTtl : l2.ttl();
+			l2.writeBehind().submit(() -> {
+				try {
+					l2.store().put(region, storeKey, encoded, ttl);
+				} catch (RuntimeException e) {
+					l2Errors.increment();
+					logger.warn("Could not write {} {} to the shared cache: {}", region, storeKey, e.getMessage());
+				}
+			});
+		}
+		return Optional.ofNullable(loaded);
+	}
+
+	private Optional<V> readL2(String storeKey) {
+		try {
+			byte[] encoded = l2.store().get(region, storeKey);
+			if (encoded == null) {
+				return null;
+			}
+			return encoded.length == 0 ? Optional.empty() : Optional.of(l2.codec().decode(encoded));
+		} catch (RuntimeException e) {
+			// The shared tier is an optimization (and may hold values from an older release); use the loader
+			l2Errors.increment();
+			logger.warn("Could not read {} {} from the shared cache: {}", region, storeKey, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * The shared tier of a region: where values go, how they are encoded and
+	 * how long they live there.
+	 */
+	public record SharedTier<V>(SharedCacheStore store, CacheCodec<V> codec, Duration ttl, CacheWriteBehind writeBehind) {
+	}
+
+	/**
+	 * Values live for the TTL, cached absences for the (usually shorter) negative TTL.
+	 */
+	private record ValueExpiry<K, V>(Duration ttl, Duration negativeTtl) implements Expiry<K, Optional<V>> {
+
+		@Override
+		public long expireAfterCreate(K key, Optional<V> value, long currentTime) {
+			return (value.isPresent() ? ttl : negativeTtl).toNanos();
+		}
+
+		@Override
+		public long expireAfterUpdate(K key, Optional<V> value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(K key, Optional<V> value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
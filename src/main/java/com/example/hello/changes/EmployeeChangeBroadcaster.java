@@ -0,0 +1,534 @@
+package com.example.hello.changes;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.hello.dto.EmployeeChange;
+import com.example.hello.dto.EmployeeChangeBatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes the employee change feed to Server-Sent Events subscribers.
+ * <p>
+ * One broadcaster thread long-polls {@link EmployeeChangeFeed}, serializes each
+ * change once into an SSE frame and appends the shared frame to every
+ * subscriber's buffer. A small sender pool drains buffers; an idle subscriber
+ * is just a parked async request with an empty buffer, and a heartbeat comment
+ * every {@code events.sse.heartbeat-seconds} keeps proxies from closing it.
+ * <p>
+ * Each buffer holds at most {@code events.sse.buffer-size} frames. When a slow
+ * client's buffer is full the {@code events.sse.overflow} policy applies:
+ * {@code DISCONNECT} completes the stream (EventSource reconnects with
+ * Last-Event-ID and the missed changes are replayed from the outbox), while
+ * {@code DROP_OLDEST} discards the oldest buffered frame. Event IDs are feed
+ * cursors, so consumers can detect gaps.
+ * <p>
+ * A reconnect replays the missed changes from the outbox on the sender thread,
+ * a page at a time, outside the buffer: a gap larger than the buffer does not
+ * trip the overflow policy (which would make the client reconnect with the
+ * same Last-Event-ID forever). Gaps above {@code events.sse.max-replay} get a
+ * {@code resync} event instead.
+ * <p>
+ * Sends block, and completing an emitter does not interrupt a write in
+ * progress, so a client that stops reading would hold its sender thread until
+ * the container's write timeout. A watchdog disconnects any subscriber whose
+ * send has taken longer than {@code events.sse.send-timeout-seconds} and adds a
+ * sender thread until that write returns, so stalled clients never starve the
+ * others. A stream closed during a send is completed by its sender afterwards.
+ */
+@Component
+public class EmployeeChangeBroadcaster {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeBroadcaster.class);
+	private static final String EVENT_NAME = "employee-change";
+	private static final int POLL_LIMIT = 500;
+	private static final long POLL_WAIT_MILLIS = 30_000;
+	private static final int REPLAY_PAGE_SIZE = 100;
+	private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+	private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").data("{}").build();
+
+	public enum OverflowPolicy {
+		DISCONNECT, DROP_OLDEST
+	}
+
+	private final EmployeeChangeFeed changeFeed;
+	private final ObjectMapper objectMapper;
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	private final ThreadPoolExecutor senders;
+	// Subscribers with a send in progress, checked by the watchdog
+	private final Set<Subscriber> inFlight = ConcurrentHashMap.newKeySet();
+	private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "employee-change-heartbeat");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Counter framesSent;
+	private final Counter framesDropped;
+	private final Counter slowDisconnects;
+	private final Counter stalledDisconnects;
+
+	@Value("${events.sse.buffer-size:256}")
+	private int bufferSize;
+
+	@Value("${events.sse.overflow:DISCONNECT}")
+	private OverflowPolicy overflowPolicy;
+
+	@Value("${events.sse.max-subscribers:10000}")
+	private int maxSubscribers;
+
+	@Value("${events.sse.heartbeat-seconds:30}")
+	private long heartbeatSeconds;
+
+	@Value("${events.sse.max-replay:1000}")
+	private int maxReplay;
+
+	@Value("${events.sse.send-timeout-seconds:10}")
+	private long sendTimeoutSeconds;
+
+	private final AtomicBoolean started = new AtomicBoolean();
+	private volatile Thread broadcastThread;
+	private volatile boolean stopping;
+
+	public EmployeeChangeBroadcaster(EmployeeChangeFeed changeFeed, ObjectMapper objectMapper,
+		MeterRegistry meterRegistry, @Value("${events.sse.sender-threads:4}") int senderThreads) {
+		this.changeFeed = changeFeed;
+		this.objectMapper = objectMapper;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "employee-change-sse-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		Gauge.builder("employee.changes.sse.subscribers", subscribers, Set::size)
+			.description("Open employee change SSE streams")
+			.register(meterRegistry);
+		this.framesSent = Counter.builder("employee.changes.sse.sent")
+			.description("SSE frames written to subscribers")
+			.register(meterRegistry);
+		this.framesDropped = Counter.builder("employee.changes.sse.dropped")
+			.description("SSE frames dropped from full subscriber buffers")
+			.register(meterRegistry);
+		this.slowDisconnects = Counter.builder("employee.changes.sse.slow.disconnects")
+			.description("SSE subscribers disconnected because their buffer was full")
+			.register(meterRegistry);
+		this.stalledDisconnects = Counter.builder("employee.changes.sse.stalled.disconnects")
+			.description("SSE subscribers disconnected because a send exceeded the send timeout")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Started by the first subscription, so an instance nobody listens to costs nothing.
+	 */
+	private void startIfNeeded() {
+		if (started.compareAndSet(false, true)) {
+			// Read the cursor here, before any replay, so no change falls between replay and live frames
+			long cursor = changeFeed.cursor();
+			broadcastThread = new Thread(() -> broadcastLoop(cursor), "employee-change-broadcast");
+			broadcastThread.setDaemon(true);
+			broadcastThread.start();
+			heartbeats.scheduleAtFixedRate(() -> broadcast(Long.MIN_VALUE, HEARTBEAT), heartbeatSeconds,
+				heartbeatSeconds, TimeUnit.SECONDS);
+			heartbeats.scheduleWithFixedDelay(this::disconnectStalled, 1, 1, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Disconnect subscribers whose current send exceeded the send timeout, and
+	 * replace each blocked sender thread until its write returns.
+	 */
+	private void disconnectStalled() {
+		long now = System.nanoTime();
+		long timeoutNanos = TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+		for (Subscriber subscriber : inFlight) {
+			if (subscriber.markStalled(now, timeoutNanos)) {
+				subscribers.remove(subscriber);
+				stalledDisconnects.increment();
+				resizeSenders(1);
+				logger.warn("Disconnected SSE subscriber blocked in a send for over {} s", sendTimeoutSeconds);
+			}
+		}
+	}
+
+	private synchronized void resizeSenders(int delta) {
+		int size = senders.getCorePoolSize() + delta;
+		if (delta > 0) {
+			senders.setMaximumPoolSize(size);
+			senders.setCorePoolSize(size);
+		} else {
+			senders.setCorePoolSize(size);
+			senders.setMaximumPoolSize(size);
+		}
+	}
+
+	/**
+	 * Open a stream. With {@code lastEventId} the changes after it are replayed
+	 * first (or a {@code resync} event is sent if more than
+	 * {@code events.sse.max-replay} were missed or they are no longer available).
+	 * Returns null when the subscriber limit is reached.
+	 */
+	public SseEmitter subscribe(Long lastEventId) {
+		if (subscribers.size() >= maxSubscribers) {
+			return null;
+		}
+		// No timeout: the stream stays open until the client leaves or is disconnected
+		SseEmitter emitter = new SseEmitter(0L);
+		Subscriber subscriber = new Subscriber(emitter);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(error -> subscribers.remove(subscriber));
+		if (lastEventId != null) {
+			long cursor = changeFeed.cursor();
+			if (cursor - lastEventId > maxReplay) {
+				subscriber.offer(cursor, RESYNC);
+			} else {
+				// Set before the subscriber is visible to the broadcaster, so no live frame can overtake the replay
+				subscriber.startReplay(lastEventId);
+			}
+		}
+		subscribers.add(subscriber);
+		startIfNeeded();
+		schedule(subscriber);
+		return emitter;
+	}
+
+	/**
+	 * Send the missed changes straight from the feed, a page at a time, on the
+	 * sender thread; the emitter's blocking send paces the reads. Live frames
+	 * arriving meanwhile are held in the buffer and merged once the replay has
+	 * caught up with the feed.
+	 */
+	private void replay(Subscriber subscriber) throws IOException {
+		long cursor = subscriber.replayCursor();
+		while (true) {
+			EmployeeChangeBatch batch = changeFeed.read(cursor, REPLAY_PAGE_SIZE);
+			if (batch.resyncRequired()) {
+				// Purged while replaying
+				send(subscriber, RESYNC);
+				cursor = Math.max(cursor, batch.cursor());
+			}
+			for (EmployeeChange change : batch.changes()) {
+				send(subscriber, frame(change));
+			}
+			cursor = Math.max(cursor, batch.cursor());
+			if (batch.changes().isEmpty() && subscriber.finishReplay(cursor)) {
+				return;
+			}
+		}
+	}
+
+	private void broadcastLoop(long startCursor) {
+		long cursor = startCursor;
+		while (!stopping) {
+			try {
+				EmployeeChangeBatch batch = changeFeed.poll(cursor, POLL_LIMIT, POLL_WAIT_MILLIS).join();
+				if (batch.resyncRequired()) {
+					broadcast(batch.cursor(), RESYNC);
+				}
+				for (EmployeeChange change : batch.changes()) {
+					broadcast(change.seq(), frame(change));
+				}
+				cursor = batch.cursor();
+			} catch (RuntimeException e) {
+				if (stopping) {
+					return;
+				}
+				logger.error("Employee change broadcast failed: {}", e.getMessage(), e);
+				sleepQuietly();
+			}
+		}
+	}
+
+	private Set<DataWithMediaType> frame(EmployeeChange change) {
+		try {
+			return SseEmitter.event()
+				.id(Long.toString(change.seq()))
+				.name(EVENT_NAME)
+				.data(objectMapper.writeValueAsString(change), MediaType.APPLICATION_JSON)
+				.build();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot serialize employee change " + change.seq(), e);
+		}
+	}
+
+	private void broadcast(long seq, Set<DataWithMediaType> frame) {
+		for (Subscriber subscriber : subscribers) {
+			if (subscriber.offer(seq, frame)) {
+				schedule(subscriber);
+			}
+		}
+	}
+
+	private void schedule(Subscriber subscriber) {
+		if (subscriber.claimSender()) {
+			try {
+				senders.execute(() -> drain(subscriber));
+			} catch (RuntimeException e) {
+				// Shutting down
+				subscriber.abort();
+			}
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		try {
+			if (subscriber.replaying()) {
+				replay(subscriber);
+			}
+			Set<DataWithMediaType> frame;
+			while ((frame = subscriber.next()) != null) {
+				send(subscriber, frame);
+			}
+		} catch (IOException | RuntimeException e) {
+			// Client went away (IllegalStateException once the emitter is completed), or the replay read failed
+			subscribers.remove(subscriber);
+			subscriber.abort();
+			return;
+		}
+		if (subscriber.isClosed()) {
+			// Closed while this thread was sending, so completing was left to it
+			subscriber.complete();
+		}
+	}
+
+	private void send(Subscriber subscriber, Set<DataWithMediaType> frame) throws IOException {
+		subscriber.startSend(System.nanoTime());
+		inFlight.add(subscriber);
+		try {
+			subscriber.emitter.send(frame);
+		} finally {
+			inFlight.remove(subscriber);
+			if (subscriber.endSend()) {
+				// The watchdog replaced this thread meanwhile
+				resizeSenders(-1);
+			}
+		}
+		framesSent.increment();
+	}
+
+	private void sleepQuietly() {
+		try {
+			Thread.sleep(1000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public int subscriberCount() {
+		return subscribers.size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		stopping = true;
+		heartbeats.shutdownNow();
+		if (broadcastThread != null) {
+			broadcastThread.interrupt();
+		}
+		subscribers.forEach(Subscriber::close);
+		senders.shutdownNow();
+	}
+
+	/**
+	 * One open stream and its bounded frame buffer. At most one sender drains it at a time.
+	 */
+	private final class Subscriber {
+		private final SseEmitter emitter;
+		private final ArrayDeque<Frame> buffer = new ArrayDeque<>();
+		private long lastQueuedSeq = Long.MIN_VALUE;
+		private boolean sending;
+		private boolean closed;
+		private long sendStartedNanos;
+		private boolean stalled;
+		private boolean replaying;
+		private long replayCursor;
+		// Highest live sequence dropped from the buffer while replaying; the replay must reach it
+		private long droppedWhileReplaying = Long.MIN_VALUE;
+
+		private Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		synchronized void startReplay(long after) {
+			replaying = true;
+			replayCursor = after;
+		}
+
+		synchronized boolean replaying() {
+			return replaying;
+		}
+
+		synchronized long replayCursor() {
+			return replayCursor;
+		}
+
+		/**
+		 * End the replay at {@code cursor}, the last sequence it sent, unless a live
+		 * frame past it was dropped meanwhile (then the replay has to read on). Held
+		 * live frames the replay already covered are discarded.
+		 */
+		synchronized boolean finishReplay(long cursor) {
+			if (droppedWhileReplaying > cursor) {
+				return false;
+			}
+			replaying = false;
+			buffer.removeIf(frame -> frame.seq() != Long.MIN_VALUE && frame.seq() <= cursor);
+			lastQueuedSeq = Math.max(lastQueuedSeq, cursor);
+			return true;
+		}
+
+		/**
+		 * Buffer a frame; returns true if a sender needs to be scheduled. Frames
+		 * with a sequence at or below one already queued are skipped; heartbeats use
+		 * {@link Long#MIN_VALUE} and are only sent to idle streams. While replaying,
+		 * frames are held without the overflow policy: the replay reads from the
+		 * feed anyway, so the oldest held frame is simply dropped.
+		 */
+		synchronized boolean offer(long seq, Set<DataWithMediaType> frame) {
+			if (closed) {
+				return false;
+			}
+			if (seq == Long.MIN_VALUE) {
+				if (replaying || !buffer.isEmpty()) {
+					return false;
+				}
+			} else if (seq <= lastQueuedSeq) {
+				return false;
+			} else {
+				lastQueuedSeq = seq;
+			}
+			if (buffer.size() >= bufferSize) {
+				if (replaying) {
+					droppedWhileReplaying = Math.max(droppedWhileReplaying, buffer.pollFirst().seq());
+				} else if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+					slowDisconnects.increment();
+					closed = true;
+					buffer.clear();
+					subscribers.remove(this);
+					if (!sending) {
+						complete();
+					}
+					return false;
+				} else {
+					buffer.pollFirst();
+					framesDropped.increment();
+				}
+			}
+			buffer.addLast(new Frame(seq, frame));
+			return !sending;
+		}
+
+		synchronized boolean claimSender() {
+			if (sending || closed || (buffer.isEmpty() && !replaying)) {
+				return false;
+			}
+			sending = true;
+			return true;
+		}
+
+		synchronized Set<DataWithMediaType> next() {
+			Frame frame = closed ? null : buffer.pollFirst();
+			if (frame == null) {
+				sending = false;
+				return null;
+			}
+			return frame.data();
+		}
+
+		synchronized void startSend(long now) {
+			sendStartedNanos = now;
+		}
+
+		/**
+		 * Returns true if the send had been marked stalled.
+		 */
+		synchronized boolean endSend() {
+			sendStartedNanos = 0;
+			boolean wasStalled = stalled;
+			stalled = false;
+			return wasStalled;
+		}
+
+		/**
+		 * Close the stream if its current send started more than {@code timeoutNanos}
+		 * ago; returns true if it was marked stalled by this call.
+		 */
+		synchronized boolean markStalled(long now, long timeoutNanos) {
+			if (stalled || sendStartedNanos == 0 || now - sendStartedNanos < timeoutNanos) {
+				return false;
+			}
+			stalled = true;
+			closed = true;
+			buffer.clear();
+			return true;
+		}
+
+		synchronized boolean isClosed() {
+			return closed;
+		}
+
+		/**
+		 * Close the stream. The emitter is completed here unless a sender is writing
+		 * to it: completing waits for that write, so the sender completes it when done.
+		 */
+		void close() {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				buffer.clear();
+				if (sending) {
+					return;
+				}
+			}
+			complete();
+		}
+
+		/**
+		 * Close after a failed send, on the sender thread.
+		 */
+		void abort() {
+			synchronized (this) {
+				closed = true;
+				buffer.clear();
+				sending = false;
+			}
+			complete();
+		}
+
+		void complete() {
+			try {
+				emitter.complete();
+			} catch (RuntimeException e) {
+				// Already completed, or the response is gone
+			}
+		}
+	}
+
+	private record Frame(long seq, Set<DataWithMediaType> data) {
+	}
+}
@@ -0,0 +1,333 @@
+package com.example.hello.changes;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.dto.DataVersion;
+import com.example.hello.dto.EmployeeChange;
+import com.example.hello.dto.EmployeeChangeBatch;
+import com.example.hello.event.EmployeeChangedEvent;
+import com.example.hello.event.EmployeesBulkChangedEvent;
+import com.example.hello.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Read side of the employee outbox: relays committed EMPLOYEE_CHANGES rows into
+ * the feed and answers (long-)polls for changes after a cursor.
+ * <p>
+ * Outbox IDs are assigned at insert time, so they can commit out of order. The
+ * relay therefore numbers rows only after they are committed: it gives every
+ * committed row with a null SEQ the next feed position, in ID order. Every
+ * instance relays; each relay transaction first locks the single
+ * EMPLOYEE_CHANGE_RELAY row and numbers from its LAST_SEQ, so relays run one
+ * at a time and SEQ n + 1 never commits before SEQ n. A consumer that has seen
+ * SEQ n can never later find a change below n.
+ * The relay runs right after each employee commit and every
+ * {@code changes.relay.interval-ms} as a fallback, and wakes waiting polls
+ * when it publishes. Published rows are purged after
+ * {@code changes.retention-hours}; consumers whose cursor fell behind the
+ * purge are told to resync.
+ * <p>
+ * With {@code changes.relay.enabled=false} an instance only follows the feed
+ * position from the table.
+ */
+@Component
+public class EmployeeChangeFeed {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+	// Non-null only for rows the relay has not numbered yet; matches IDX_EMPLOYEE_CHANGES_PENDING
+	// on Oracle, which cannot index SEQ IS NULL directly
+	private static final String PENDING_ID = "CASE WHEN SEQ IS NULL THEN ID END";
+	private static final String SELECT_UNPUBLISHED = "SELECT ID FROM EMPLOYEE_CHANGES WHERE " + PENDING_ID
+		+ " IS NOT NULL ORDER BY " + PENDING_ID + " FETCH FIRST ? ROWS ONLY";
+	private static final String LOCK_RELAY_SQL = "SELECT LAST_SEQ FROM EMPLOYEE_CHANGE_RELAY WHERE ID = 1 FOR UPDATE";
+	private static final String PUBLISH_SQL =
+		"UPDATE EMPLOYEE_CHANGES SET SEQ = ?, PUBLISHED_AT = ? WHERE ID = ? AND SEQ IS NULL";
+	private static final String READ_SQL = "SELECT SEQ, EMPLOYEE_ID, CHANGE_TYPE, VERSION, CHANGED_AT, PAYLOAD "
+		+ "FROM EMPLOYEE_CHANGES WHERE SEQ > ? ORDER BY SEQ FETCH FIRST ? ROWS ONLY";
+	// One statement, so the relay can never commit between the two reads
+	private static final String DATA_VERSION_SQL = "SELECT (SELECT LAST_SEQ FROM EMPLOYEE_CHANGE_RELAY WHERE ID = 1), "
+		+ "(SELECT COUNT(*) FROM EMPLOYEE_CHANGES WHERE " + PENDING_ID + " IS NOT NULL) FROM DUAL";
+	private static final long PURGE_INTERVAL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final Thread relayThread = new Thread(this::relayLoop, "employee-change-relay");
+	private final Semaphore wakeups = new Semaphore(0);
+	private final Set<CompletableFuture<Void>> waiters = ConcurrentHashMap.newKeySet();
+	private final ExecutorService pollExecutor;
+	private final Counter published;
+
+	@Value("${changes.relay.enabled:true}")
+	private boolean relayEnabled;
+
+	@Value("${changes.relay.interval-ms:1000}")
+	private long relayIntervalMs;
+
+	@Value("${changes.relay.batch-size:500}")
+	private int relayBatchSize;
+
+	@Value("${changes.retention-hours:168}")
+	private long retentionHours;
+
+	private volatile long publishedSeq;
+	private volatile long purgedThroughSeq;
+	private volatile boolean stopping;
+	private long lastPurgeNanos;
+
+	public EmployeeChangeFeed(DataSource dataSource, PlatformTransactionManager transactionManager,
+		ObjectMapper objectMapper, MeterRegistry meterRegistry,
+		@Value("${changes.feed.poll-threads:2}") int pollThreads) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.objectMapper = objectMapper;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.pollExecutor = Executors.newFixedThreadPool(pollThreads, runnable -> {
+			Thread thread = new Thread(runnable, "employee-change-poll-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.relayThread.setDaemon(true);
+		this.published = Counter.builder("employee.changes.published")
+			.description("Outbox rows relayed into the employee change feed")
+			.register(meterRegistry);
+		Gauge.builder("employee.changes.waiting.polls", waiters, Set::size)
+			.description("Change feed long-polls waiting for new changes")
+			.register(meterRegistry);
+		Gauge.builder("employee.changes.cursor", this, feed -> feed.publishedSeq)
+			.description("Latest position of the employee change feed")
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		Long maxSeq = jdbcTemplate.queryForObject("SELECT MAX(SEQ) FROM EMPLOYEE_CHANGES", Long.class);
+		Long minSeq = jdbcTemplate.queryForObject("SELECT MIN(SEQ) FROM EMPLOYEE_CHANGES", Long.class);
+		publishedSeq = maxSeq == null ? 0 : maxSeq;
+		purgedThroughSeq = minSeq == null ? publishedSeq : minSeq - 1;
+		lastPurgeNanos = System.nanoTime();
+		relayThread.start();
+		logger.info("Employee change feed at cursor {} (relay {})", publishedSeq, relayEnabled ? "enabled" : "disabled");
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		wakeups.release();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+		wakeups.release();
+	}
+
+	/**
+	 * Changes after {@code after}. When there are none yet, the returned future
+	 * completes as soon as the relay publishes something, or with an empty batch
+	 * after {@code waitMillis}.
+	 */
+	public CompletableFuture<EmployeeChangeBatch> poll(long after, int limit, long waitMillis) {
+		if (waitMillis <= 0 || after != publishedSeq) {
+			return CompletableFuture.completedFuture(read(after, limit));
+		}
+		CompletableFuture<Void> signal = new CompletableFuture<>();
+		waiters.add(signal);
+		if (after != publishedSeq) {
+			// Published between the check and the registration
+			signal.complete(null);
+		}
+		return signal.completeOnTimeout(null, waitMillis, TimeUnit.MILLISECONDS)
+			.whenComplete((ignored, error) -> waiters.remove(signal))
+			.thenApplyAsync(ignored -> read(after, limit), pollExecutor);
+	}
+
+	/**
+	 * Up to {@code limit} changes after {@code after}, in feed order.
+	 */
+	public EmployeeChangeBatch read(long after, int limit) {
+		long latest = publishedSeq;
+		if (after > latest || after < purgedThroughSeq) {
+			// Cursor from before a purge, or from a feed that has since been reset
+			return new EmployeeChangeBatch(List.of(), latest, true);
+		}
+		List<EmployeeChange> changes = jdbcTemplate.query(READ_SQL, this::mapRow, after, limit);
+		long cursor = changes.isEmpty() ? after : changes.get(changes.size() - 1).seq();
+		return new EmployeeChangeBatch(changes, cursor, false);
+	}
+
+	/**
+	 * Version of the whole employee table in commit order, read from the database
+	 * rather than from this instance's cursor so it also covers changes committed
+	 * on other nodes and not yet relayed.
+	 */
+	public DataVersion dataVersion() {
+		return jdbcTemplate.queryForObject(DATA_VERSION_SQL,
+			(rs, rowNum) -> new DataVersion(rs.getLong(1), rs.getLong(2)));
+	}
+
+	public long cursor() {
+		return publishedSeq;
+	}
+
+	private void relayLoop() {
+		while (!stopping) {
+			try {
+				if (relayEnabled) {
+					relayPending();
+				} else {
+					followCursor();
+				}
+			} catch (RuntimeException e) {
+				logger.error("Employee change relay failed: {}", e.getMessage(), e);
+			}
+			try {
+				wakeups.tryAcquire(relayIntervalMs, TimeUnit.MILLISECONDS);
+				wakeups.drainPermits();
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	private void relayPending() {
+		while (relayBatch() == relayBatchSize && !stopping) {
+			// Backlog: keep relaying without waiting
+		}
+		if (System.nanoTime() - lastPurgeNanos > PURGE_INTERVAL_NANOS) {
+			purge();
+		}
+	}
+
+	/**
+	 * Take the feed position from the table, for instances that do not relay themselves.
+	 */
+	private void followCursor() {
+		Long maxSeq = jdbcTemplate.queryForObject("SELECT MAX(SEQ) FROM EMPLOYEE_CHANGES", Long.class);
+		long latest = maxSeq == null ? 0 : maxSeq;
+		if (latest != publishedSeq) {
+			publishedSeq = latest;
+			waiters.forEach(signal -> signal.complete(null));
+		}
+	}
+
+	/**
+	 * Number the next committed, unpublished rows in one transaction, holding the
+	 * relay lock, and wake waiting polls. Also picks up the position reached by
+	 * other instances' relays. Returns how many rows were published.
+	 */
+	int relayBatch() {
+		Relayed relayed = transactionTemplate.execute(status -> {
+			// Blocks while another instance relays; LAST_SEQ then includes its rows
+			long lastSeq = jdbcTemplate.queryForObject(LOCK_RELAY_SQL, Long.class);
+			List<Long> ids = jdbcTemplate.queryForList(SELECT_UNPUBLISHED, Long.class, relayBatchSize);
+			if (ids.isEmpty()) {
+				return new Relayed(lastSeq, 0);
+			}
+			Timestamp now = Timestamp.valueOf(Employee.currentTimestamp());
+			int[] updated = jdbcTemplate.batchUpdate(PUBLISH_SQL, new BatchPreparedStatementSetter() {
+				@Override
+				public void setValues(PreparedStatement statement, int i) throws SQLException {
+					statement.setLong(1, lastSeq + 1 + i);
+					statement.setTimestamp(2, now);
+					statement.setLong(3, ids.get(i));
+				}
+
+				@Override
+				public int getBatchSize() {
+					return ids.size();
+				}
+			});
+			for (int count : updated) {
+				// Under the lock every selected row is still unnumbered; anything else is a bug, so roll back
+				if (count != 1 && count != Statement.SUCCESS_NO_INFO) {
+					throw new IllegalStateException("Outbox row numbered outside the relay lock");
+				}
+			}
+			long newLastSeq = lastSeq + ids.size();
+			jdbcTemplate.update("UPDATE EMPLOYEE_CHANGE_RELAY SET LAST_SEQ = ? WHERE ID = 1", newLastSeq);
+			return new Relayed(newLastSeq, ids.size());
+		});
+		published.increment(relayed.count());
+		if (relayed.lastSeq() > publishedSeq) {
+			publishedSeq = relayed.lastSeq();
+			waiters.forEach(signal -> signal.complete(null));
+		}
+		return relayed.count();
+	}
+
+	private record Relayed(long lastSeq, int count) {
+	}
+
+	private void purge() {
+		lastPurgeNanos = System.nanoTime();
+		Timestamp cutoff = Timestamp.valueOf(Employee.currentTimestamp().minusHours(retentionHours));
+		Long purgeThrough = jdbcTemplate.queryForObject(
+			"SELECT MAX(SEQ) FROM EMPLOYEE_CHANGES WHERE PUBLISHED_AT < ?", Long.class, cutoff);
+		if (purgeThrough == null) {
+			return;
+		}
+		// Keep the latest change so the cursor survives a restart
+		purgeThrough = Math.min(purgeThrough, publishedSeq - 1);
+		purgedThroughSeq = Math.max(purgedThroughSeq, purgeThrough);
+		int deleted = jdbcTemplate.update("DELETE FROM EMPLOYEE_CHANGES WHERE SEQ <= ?", purgeThrough);
+		if (deleted > 0) {
+			logger.info("Purged {} employee changes up to cursor {}", deleted, purgeThrough);
+		}
+	}
+
+	private EmployeeChange mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+		String payload = resultSet.getString(6);
+		try {
+			return new EmployeeChange(
+				resultSet.getLong(1),
+				resultSet.getObject(2, Long.class),
+				resultSet.getString(3),
+				resultSet.getObject(4, Long.class),
+				resultSet.getTimestamp(5).toLocalDateTime(),
+				payload == null ? null : objectMapper.readTree(payload));
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		stopping = true;
+		wakeups.release();
+		pollExecutor.shutdownNow();
+		waiters.forEach(signal -> signal.complete(null));
+	}
+}
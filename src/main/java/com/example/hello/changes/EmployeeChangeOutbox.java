@@ -0,0 +1,67 @@
+package com.example.hello.changes;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hello.event.EmployeeChangedEvent;
+import com.example.hello.event.EmployeesBulkChangedEvent;
+import com.example.hello.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Write side of the transactional outbox: inserts one EMPLOYEE_CHANGES row per
+ * employee mutation.
+ * <p>
+ * The listeners are plain {@link EventListener}s, so they run synchronously
+ * inside the {@link com.example.hello.service.EmployeeService} transaction that
+ * published the event (enforced by {@link Propagation#MANDATORY}); the change
+ * record commits or rolls back together with the employee row. The insert
+ * leaves SEQ null; {@link EmployeeChangeFeed} numbers the row once it is committed.
+ */
+@Component
+public class EmployeeChangeOutbox {
+
+	private static final String INSERT_SQL = "INSERT INTO EMPLOYEE_CHANGES "
+		+ "(EMPLOYEE_ID, CHANGE_TYPE, VERSION, CHANGED_AT, PAYLOAD) VALUES (?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	public EmployeeChangeOutbox(DataSource dataSource, ObjectMapper objectMapper) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.objectMapper = objectMapper;
+	}
+
+	@EventListener
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		Employee employee = event.employee();
+		boolean deleted = event.type() == EmployeeChangedEvent.ChangeType.DELETED;
+		jdbcTemplate.update(INSERT_SQL, event.employeeId(), event.type().name(), employee.getVersion(),
+			Timestamp.valueOf(Employee.currentTimestamp()), deleted ? null : toJson(employee));
+	}
+
+	@EventListener
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+		jdbcTemplate.update(INSERT_SQL, null, "BULK_" + event.type().name(), null,
+			Timestamp.valueOf(Employee.currentTimestamp()), null);
+	}
+
+	private String toJson(Employee employee) {
+		try {
+			return objectMapper.writeValueAsString(employee);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
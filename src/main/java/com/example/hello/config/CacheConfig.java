@@ -0,0 +1,71 @@
+package com.example.hello.config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.hello.cache.CacheCodec;
+import com.example.hello.cache.CacheInvalidationBus;
+import com.example.hello.cache.CacheWriteBehind;
+import com.example.hello.cache.SharedCacheStore;
+import com.example.hello.cache.TieredCache;
+import com.example.hello.model.Employee;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caches of employee and user lookups. Writes evict them on every instance
+ * through the {@link CacheInvalidationBus}; the TTL only bounds staleness
+ * after changes made outside the application.
+ * <p>
+ * Employees are also kept in the shared L2 tier when a {@link SharedCacheStore}
+ * is configured (off unless {@code cache.l2.url} is set), and
+ * missing IDs are cached as 404s for {@code cache.employees.negative-ttl-seconds}.
+ * User details stay in process: they carry password hashes.
+ */
+@Configuration
+public class CacheConfig {
+
+	public static final String EMPLOYEES = "employees";
+	public static final String USERS = "users";
+
+	@Bean
+	public TieredCache<Long, Employee> employeeCache(CacheInvalidationBus bus, MeterRegistry meterRegistry,
+		ObjectProvider<SharedCacheStore> sharedStore, CacheWriteBehind writeBehind, ObjectMapper objectMapper,
+		@Value("${cache.employees.max-size:10000}") long maxSize,
+		@Value("${cache.employees.ttl-seconds:600}") long ttlSeconds,
+		@Value("${cache.employees.negative-ttl-seconds:30}") long negativeTtlSeconds,
+		@Value("${cache.employees.l2-ttl-seconds:3600}") long l2TtlSeconds) {
+		SharedCacheStore store = sharedStore.getIfAvailable();
+		TieredCache.SharedTier<Employee> l2 = store == null ? null : new TieredCache.SharedTier<>(store,
+			CacheCodec.json(objectMapper.copy().addMixIn(Employee.class, CachedEmployee.class), Employee.class),
+			Duration.ofSeconds(l2TtlSeconds), writeBehind);
+		return new TieredCache<>(EMPLOYEES, Long::valueOf, maxSize, Duration.ofSeconds(ttlSeconds),
+			Duration.ofSeconds(negativeTtlSeconds), l2, bus, meterRegistry);
+	}
+
+	@Bean
+	public TieredCache<String, UserDetails> userDetailsCache(CacheInvalidationBus bus, MeterRegistry meterRegistry,
+		@Value("${cache.users.max-size:1000}") long maxSize,
+		@Value("${cache.users.ttl-seconds:300}") long ttlSeconds,
+		@Value("${cache.users.negative-ttl-seconds:0}") long negativeTtlSeconds) {
+		return new TieredCache<>(USERS, key -> key, maxSize, Duration.ofSeconds(ttlSeconds),
+			Duration.ofSeconds(negativeTtlSeconds), bus, meterRegistry);
+	}
+
+	/**
+	 * LAST_MODIFIED is read-only in the API but must survive the trip through L2.
+	 */
+	private abstract static class CachedEmployee {
+
+		@JsonProperty(access = JsonProperty.Access.READ_WRITE)
+		private LocalDateTime lastModified;
+	}
+}
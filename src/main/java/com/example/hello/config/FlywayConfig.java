@@ -0,0 +1,34 @@
+package com.example.hello.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Runs Flyway migrations on startup, except during a class-data-sharing training
+ * run ({@code -Dspring.context.exit=onRefresh}, see Dockerfile). That run happens
+ * at image build time without a database and exits right after the context is
+ * refreshed, so there is nothing to migrate.
+ * <p>
+ * A strategy bean is used rather than {@code spring.flyway.enabled=false} because
+ * with Spring AOT the Flyway beans are fixed at build time.
+ */
+@Configuration
+public class FlywayConfig {
+
+	private static final Logger logger = LoggerFactory.getLogger(FlywayConfig.class);
+
+	@Bean
+	public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+		return flyway -> {
+			if ("onRefresh".equalsIgnoreCase(environment.getProperty("spring.context.exit"))) {
+				logger.info("Training run (spring.context.exit=onRefresh): skipping Flyway migration");
+				return;
+			}
+			flyway.migrate();
+		};
+	}
+}
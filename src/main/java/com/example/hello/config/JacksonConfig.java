@@ -0,0 +1,86 @@
+package com.example.hello.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.dto.Post;
+import com.example.hello.json.IsoDateTimeModule;
+import com.example.hello.model.Employee;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Tunes the application {@link ObjectMapper}, which Spring MVC and the
+ * auto-configured {@code RestClient.Builder} share. Spring Boot registers
+ * every {@link Module} bean with it.
+ * <p>
+ * Blackbird replaces reflective getter/setter/constructor calls with
+ * LambdaMetafactory-generated accessors. {@link IsoDateTimeModule} writes
+ * {@code hireDate} and {@code lastModified} without a DateTimeFormatter.
+ * BigDecimals ({@code salary}, {@code commissionPct}) keep Jackson's default
+ * handling, which already writes {@code BigDecimal.toString()} directly.
+ * <p>
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile})
+ * converters use mappers built from the same Boot builder, so they serialize the
+ * same DTOs with the same modules. They replace Spring MVC's default binary
+ * converters in place, after JSON, so JSON stays the default for {@code Accept: *}{@code /*}.
+ */
+@Configuration
+public class JacksonConfig {
+
+	private static final Logger logger = LoggerFactory.getLogger(JacksonConfig.class);
+
+	/** Payload types serialized on every request, resolved once at startup. */
+	private static final List<Class<?>> HOT_TYPES = List.of(
+		Employee.class, EmployeeView.class, Post.class, Employee[].class, EmployeeView[].class, Post[].class);
+
+	@Bean
+	public Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+
+	@Bean
+	public Module isoDateTimeModule() {
+		return new IsoDateTimeModule();
+	}
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+
+	/**
+	 * Build serializers and deserializers (and their generated accessors) for the hot
+	 * payload types before the first request instead of during it.
+	 */
+	@Bean
+	public SmartInitializingSingleton jacksonSerializerWarmup(ObjectMapper objectMapper) {
+		return () -> {
+			long start = System.nanoTime();
+			for (Class<?> type : HOT_TYPES) {
+				if (!objectMapper.canSerialize(type) || !objectMapper.canDeserialize(objectMapper.constructType(type))) {
+					logger.warn("Jackson cannot (de)serialize {}", type.getName());
+				}
+			}
+			logger.info("Resolved Jackson serializers for {} types in {}ms", HOT_TYPES.size(),
+				(System.nanoTime() - start) / 1_000_000);
+		};
+	}
+}
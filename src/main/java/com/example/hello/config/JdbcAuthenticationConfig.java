@@ -2,16 +2,22 @@ package com.example.hello.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.provisioning.JdbcUserDetailsManager;
 
+import com.example.hello.cache.AccessFrequencyTracker;
+import com.example.hello.cache.CachingUserDetailsService;
+import com.example.hello.cache.TieredCache;
+
 import javax.sql.DataSource;
 
 @Configuration
 public class JdbcAuthenticationConfig {
 
     @Bean
-    public UserDetailsService userDetailsService(DataSource dataSource) {
+    public UserDetailsService userDetailsService(DataSource dataSource, TieredCache<String, UserDetails> userDetailsCache,
+            AccessFrequencyTracker accessTracker) {
         JdbcUserDetailsManager manager = new JdbcUserDetailsManager(dataSource);
         
         // Configure custom table names and column names
@@ -23,6 +29,6 @@ public class JdbcAuthenticationConfig {
             "SELECT username, authority FROM app_authorities WHERE username = ?"
         );
         
-        return manager;
+        return new CachingUserDetailsService(manager, userDetailsCache, accessTracker);
     }
 }
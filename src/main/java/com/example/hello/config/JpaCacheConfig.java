@@ -0,0 +1,56 @@
+package com.example.hello.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.example.hello.cache.JpaCacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level and query cache in bounded, local Caffeine regions.
+ * <p>
+ * Every region in {@link JpaCacheRegions#REGIONS} is created up front with
+ * {@code jpa.cache.<region>.max-size} entries and a
+ * {@code jpa.cache.<region>.ttl-seconds} lifetime;
+ * {@code hibernate.javax.cache.missing_cache_strategy=fail} rejects any other
+ * region, so nothing is cached without a bound. The update-timestamps region
+ * that guards the query cache is never evicted: a lost timestamp would let a
+ * query result outlive a change to its tables.
+ */
+@Configuration
+public class JpaCacheConfig {
+
+	@Bean(destroyMethod = "close")
+	public CacheManager jpaCacheManager(Environment environment) {
+		// A manager of its own, so a second application context in the JVM (tests) gets separate regions
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+			.getCacheManager(URI.create("jpa-cache-" + UUID.randomUUID()), JpaCacheConfig.class.getClassLoader());
+		for (String region : JpaCacheRegions.REGIONS) {
+			CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+			configuration.setMaximumSize(OptionalLong.of(
+				environment.getProperty("jpa.cache." + region + ".max-size", Long.class, 1000L)));
+			configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(
+				environment.getProperty("jpa.cache." + region + ".ttl-seconds", Long.class, 600L))));
+			cacheManager.createCache(region, configuration);
+		}
+		cacheManager.createCache(JpaCacheRegions.UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer jpaCacheManagerCustomizer(CacheManager jpaCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, jpaCacheManager);
+	}
+}
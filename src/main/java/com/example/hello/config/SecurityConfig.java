@@ -2,6 +2,7 @@ package com.example.hello.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,6 +19,10 @@ public class SecurityConfig {
 	private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
 	private final UserDetailsService userDetailsService;
 
+	// Landing page after form login; Swagger UI is disabled in the prod profile
+	@Value("${security.login.success-url:/swagger-ui/index.html}")
+	private String loginSuccessUrl;
+
 	public SecurityConfig(UserDetailsService userDetailsService) {
 		logger.info("Initializing SecurityConfig with UserDetailsService");
 		this.userDetailsService = userDetailsService;
@@ -43,6 +48,8 @@ public class SecurityConfig {
 				.requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
 				// Health check endpoint
 				.requestMatchers("/actuator/health").permitAll()
+				// Administrative and diagnostic endpoints
+				.requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
 				// All other requests require authentication
 				.anyRequest().authenticated()
 			)
@@ -54,7 +61,7 @@ public class SecurityConfig {
 			.formLogin(form -> form
 				.loginPage("/login")
 				.loginProcessingUrl("/login")
-				.defaultSuccessUrl("/swagger-ui/index.html", true)
+				.defaultSuccessUrl(loginSuccessUrl, true)
 				.failureUrl("/login?error")
 				.permitAll()
 			)
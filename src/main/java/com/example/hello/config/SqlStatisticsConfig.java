@@ -0,0 +1,25 @@
+package com.example.hello.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.hello.jdbc.SqlStatisticsCollector;
+import com.example.hello.jdbc.StatisticsDataSource;
+import com.example.hello.jdbc.StatisticsDataSourcePostProcessor;
+
+/**
+ * Wraps the application DataSource with {@link StatisticsDataSource} so SQL
+ * statements are measured at the JDBC layer rather than at repository proxies.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jdbc.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+	@Bean
+	public static StatisticsDataSourcePostProcessor statisticsDataSourcePostProcessor(
+		ObjectProvider<SqlStatisticsCollector> collector) {
+		return new StatisticsDataSourcePostProcessor(collector);
+	}
+}
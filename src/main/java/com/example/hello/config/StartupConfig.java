@@ -0,0 +1,39 @@
+package com.example.hello.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.hello.cache.JpaCacheRegions;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Beans that stay eager when {@code spring.main.lazy-initialization} is on
+ * (the prod profile).
+ * <p>
+ * Flyway must migrate before anything touches EMPLOYEES, including the
+ * in-memory indexes that load on ApplicationReadyEvent with plain JDBC. The
+ * pool and the EntityManagerFactory are built during startup too, so the
+ * instance only reports ready once the database is usable and the first
+ * request does not pay for Hibernate bootstrap. {@link JpaCacheRegions} must
+ * exist as soon as Hibernate caches entities, or evictions from other nodes
+ * would not reach them. A lazy {@link SmartInitializingSingleton} would never
+ * be created and its callback (the Jackson serializer warmup) would not run;
+ * Spring Boot already keeps these eager, and listing them here keeps this the
+ * one place that states what prod startup relies on.
+ */
+@Configuration
+public class StartupConfig {
+
+	@Bean
+	public static LazyInitializationExcludeFilter databaseLazyInitializationExcludeFilter() {
+		return LazyInitializationExcludeFilter.forBeanTypes(
+			FlywayMigrationInitializer.class, DataSource.class, EntityManagerFactory.class, JpaCacheRegions.class,
+			SmartInitializingSingleton.class);
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.hello.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.audit.AuditEvent;
+import com.example.hello.audit.AuditEventRepository;
+import com.example.hello.audit.AuditEventWriter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/audit-events")
+@Tag(name = "Audit Trail", description = "Persistent trail of @AuditLog operations")
+@SecurityRequirement(name = "basicAuth")
+public class AuditEventController {
+
+	private final AuditEventRepository auditEventRepository;
+	private final AuditEventWriter auditEventWriter;
+
+	public AuditEventController(AuditEventRepository auditEventRepository, AuditEventWriter auditEventWriter) {
+		this.auditEventRepository = auditEventRepository;
+		this.auditEventWriter = auditEventWriter;
+	}
+
+	@GetMapping
+	@Operation(summary = "Search the audit trail",
+		description = "Audit events newest first, optionally filtered. Times are UTC; events appear once the writer has flushed them")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved audit events"),
+		@ApiResponse(responseCode = "400", description = "Invalid filter or page parameters"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public ResponseEntity<PagedModel<AuditEvent>> search(
+		@Parameter(description = "Username", example = "admin") @RequestParam(required = false) String username,
+		@Parameter(description = "Action", example = "UPDATE_EMPLOYEE") @RequestParam(required = false) String action,
+		@Parameter(description = "Resource", example = "EMPLOYEE") @RequestParam(required = false) String resource,
+		@Parameter(description = "Outcome") @RequestParam(required = false) AuditEvent.Outcome outcome,
+		@Parameter(description = "From (inclusive, UTC)", example = "2025-10-21T00:00:00")
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+		@Parameter(description = "To (exclusive, UTC)", example = "2025-10-22T00:00:00")
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+		@PageableDefault(size = 50) Pageable pageable) {
+		if (from != null && to != null && !from.isBefore(to)) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.ok(new PagedModel<>(auditEventRepository.find(
+			new AuditEventRepository.Filter(username, action, resource, outcome, from, to), pageable)));
+	}
+
+	@GetMapping("/writer")
+	@Operation(summary = "Get audit writer statistics",
+		description = "Queue occupancy, backpressure waits, dropped events and batch sizes of the asynchronous audit writer")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved writer statistics"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public AuditEventWriter.Stats writerStats() {
+		return auditEventWriter.stats();
+	}
+}
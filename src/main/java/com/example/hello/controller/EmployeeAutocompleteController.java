@@ -0,0 +1,50 @@
+package com.example.hello.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.dto.EmployeeSuggestion;
+import com.example.hello.index.EmployeeNameIndex;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/employees/autocomplete")
+@Tag(name = "Employee Management", description = "APIs for managing employees")
+@SecurityRequirement(name = "basicAuth")
+public class EmployeeAutocompleteController {
+
+	private static final int MAX_LIMIT = 50;
+
+	private final EmployeeNameIndex employeeNameIndex;
+
+	public EmployeeAutocompleteController(EmployeeNameIndex employeeNameIndex) {
+		this.employeeNameIndex = employeeNameIndex;
+	}
+
+	@GetMapping
+	@Operation(summary = "Autocomplete employees", description = "Type-ahead over first name, last name and email; every word of the query must prefix a word of one of those fields")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions"),
+		@ApiResponse(responseCode = "400", description = "Invalid limit"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public ResponseEntity<List<EmployeeSuggestion>> autocomplete(
+		@Parameter(description = "Query text, e.g. 'jo' or 'john d'") @RequestParam("q") String query,
+		@Parameter(description = "Maximum number of suggestions (1-50)") @RequestParam(defaultValue = "10") int limit) {
+		if (limit < 1 || limit > MAX_LIMIT) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.ok(employeeNameIndex.suggest(query, limit));
+	}
+}
@@ -0,0 +1,96 @@
+package com.example.hello.controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.dto.BulkEmployeeDelete;
+import com.example.hello.dto.BulkEmployeeUpdate;
+import com.example.hello.dto.BulkOperationResult;
+import com.example.hello.dto.EmployeeSearchCriteria;
+import com.example.hello.service.EmployeeService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/employees")
+@Tag(name = "Employee Bulk Operations", description = "Set-based updates and deletes for reorganizations")
+@SecurityRequirement(name = "basicAuth")
+public class EmployeeBulkController {
+
+	private static final int MAX_IDS = 10_000;
+
+	private static final BigDecimal MIN_RAISE_PCT = BigDecimal.valueOf(-100);
+
+	private final EmployeeService employeeService;
+
+	public EmployeeBulkController(EmployeeService employeeService) {
+		this.employeeService = employeeService;
+	}
+
+	@PostMapping("/bulk-update")
+	@Operation(summary = "Bulk update employees", description = "Move the employees selected by ID list or filter to a new department and/or manager, and/or apply a percentage salary change, with set-based UPDATE statements in one transaction")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Update applied; returns the number of employees updated"),
+		@ApiResponse(responseCode = "400", description = "Missing or ambiguous selection, empty filter, too many IDs, no changes, a salary cut of 100% or more, or a manager among the selected employees"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public ResponseEntity<BulkOperationResult> bulkUpdate(@RequestBody BulkEmployeeUpdate request) {
+		if (!isValidSelection(request.ids(), request.filter()) || !request.hasChanges() || !isValidChange(request)) {
+			return ResponseEntity.badRequest().build();
+		}
+		try {
+			return ResponseEntity.ok(new BulkOperationResult(employeeService.bulkUpdate(request)));
+		} catch (IllegalArgumentException e) {
+			// The new manager matches the filter
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	@PostMapping("/bulk-delete")
+	@Operation(summary = "Bulk delete employees", description = "Delete the employees selected by ID list or filter with set-based DELETE statements in one transaction")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Delete applied; returns the number of employees deleted"),
+		@ApiResponse(responseCode = "400", description = "Missing or ambiguous selection, empty filter or too many IDs"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public ResponseEntity<BulkOperationResult> bulkDelete(@RequestBody BulkEmployeeDelete request) {
+		if (!isValidSelection(request.ids(), request.filter())) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.ok(new BulkOperationResult(employeeService.bulkDelete(request)));
+	}
+
+	/**
+	 * Exactly one of a non-empty ID list or a filter with at least one criterion, so a
+	 * request can never touch the whole table by accident.
+	 */
+	private static boolean isValidSelection(List<Long> ids, EmployeeSearchCriteria filter) {
+		if (ids != null) {
+			return filter == null && !ids.isEmpty() && ids.size() <= MAX_IDS && !ids.contains(null);
+		}
+		return filter != null && !filter.isEmpty();
+	}
+
+	/**
+	 * A salary change that leaves a positive salary, and no employee in an ID list as its
+	 * own new manager. A manager matching a filter is rejected by the service.
+	 */
+	private static boolean isValidChange(BulkEmployeeUpdate request) {
+		if (request.salaryRaisePct() != null && request.salaryRaisePct().compareTo(MIN_RAISE_PCT) <= 0) {
+			return false;
+		}
+		return request.managerId() == null || request.ids() == null || !request.ids().contains(request.managerId());
+	}
+}
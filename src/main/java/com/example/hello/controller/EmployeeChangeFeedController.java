@@ -0,0 +1,90 @@
+package com.example.hello.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.hello.changes.EmployeeChangeBroadcaster;
+import com.example.hello.changes.EmployeeChangeFeed;
+import com.example.hello.dto.EmployeeChangeBatch;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/employees/changes")
+@Tag(name = "Employee Change Feed", description = "Incremental employee changes for downstream consumers")
+@SecurityRequirement(name = "basicAuth")
+public class EmployeeChangeFeedController {
+
+	private static final int MAX_LIMIT = 1000;
+
+	private final EmployeeChangeFeed changeFeed;
+	private final EmployeeChangeBroadcaster changeBroadcaster;
+
+	@Value("${changes.feed.max-wait-seconds:60}")
+	private int maxWaitSeconds;
+
+	public EmployeeChangeFeedController(EmployeeChangeFeed changeFeed, EmployeeChangeBroadcaster changeBroadcaster) {
+		this.changeFeed = changeFeed;
+		this.changeBroadcaster = changeBroadcaster;
+	}
+
+	@GetMapping
+	@Operation(summary = "Get employee changes after a cursor",
+		description = "Creates, updates and deletes in commit order, each with the employee state after the change. "
+			+ "Start with after=0 (or the cursor from a previous response) and pass the returned cursor on the next call. "
+			+ "With waitSeconds the request is held until a change arrives or the wait expires (long polling). "
+			+ "resyncRequired means the cursor is no longer served: reload all employees and continue from the returned cursor")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Changes after the cursor (possibly none)"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor, limit or wait"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public CompletableFuture<ResponseEntity<EmployeeChangeBatch>> changes(
+		@Parameter(description = "Cursor returned by the previous call; 0 for the oldest retained change", example = "0")
+		@RequestParam(defaultValue = "0") long after,
+		@Parameter(description = "Maximum number of changes to return (1-1000)", example = "100")
+		@RequestParam(defaultValue = "100") int limit,
+		@Parameter(description = "Seconds to wait for a change when there is none yet; 0 returns immediately", example = "30")
+		@RequestParam(defaultValue = "0") int waitSeconds) {
+		if (after < 0 || limit < 1 || limit > MAX_LIMIT || waitSeconds < 0 || waitSeconds > maxWaitSeconds) {
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+		}
+		return changeFeed.poll(after, limit, TimeUnit.SECONDS.toMillis(waitSeconds)).thenApply(ResponseEntity::ok);
+	}
+
+	@GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(summary = "Stream employee changes as Server-Sent Events",
+		description = "Pushes each committed create, update and delete as an 'employee-change' event whose id is the feed cursor. "
+			+ "Send Last-Event-ID to resume after a reconnect; a 'resync' event means the missed changes are no longer "
+			+ "available and all employees should be reloaded. Clients that fall too far behind are disconnected")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Event stream opened"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "503", description = "Too many open streams")
+	})
+	public ResponseEntity<SseEmitter> stream(
+		@Parameter(description = "Id of the last event received, to resume after a reconnect")
+		@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+		SseEmitter emitter = changeBroadcaster.subscribe(lastEventId);
+		if (emitter == null) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+		return ResponseEntity.ok(emitter);
+	}
+}
@@ -1,16 +1,41 @@
 package com.example.hello.controller;
 
+import com.example.hello.dto.DataVersion;
+import com.example.hello.dto.EmployeeSearchCriteria;
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.dto.RowVersion;
 import com.example.hello.model.Employee;
 import com.example.hello.service.EmployeeService;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,8 +44,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -28,34 +63,122 @@ import java.util.List;
 @SecurityRequirement(name = "basicAuth")
 public class EmployeeController {
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(
+        "id", "firstName", "lastName", "email", "hireDate", "jobId", "salary", "managerId", "departmentId");
+
+    private static final Set<String> PATCHABLE_PROPERTIES = Set.of(
+        "firstName", "lastName", "email", "phoneNumber", "hireDate", "jobId", "salary", "commissionPct",
+        "managerId", "departmentId");
+
+    /** ETag suffix per employee encoding, in the order Spring MVC prefers them for a wildcard Accept. */
+    private static final List<Map.Entry<MediaType, String>> ENCODING_SUFFIXES = List.of(
+        Map.entry(MediaType.APPLICATION_JSON, ""),
+        Map.entry(MediaType.APPLICATION_CBOR, "-cbor"),
+        Map.entry(new MediaType("application", "x-jackson-smile"), "-smile"));
+
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ContentNegotiationManager contentNegotiationManager;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper,
+        ContentNegotiationManager contentNegotiationManager) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.contentNegotiationManager = contentNegotiationManager;
     }
 
 	@GetMapping
-	@Operation(summary = "Get all employees", description = "Retrieve a list of all employees")
+	@Operation(summary = "Get all employees", description = "Retrieve a list of all employees, optionally reduced to a subset of fields. Returned as JSON, or as CBOR / Smile when requested via Accept")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Successfully retrieved list of employees"),
+		@ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+		@ApiResponse(responseCode = "400", description = "Unknown field name"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+    public ResponseEntity<List<?>> list(
+		@Parameter(description = "Comma-separated fields to return, e.g. id,firstName,email") @RequestParam(required = false) String fields,
+		NativeWebRequest request) {
+        List<String> selected = parseFields(fields);
+        if (!EmployeeView.FIELDS.containsAll(selected)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Decide 304 from the outbox version before reading any rows. No Last-Modified:
+        // row timestamps do not follow commit order, so If-Modified-Since could miss a change
+        DataVersion version = employeeService.dataVersion();
+        if (request.checkNotModified(etag(version, encodingSuffix(request)))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(selected.isEmpty() ? employeeService.listViews() : employeeService.listFields(selected));
+    }
+
+	@GetMapping("/search")
+	@Operation(summary = "Search employees", description = "Filter employees by department, job, manager, salary range, hire date range, name prefix or email, with server-side paging, sorting and an optional subset of fields")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved matching employees"),
+		@ApiResponse(responseCode = "400", description = "Invalid filter, sort property or field name"),
 		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
 	})
-    public List<Employee> list() {
-        return employeeService.listAll();
+    public ResponseEntity<PagedModel<?>> search(
+		@ModelAttribute EmployeeSearchCriteria criteria,
+		@Parameter(description = "Comma-separated fields to return, e.g. id,firstName,email") @RequestParam(required = false) String fields,
+		@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        List<String> selected = parseFields(fields);
+        if (!EmployeeView.FIELDS.containsAll(selected)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(selected.isEmpty()
+            ? new PagedModel<>(employeeService.search(criteria, pageable))
+            : new PagedModel<>(employeeService.searchFields(criteria, selected, pageable)));
+    }
+
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Export employees", description = "Stream all employees matching the filter as a JSON array, ordered by ID. Rows are written as they are read from the database, so the response starts immediately and memory use does not grow with the result size")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Matching employees streamed as a JSON array"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+    public ResponseEntity<StreamingResponseBody> export(@ModelAttribute EmployeeSearchCriteria criteria) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                employeeService.export(criteria, view -> write(generator, view));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
 	@GetMapping("/{id}")
 	@Operation(summary = "Get employee by ID", description = "Retrieve a specific employee by their ID")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Successfully retrieved employee"),
+		@ApiResponse(responseCode = "304", description = "Not modified since the ETag or date in If-None-Match / If-Modified-Since"),
 		@ApiResponse(responseCode = "404", description = "Employee not found"),
 		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
 	})
     public ResponseEntity<Employee> get(
 		@Parameter(description = "Employee ID", required = true, example = "1")
-		@PathVariable Long id) {
-        return employeeService.getById(id)
-			.map(ResponseEntity::ok)
+		@PathVariable Long id,
+		NativeWebRequest request) {
+        // Decide 304 from VERSION/LAST_MODIFIED alone before loading the entity
+        Optional<RowVersion> version = employeeService.rowVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = etag(version.get(), encodingSuffix(request));
+        if (request.checkNotModified(etag, epochMillis(version.get().lastModified()))) {
+            return null;
+        }
+        return employeeService.getById(id, version.get())
+			.map(employee -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(employee))
 			.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
@@ -72,20 +195,66 @@ public class EmployeeController {
 	}
 
 	@PutMapping("/{id}")
-	@Operation(summary = "Update employee", description = "Update an existing employee by ID")
+	@Operation(summary = "Update employee", description = "Update an existing employee by ID. Send the ETag in If-Match or the version in the body to reject the update if the employee changed since it was read")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Employee updated successfully"),
 		@ApiResponse(responseCode = "404", description = "Employee not found"),
 		@ApiResponse(responseCode = "400", description = "Invalid employee data"),
+		@ApiResponse(responseCode = "409", description = "Version in the body is stale, or a concurrent update won"),
+		@ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag"),
 		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
 	})
     public ResponseEntity<Employee> update(
 		@Parameter(description = "Employee ID", required = true, example = "1")
 		@PathVariable Long id, 
-		@RequestBody Employee update) {
-        return employeeService.update(id, update)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+		@RequestBody Employee update,
+		NativeWebRequest request) {
+        if (isConditional(ifMatch) && versionFromEtag(ifMatch) == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Long expectedVersion = isConditional(ifMatch) ? versionFromEtag(ifMatch) : update.getVersion();
+        return toResponse(employeeService.update(id, update, expectedVersion), isConditional(ifMatch),
+            encodingSuffix(request));
+    }
+
+	@PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+	@Operation(summary = "Partially update employee", description = "Update only the supplied fields with a single UPDATE statement (null clears a field). Send the ETag in If-Match or a version field to make the update conditional")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Employee updated successfully"),
+		@ApiResponse(responseCode = "404", description = "Employee not found"),
+		@ApiResponse(responseCode = "400", description = "Unknown, read-only or malformed field"),
+		@ApiResponse(responseCode = "409", description = "Version in the body is stale"),
+		@ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+    public ResponseEntity<Employee> patch(
+		@Parameter(description = "Employee ID", required = true, example = "1")
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+		@RequestBody Map<String, Object> body,
+		NativeWebRequest request) {
+        if (isConditional(ifMatch) && versionFromEtag(ifMatch) == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Map<String, Object> fields = new LinkedHashMap<>(body);
+        Object bodyVersion = fields.remove("version");
+        if (fields.isEmpty() || !PATCHABLE_PROPERTIES.containsAll(fields.keySet())) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Long expectedVersion;
+        try {
+            // Let Jackson convert the JSON values (dates, decimals) to the entity's property types
+            BeanWrapper typed = new BeanWrapperImpl(objectMapper.convertValue(fields, Employee.class));
+            fields.keySet().forEach(field -> changes.put(field, typed.getPropertyValue(field)));
+            expectedVersion = isConditional(ifMatch) ? versionFromEtag(ifMatch)
+                : bodyVersion == null ? null : objectMapper.convertValue(bodyVersion, Long.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(employeeService.patch(id, changes, expectedVersion), isConditional(ifMatch),
+            encodingSuffix(request));
     }
 
 	@DeleteMapping("/{id}")
@@ -101,6 +270,112 @@ public class EmployeeController {
         boolean deleted = employeeService.delete(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
-}
 
+    private static ResponseEntity<Employee> toResponse(EmployeeService.WriteResult result, boolean ifMatchUsed,
+        String encodingSuffix) {
+        return switch (result.outcome()) {
+            case UPDATED -> ResponseEntity.ok().eTag(etag(result.employee(), encodingSuffix)).body(result.employee());
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case CONFLICT -> ResponseEntity.status(ifMatchUsed ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        };
+    }
+
+    private static void write(JsonGenerator generator, EmployeeView view) {
+        try {
+            generator.writeObject(view);
+        } catch (IOException e) {
+            // Typically the client went away; abort the export and release the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Whether an If-Match header asks for a specific version ("*" matches any existing employee).
+     */
+    private static boolean isConditional(String ifMatch) {
+        return ifMatch != null && !ifMatch.isBlank() && !ifMatch.trim().equals("*");
+    }
+
+    /**
+     * Version encoded in one of our ETags ({@code "version-micros"}, with an encoding suffix
+     * for CBOR and Smile), or null if the value is not one. Every encoding of a version
+     * identifies the same employee state, so any of them satisfies If-Match.
+     */
+    private static Long versionFromEtag(String etag) {
+        String value = etag.split(",")[0].trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return null;
+        }
+        String[] parts = value.substring(1, value.length() - 1).split("-");
+        try {
+            return parts.length == 2 || parts.length == 3 ? Long.valueOf(parts[0]) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Distinct field names from a comma-separated {@code fields} parameter; empty means all fields.
+     */
+    private static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    /**
+     * Strong ETag for one employee in one encoding: its version, plus the modification
+     * time so a deleted and re-created employee never reuses a tag. JSON, CBOR and
+     * Smile bodies differ byte for byte, so each gets its own tag.
+     */
+    private static String etag(RowVersion version, String encodingSuffix) {
+        return "\"" + version.version() + "-" + Long.toHexString(epochMicros(version.lastModified()))
+            + encodingSuffix + "\"";
+    }
+
+    private static String etag(Employee employee, String encodingSuffix) {
+        return etag(new RowVersion(employee.getVersion(), employee.getLastModified()), encodingSuffix);
+    }
 
+    /**
+     * ETag suffix of the encoding content negotiation will pick: the first acceptable
+     * of JSON, CBOR and Smile, so JSON for a missing or wildcard Accept.
+     */
+    private String encodingSuffix(NativeWebRequest request) {
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request)) {
+                for (Map.Entry<MediaType, String> encoding : ENCODING_SUFFIXES) {
+                    if (accepted.isCompatibleWith(encoding.getKey())) {
+                        return encoding.getValue();
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Unparseable Accept: the request fails in content negotiation anyway
+        }
+        return "";
+    }
+
+    /**
+     * Strong ETag for the employee list in one encoding: last relayed feed position plus the
+     * changes still pending, with the same per-encoding suffix as a single employee.
+     */
+    private static String etag(DataVersion version, String encodingSuffix) {
+        return "\"" + Long.toHexString(version.lastSeq()) + "-" + Long.toHexString(version.pending())
+            + encodingSuffix + "\"";
+    }
+
+    private static long epochMicros(LocalDateTime utc) {
+        Instant instant = utc.toInstant(ZoneOffset.UTC);
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static long epochMillis(LocalDateTime utc) {
+        return utc == null ? -1 : utc.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.hello.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.index.EmployeeNameIndex;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/name-index")
+@Tag(name = "Name Index", description = "In-memory employee name and email index")
+@SecurityRequirement(name = "basicAuth")
+public class EmployeeNameIndexController {
+
+	private final EmployeeNameIndex employeeNameIndex;
+
+	public EmployeeNameIndexController(EmployeeNameIndex employeeNameIndex) {
+		this.employeeNameIndex = employeeNameIndex;
+	}
+
+	@GetMapping
+	@Operation(summary = "Get name index statistics", description = "Size, memory footprint, query latency and rebuild time of the in-memory name index")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved index statistics"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public EmployeeNameIndex.Stats stats() {
+		return employeeNameIndex.stats();
+	}
+
+	@PostMapping("/rebuild")
+	@Operation(summary = "Rebuild name index", description = "Synchronously rebuild the in-memory name index from the database")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Index rebuilt"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public EmployeeNameIndex.Stats rebuild() {
+		employeeNameIndex.rebuild();
+		return employeeNameIndex.stats();
+	}
+}
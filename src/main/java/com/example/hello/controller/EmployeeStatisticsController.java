@@ -0,0 +1,54 @@
+package com.example.hello.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.dto.DepartmentSalaryStats;
+import com.example.hello.dto.JobSalaryStats;
+import com.example.hello.service.EmployeeService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/employees/stats")
+@Tag(name = "Employee Statistics", description = "Headcount and salary aggregates computed in the database")
+@SecurityRequirement(name = "basicAuth")
+public class EmployeeStatisticsController {
+
+	private final EmployeeService employeeService;
+
+	public EmployeeStatisticsController(EmployeeService employeeService) {
+		this.employeeService = employeeService;
+	}
+
+	@GetMapping("/departments")
+	@Operation(summary = "Salary statistics by department", description = "Headcount, total, average, min and max salary and commission per department")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved department statistics"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public List<DepartmentSalaryStats> byDepartment() {
+		return employeeService.salaryStatsByDepartment();
+	}
+
+	@GetMapping("/jobs")
+	@Operation(summary = "Salary statistics by job", description = "Headcount, total, average, min and max salary and commission per job, optionally within one department")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved job statistics"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public List<JobSalaryStats> byJob(
+		@Parameter(description = "Restrict to one department", example = "10")
+		@RequestParam(required = false) Long departmentId) {
+		return employeeService.salaryStatsByJob(departmentId);
+	}
+}
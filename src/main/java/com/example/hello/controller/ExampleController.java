@@ -3,8 +3,10 @@ package com.example.hello.controller;
 import com.example.hello.annotation.AuditLog;
 import com.example.hello.annotation.LogExecution;
 import com.example.hello.annotation.LogPerformance;
+import com.example.hello.dto.EmployeeView;
 import com.example.hello.model.Employee;
 import com.example.hello.service.EmployeeService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,8 +32,8 @@ public class ExampleController {
      */
     @GetMapping("/employees")
     @LogExecution(level = "INFO", logArgs = true, logTime = true, message = "Retrieving all employees")
-    public List<Employee> getAllEmployees() {
-        return employeeService.listAll();
+    public List<EmployeeView> getAllEmployees() {
+        return employeeService.listViews();
     }
 
     /**
@@ -72,9 +74,12 @@ public class ExampleController {
     @LogPerformance(slowThreshold = 1000, collectMetrics = true)
     @AuditLog(action = "UPDATE_EMPLOYEE", resource = "EMPLOYEE", logUser = true)
     public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
-        return employeeService.update(id, employee)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+        EmployeeService.WriteResult result = employeeService.update(id, employee, employee.getVersion());
+        return switch (result.outcome()) {
+            case UPDATED -> ResponseEntity.ok(result.employee());
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+        };
     }
 
     /**
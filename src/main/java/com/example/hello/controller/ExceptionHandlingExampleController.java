@@ -6,6 +6,7 @@ import com.example.hello.annotation.RetryOnFailure;
 import com.example.hello.annotation.Timeout;
 import com.example.hello.model.Employee;
 import com.example.hello.service.EmployeeService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -175,9 +176,12 @@ public class ExceptionHandlingExampleController {
             throw new IllegalArgumentException("Invalid email format");
         }
         
-        return employeeService.update(id, employee)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+        EmployeeService.WriteResult result = employeeService.update(id, employee, employee.getVersion());
+        return switch (result.outcome()) {
+            case UPDATED -> ResponseEntity.ok(result.employee());
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+        };
     }
 
     /**
@@ -0,0 +1,39 @@
+package com.example.hello.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.cache.JpaCacheRegions;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/jpa-cache")
+@Tag(name = "JPA Cache", description = "Hibernate second-level and query cache statistics")
+@SecurityRequirement(name = "basicAuth")
+public class JpaCacheController {
+
+	private final JpaCacheRegions jpaCacheRegions;
+
+	public JpaCacheController(JpaCacheRegions jpaCacheRegions) {
+		this.jpaCacheRegions = jpaCacheRegions;
+	}
+
+	@GetMapping
+	@Operation(summary = "Get JPA cache statistics", description = "Hits, misses, puts and entries on this node per second-level and query cache region")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public List<JpaCacheRegions.RegionStats> statistics() {
+		return jpaCacheRegions.statistics();
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.hello.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.dto.OrgChartNode;
+import com.example.hello.dto.ReportingLineCheck;
+import com.example.hello.index.OrgTree;
+import com.example.hello.index.OrgTreeIndex;
+import com.example.hello.service.EmployeeService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/employees/{id}")
+@Tag(name = "Org Chart", description = "Reporting lines based on each employee's manager")
+@SecurityRequirement(name = "basicAuth")
+public class OrgChartController {
+
+	private final EmployeeService employeeService;
+	private final OrgTreeIndex orgTreeIndex;
+
+	public OrgChartController(EmployeeService employeeService, OrgTreeIndex orgTreeIndex) {
+		this.employeeService = employeeService;
+		this.orgTreeIndex = orgTreeIndex;
+	}
+
+	@GetMapping("/reports")
+	@Operation(summary = "Get direct reports", description = "Employees whose manager is the given employee")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved direct reports"),
+		@ApiResponse(responseCode = "404", description = "Employee not found"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public ResponseEntity<List<OrgChartNode>> directReports(
+		@Parameter(description = "Manager employee ID", required = true, example = "1")
+		@PathVariable Long id) {
+		return employeeService.directReports(id)
+			.map(ResponseEntity::ok)
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	@GetMapping("/subtree")
+	@Operation(summary = "Get reporting subtree", description = "The employee (depth 0) and everyone reporting to them, directly or indirectly, up to maxDepth levels")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved subtree"),
+		@ApiResponse(responseCode = "404", description = "Employee not found"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public ResponseEntity<List<OrgChartNode>> subtree(
+		@Parameter(description = "Manager employee ID", required = true, example = "1")
+		@PathVariable Long id,
+		@Parameter(description = "Maximum number of levels below the employee (capped at 50)", example = "10")
+		@RequestParam(defaultValue = "10") int maxDepth) {
+		if (maxDepth < 0) {
+			return ResponseEntity.badRequest().build();
+		}
+		return employeeService.subtree(id, maxDepth)
+			.map(ResponseEntity::ok)
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	@GetMapping("/chain")
+	@Operation(summary = "Get management chain", description = "The employee (depth 0) followed by each manager up to the top of the hierarchy")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved management chain"),
+		@ApiResponse(responseCode = "404", description = "Employee not found"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public ResponseEntity<List<OrgChartNode>> managementChain(
+		@Parameter(description = "Employee ID", required = true, example = "3")
+		@PathVariable Long id) {
+		return employeeService.managementChain(id)
+			.map(ResponseEntity::ok)
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	@GetMapping("/subordinate-ids")
+	@Operation(summary = "Get all subordinate IDs", description = "IDs of everyone reporting to the employee, directly or indirectly, served from the in-memory org index")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved subordinate IDs"),
+		@ApiResponse(responseCode = "404", description = "Employee not found"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public ResponseEntity<long[]> subordinateIds(
+		@Parameter(description = "Manager employee ID", required = true, example = "1")
+		@PathVariable Long id) {
+		long[] ids = orgTreeIndex.tree().subordinateIds(id);
+		return ids == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(ids);
+	}
+
+	@GetMapping("/reports-to/{managerId}")
+	@Operation(summary = "Check reporting line", description = "Whether the employee reports to the manager, directly or indirectly, served from the in-memory org index")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully checked reporting line"),
+		@ApiResponse(responseCode = "404", description = "Employee or manager not found"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+	})
+	public ResponseEntity<ReportingLineCheck> reportsTo(
+		@Parameter(description = "Employee ID", required = true, example = "3")
+		@PathVariable Long id,
+		@Parameter(description = "Manager employee ID", required = true, example = "1")
+		@PathVariable Long managerId) {
+		OrgTree tree = orgTreeIndex.tree();
+		if (!tree.contains(id) || !tree.contains(managerId)) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(new ReportingLineCheck(id, managerId, tree.reportsTo(id, managerId)));
+	}
+}
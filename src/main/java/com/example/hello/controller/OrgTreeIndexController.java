@@ -0,0 +1,50 @@
+package com.example.hello.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.index.OrgTreeIndex;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/org-index")
+@Tag(name = "Org Index", description = "In-memory reporting hierarchy index")
+@SecurityRequirement(name = "basicAuth")
+public class OrgTreeIndexController {
+
+	private final OrgTreeIndex orgTreeIndex;
+
+	public OrgTreeIndexController(OrgTreeIndex orgTreeIndex) {
+		this.orgTreeIndex = orgTreeIndex;
+	}
+
+	@GetMapping
+	@Operation(summary = "Get org index statistics", description = "Size, memory footprint and rebuild time of the in-memory org tree")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved index statistics"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public OrgTreeIndex.Stats stats() {
+		return orgTreeIndex.stats();
+	}
+
+	@PostMapping("/rebuild")
+	@Operation(summary = "Rebuild org index", description = "Synchronously rebuild the in-memory org tree from the database")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Index rebuilt"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public OrgTreeIndex.Stats rebuild() {
+		orgTreeIndex.rebuild();
+		return orgTreeIndex.stats();
+	}
+}
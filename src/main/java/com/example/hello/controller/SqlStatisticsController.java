@@ -0,0 +1,55 @@
+package com.example.hello.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.jdbc.SqlStatisticsCollector;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/sql-statistics")
+@Tag(name = "SQL Statistics", description = "JDBC-level statement statistics for diagnosing slow and repeated queries")
+@SecurityRequirement(name = "basicAuth")
+public class SqlStatisticsController {
+
+	private final SqlStatisticsCollector collector;
+
+	public SqlStatisticsController(SqlStatisticsCollector collector) {
+		this.collector = collector;
+	}
+
+	@GetMapping
+	@Operation(summary = "Get SQL statistics", description = "Per-normalized-SQL counts, latency percentiles and rows fetched, ordered by total time")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved SQL statistics"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public SqlStatisticsCollector.Report get(
+		@Parameter(description = "Maximum number of statements to return", example = "50")
+		@RequestParam(defaultValue = "50") int limit) {
+		return collector.report(limit);
+	}
+
+	@DeleteMapping
+	@Operation(summary = "Reset SQL statistics", description = "Clear all collected SQL statistics")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "204", description = "Statistics reset"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public ResponseEntity<Void> reset() {
+		collector.reset();
+		return ResponseEntity.noContent().build();
+	}
+}
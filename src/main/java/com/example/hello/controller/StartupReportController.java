@@ -0,0 +1,40 @@
+package com.example.hello.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.startup.StartupReport;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/startup-report")
+@Tag(name = "Startup Report", description = "Application startup timeline summary")
+@SecurityRequirement(name = "basicAuth")
+public class StartupReportController {
+
+	private final StartupReport startupReport;
+
+	public StartupReportController(StartupReport startupReport) {
+		this.startupReport = startupReport;
+	}
+
+	@GetMapping
+	@Operation(summary = "Get startup report", description = "Time to ready, the slowest startup steps and the total time per step name. The full timeline is at /actuator/startup")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved the startup report"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required"),
+		@ApiResponse(responseCode = "503", description = "Application is still starting, or startup was not recorded")
+	})
+	public ResponseEntity<StartupReport.Summary> report() {
+		StartupReport.Summary summary = startupReport.summary();
+		return summary == null ? ResponseEntity.status(503).build() : ResponseEntity.ok(summary);
+	}
+}
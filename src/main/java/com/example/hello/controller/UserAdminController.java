@@ -0,0 +1,160 @@
+package com.example.hello.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.dto.BulkAuthorityUpdate;
+import com.example.hello.dto.BulkOperationResult;
+import com.example.hello.dto.BulkUserCreate;
+import com.example.hello.dto.NewUser;
+import com.example.hello.dto.UserView;
+import com.example.hello.service.UserAdminService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@Tag(name = "User Administration", description = "Application users and their authorities")
+@SecurityRequirement(name = "basicAuth")
+public class UserAdminController {
+
+	private static final int MAX_USERS = 10_000;
+	/** Column width of USERNAME and AUTHORITY. */
+	private static final int MAX_NAME_LENGTH = 45;
+	/** BCrypt ignores everything after the first 72 bytes. */
+	private static final int MAX_PASSWORD_BYTES = 72;
+
+	private final UserAdminService userAdminService;
+
+	public UserAdminController(UserAdminService userAdminService) {
+		this.userAdminService = userAdminService;
+	}
+
+	@GetMapping
+	@Operation(summary = "List users", description = "A page of users with their authorities, fetched with a fixed number of statements whatever the page size")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved users"),
+		@ApiResponse(responseCode = "400", description = "Invalid sort property"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public ResponseEntity<PagedModel<UserView>> list(@PageableDefault(size = 20, sort = "username") Pageable pageable) {
+		for (Sort.Order order : pageable.getSort()) {
+			if (!UserView.SORTABLE.contains(order.getProperty())) {
+				return ResponseEntity.badRequest().build();
+			}
+		}
+		return ResponseEntity.ok(new PagedModel<>(userAdminService.list(pageable)));
+	}
+
+	@GetMapping("/{username}")
+	@Operation(summary = "Get user", description = "One user with its authorities")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved user"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required"),
+		@ApiResponse(responseCode = "404", description = "User not found")
+	})
+	public ResponseEntity<UserView> get(
+		@Parameter(description = "Username", required = true) @PathVariable String username) {
+		return ResponseEntity.of(userAdminService.get(username));
+	}
+
+	@PostMapping("/bulk")
+	@Operation(summary = "Bulk create users", description = "Create up to 10000 users with their authorities in one transaction, all or none. Passwords are BCrypt-hashed in parallel on a bounded worker pool and rows are inserted in JDBC batches")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Users created; returns the number of users created"),
+		@ApiResponse(responseCode = "400", description = "Empty or too long list, duplicate username, or invalid username, password or authority"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required"),
+		@ApiResponse(responseCode = "409", description = "A username is already taken; no user was created")
+	})
+	public ResponseEntity<BulkOperationResult> bulkCreate(@RequestBody BulkUserCreate request) {
+		if (!isValid(request)) {
+			return ResponseEntity.badRequest().build();
+		}
+		try {
+			return ResponseEntity.ok(new BulkOperationResult(userAdminService.createUsers(request.users())));
+		} catch (DuplicateKeyException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).build();
+		}
+	}
+
+	@PostMapping("/bulk-authorities")
+	@Operation(summary = "Bulk grant and revoke authorities", description = "Grant and/or revoke roles for up to 10000 users in one transaction, with batched inserts and deletes; roles already held (or not held) are skipped")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Roles updated; returns the number of authority rows added plus removed"),
+		@ApiResponse(responseCode = "400", description = "Empty or too long user list, unknown user, no changes, invalid role, or a role both granted and revoked"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+		@ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required")
+	})
+	public ResponseEntity<BulkOperationResult> bulkAuthorities(@RequestBody BulkAuthorityUpdate request) {
+		if (!isValid(request)) {
+			return ResponseEntity.badRequest().build();
+		}
+		try {
+			return ResponseEntity.ok(new BulkOperationResult(userAdminService.updateAuthorities(request)));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	private static boolean isValid(BulkUserCreate request) {
+		List<NewUser> users = request.users();
+		if (users == null || users.isEmpty() || users.size() > MAX_USERS) {
+			return false;
+		}
+		Set<String> usernames = new HashSet<>();
+		for (NewUser user : users) {
+			if (user == null || !isValidName(user.username()) || !usernames.add(user.username())
+				|| user.password() == null || user.password().isEmpty()
+				|| user.password().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES
+				|| !areValidNames(user.authorities())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isValid(BulkAuthorityUpdate request) {
+		List<String> usernames = request.usernames();
+		if (usernames == null || usernames.isEmpty() || usernames.size() > MAX_USERS || !areValidNames(usernames)
+			|| !request.hasChanges() || !areValidNames(request.grant()) || !areValidNames(request.revoke())) {
+			return false;
+		}
+		return request.grant() == null || request.revoke() == null
+			|| request.grant().stream().noneMatch(request.revoke()::contains);
+	}
+
+	/**
+	 * Null (nothing given) or non-blank names that fit their column.
+	 */
+	private static boolean areValidNames(List<String> names) {
+		return names == null || names.stream().allMatch(UserAdminController::isValidName);
+	}
+
+	private static boolean isValidName(String name) {
+		return name != null && !name.isBlank() && name.length() <= MAX_NAME_LENGTH;
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.hello.dto;
+
+import java.util.List;
+
+/**
+ * Role changes applied to every listed user in one transaction. Granting a
+ * role the user already has, or revoking one it does not have, is a no-op.
+ *
+ * @param usernames users to change
+ * @param grant role names to add
+ * @param revoke role names to remove
+ */
+public record BulkAuthorityUpdate(
+	List<String> usernames,
+	List<String> grant,
+	List<String> revoke) {
+
+	public boolean hasChanges() {
+		return (grant != null && !grant.isEmpty()) || (revoke != null && !revoke.isEmpty());
+	}
+}
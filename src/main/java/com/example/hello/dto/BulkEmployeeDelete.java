@@ -0,0 +1,12 @@
+package com.example.hello.dto;
+
+import java.util.List;
+
+/**
+ * Selection for a bulk employee delete: exactly one of {@code ids} or {@code filter}.
+ *
+ * @param ids employees to delete
+ * @param filter employees to delete, by search criteria (at least one criterion)
+ */
+public record BulkEmployeeDelete(List<Long> ids, EmployeeSearchCriteria filter) {
+}
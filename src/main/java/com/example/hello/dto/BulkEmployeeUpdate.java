@@ -0,0 +1,26 @@
+package com.example.hello.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Selection and change set for a bulk employee update. Exactly one of
+ * {@code ids} or {@code filter} selects the employees; null changes are left alone.
+ *
+ * @param ids employees to update
+ * @param filter employees to update, by search criteria (at least one criterion)
+ * @param departmentId new department
+ * @param managerId new manager, not one of the selected employees
+ * @param salaryRaisePct percentage applied to the current salary, e.g. 3.5 for +3.5% (negative for a cut, above -100)
+ */
+public record BulkEmployeeUpdate(
+	List<Long> ids,
+	EmployeeSearchCriteria filter,
+	Long departmentId,
+	Long managerId,
+	BigDecimal salaryRaisePct) {
+
+	public boolean hasChanges() {
+		return departmentId != null || managerId != null || salaryRaisePct != null;
+	}
+}
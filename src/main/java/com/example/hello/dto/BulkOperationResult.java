@@ -0,0 +1,7 @@
+package com.example.hello.dto;
+
+/**
+ * Outcome of a set-based bulk operation.
+ */
+public record BulkOperationResult(int affectedRows) {
+}
@@ -0,0 +1,9 @@
+package com.example.hello.dto;
+
+import java.util.List;
+
+/**
+ * Accounts to create in one transaction; either all of them are created or none.
+ */
+public record BulkUserCreate(List<NewUser> users) {
+}
@@ -0,0 +1,11 @@
+package com.example.hello.dto;
+
+/**
+ * Change marker for the whole employee table, read from the outbox in one
+ * statement: the last feed position handed out by the relay and the number of
+ * committed changes it has not numbered yet. Every commit adds a pending change
+ * and every relay moves pending changes to higher positions, so the pair never
+ * repeats, whatever order transactions commit in or whichever clock stamped them.
+ */
+public record DataVersion(long lastSeq, long pending) {
+}
@@ -0,0 +1,18 @@
+package com.example.hello.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Headcount and salary aggregates for one department, computed by the database.
+ */
+public record DepartmentSalaryStats(
+	Long departmentId,
+	Long headcount,
+	BigDecimal totalSalary,
+	Double averageSalary,
+	BigDecimal minSalary,
+	BigDecimal maxSalary,
+	Long commissionedHeadcount,
+	Double averageCommissionPct,
+	BigDecimal totalCommission) {
+}
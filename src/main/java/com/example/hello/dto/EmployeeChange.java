@@ -0,0 +1,25 @@
+package com.example.hello.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One entry of the employee change feed.
+ *
+ * @param seq feed position; pass the last one seen as {@code after} to resume
+ * @param employeeId the changed employee, null for bulk changes
+ * @param type CREATED, UPDATED, DELETED, or BULK_UPDATED / BULK_DELETED (affected
+ *        employees unknown, consumers should reload)
+ * @param version the employee version after the change
+ * @param changedAt time of the change (UTC)
+ * @param employee the employee after the change, null for deletes and bulk changes
+ */
+public record EmployeeChange(
+	long seq,
+	Long employeeId,
+	String type,
+	Long version,
+	LocalDateTime changedAt,
+	JsonNode employee) {
+}
@@ -0,0 +1,14 @@
+package com.example.hello.dto;
+
+import java.util.List;
+
+/**
+ * A page of the employee change feed.
+ *
+ * @param changes changes after the requested cursor, in feed order
+ * @param cursor pass as {@code after} on the next request; unchanged when no changes were returned
+ * @param resyncRequired true when changes after the requested cursor have already been purged;
+ *        the consumer should reload all employees and continue from {@code cursor}
+ */
+public record EmployeeChangeBatch(List<EmployeeChange> changes, long cursor, boolean resyncRequired) {
+}
@@ -0,0 +1,36 @@
+package com.example.hello.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Optional employee search filters; null fields are ignored.
+ *
+ * @param namePrefix case-insensitive prefix of the first or last name
+ * @param email exact email address
+ */
+public record EmployeeSearchCriteria(
+	Long departmentId,
+	String jobId,
+	Long managerId,
+	BigDecimal minSalary,
+	BigDecimal maxSalary,
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo,
+	String namePrefix,
+	String email) {
+
+	/**
+	 * Whether no filter is set, i.e. the criteria match every employee.
+	 */
+	public boolean isEmpty() {
+		return departmentId == null && isBlank(jobId) && managerId == null && minSalary == null && maxSalary == null
+			&& hiredFrom == null && hiredTo == null && isBlank(namePrefix) && isBlank(email);
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
@@ -0,0 +1,7 @@
+package com.example.hello.dto;
+
+/**
+ * Type-ahead match from the in-memory name and email index.
+ */
+public record EmployeeSuggestion(Long id, String firstName, String lastName, String email) {
+}
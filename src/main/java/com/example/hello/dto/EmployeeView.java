@@ -0,0 +1,32 @@
+package com.example.hello.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only employee row for list and search responses. Serializes like
+ * {@link com.example.hello.model.Employee} but is fetched with a constructor
+ * expression, so no entity is managed or snapshotted for dirty checking.
+ */
+public record EmployeeView(
+	Long id,
+	String firstName,
+	String lastName,
+	String email,
+	String phoneNumber,
+	LocalDate hireDate,
+	String jobId,
+	BigDecimal salary,
+	BigDecimal commissionPct,
+	Long managerId,
+	Long departmentId,
+	Long version,
+	LocalDateTime lastModified) {
+
+	/** Attribute names, in constructor order; also the fields selectable via {@code ?fields=}. */
+	public static final List<String> FIELDS = List.of(
+		"id", "firstName", "lastName", "email", "phoneNumber", "hireDate", "jobId", "salary", "commissionPct",
+		"managerId", "departmentId", "version", "lastModified");
+}
@@ -0,0 +1,18 @@
+package com.example.hello.dto;
+
+import java.util.List;
+
+/**
+ * One account to create.
+ *
+ * @param username login name, at most 45 characters
+ * @param password plain text; only its BCrypt hash is stored
+ * @param enabled whether the account can log in (default true)
+ * @param authorities role names to grant, e.g. ROLE_USER
+ */
+public record NewUser(
+	String username,
+	String password,
+	Boolean enabled,
+	List<String> authorities) {
+}
@@ -0,0 +1,25 @@
+package com.example.hello.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Read-only projection of an employee's position in the reporting hierarchy.
+ * Depth is relative to the employee the query started from (which has depth 0).
+ */
+@JsonPropertyOrder({"employeeId", "firstName", "lastName", "jobId", "managerId", "departmentId", "depth"})
+public interface OrgChartNode {
+
+	Long getEmployeeId();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getJobId();
+
+	Long getManagerId();
+
+	Long getDepartmentId();
+
+	Integer getDepth();
+}
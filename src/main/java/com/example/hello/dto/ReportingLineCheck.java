@@ -0,0 +1,7 @@
+package com.example.hello.dto;
+
+/**
+ * Answer to "does this employee report to that manager, directly or indirectly".
+ */
+public record ReportingLineCheck(Long employeeId, Long managerId, boolean reportsTo) {
+}
@@ -0,0 +1,9 @@
+package com.example.hello.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Validator for a single row: its optimistic locking version and last modification time (UTC).
+ */
+public record RowVersion(long version, LocalDateTime lastModified) {
+}
@@ -0,0 +1,35 @@
+package com.example.hello.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.hello.model.Authority;
+import com.example.hello.model.User;
+
+/**
+ * A user as shown by the administration API: never the password hash, and the
+ * authority names in alphabetical order.
+ */
+public record UserView(
+	Long id,
+	String username,
+	Boolean enabled,
+	LocalDateTime createdDate,
+	LocalDateTime updatedDate,
+	List<String> authorities) {
+
+	/** Attribute names accepted for sorting the user list. */
+	public static final List<String> SORTABLE = List.of("id", "username", "enabled", "createdDate", "updatedDate");
+
+	/**
+	 * Reads {@code user.getAuthorities()}, so the collection must already be fetched.
+	 */
+	public static UserView from(User user) {
+		List<String> authorities = user.getAuthorities().stream()
+			.map(Authority::getAuthority)
+			.sorted()
+			.toList();
+		return new UserView(user.getId(), user.getUsername(), user.getEnabled(), user.getCreatedDate(),
+			user.getUpdatedDate(), authorities);
+	}
+}
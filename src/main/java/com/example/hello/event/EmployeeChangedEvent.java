@@ -0,0 +1,54 @@
+package com.example.hello.event;
+
+import java.util.Objects;
+
+import com.example.hello.model.Employee;
+
+/**
+ * Published by {@link com.example.hello.service.EmployeeService} for every
+ * employee mutation. Listeners that maintain derived state (indexes, caches,
+ * change feeds) should use {@code @TransactionalEventListener} so they only
+ * see committed changes.
+ *
+ * @param type the kind of change
+ * @param employeeId the affected employee
+ * @param employee the employee state after the change (before it, for deletes)
+ * @param previousManagerId the manager before the change, null for creates and
+ *        for partial updates that did not load the previous state
+ * @param managerChanged whether the change can affect the reporting hierarchy
+ */
+public record EmployeeChangedEvent(ChangeType type, Long employeeId, Employee employee, Long previousManagerId,
+	boolean managerChanged) {
+
+	public enum ChangeType {
+		CREATED, UPDATED, DELETED
+	}
+
+	public static EmployeeChangedEvent created(Employee employee) {
+		return new EmployeeChangedEvent(ChangeType.CREATED, employee.getId(), employee, null, true);
+	}
+
+	public static EmployeeChangedEvent updated(Employee employee, Long previousManagerId) {
+		return new EmployeeChangedEvent(ChangeType.UPDATED, employee.getId(), employee, previousManagerId,
+			!Objects.equals(previousManagerId, employee.getManagerId()));
+	}
+
+	/**
+	 * An update applied without loading the previous state; the hierarchy is
+	 * assumed to change whenever the manager was among the updated fields.
+	 */
+	public static EmployeeChangedEvent patched(Employee employee, boolean managerUpdated) {
+		return new EmployeeChangedEvent(ChangeType.UPDATED, employee.getId(), employee, null, managerUpdated);
+	}
+
+	public static EmployeeChangedEvent deleted(Employee employee) {
+		return new EmployeeChangedEvent(ChangeType.DELETED, employee.getId(), employee, employee.getManagerId(), true);
+	}
+
+	/**
+	 * Whether the change can affect the reporting hierarchy.
+	 */
+	public boolean affectsHierarchy() {
+		return managerChanged;
+	}
+}
@@ -0,0 +1,25 @@
+package com.example.hello.event;
+
+import com.example.hello.event.EmployeeChangedEvent.ChangeType;
+
+/**
+ * Published by {@link com.example.hello.service.EmployeeService} after a
+ * set-based update or delete. The affected employees are not loaded, so
+ * listeners holding derived state should rebuild or invalidate wholesale.
+ *
+ * @param type {@link ChangeType#UPDATED} or {@link ChangeType#DELETED}
+ * @param affectedRows number of rows changed
+ * @param managerChanged whether MANAGER_ID was updated (always true for deletes)
+ * @param namesChanged whether names or emails may have changed (always true for deletes)
+ */
+public record EmployeesBulkChangedEvent(ChangeType type, int affectedRows, boolean managerChanged,
+	boolean namesChanged) {
+
+	public static EmployeesBulkChangedEvent updated(int affectedRows, boolean managerChanged) {
+		return new EmployeesBulkChangedEvent(ChangeType.UPDATED, affectedRows, managerChanged, false);
+	}
+
+	public static EmployeesBulkChangedEvent deleted(int affectedRows) {
+		return new EmployeesBulkChangedEvent(ChangeType.DELETED, affectedRows, true, true);
+	}
+}
@@ -0,0 +1,288 @@
+package com.example.hello.index;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.hello.dto.EmployeeSuggestion;
+import com.example.hello.event.EmployeeChangedEvent;
+import com.example.hello.event.EmployeesBulkChangedEvent;
+import com.example.hello.model.Employee;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Type-ahead search over employee first names, last names and emails, backed
+ * by an immutable {@link NameSearchIndex} snapshot.
+ * <p>
+ * The snapshot is loaded from EMPLOYEES at startup. Committed changes are
+ * applied immediately to a small overlay keyed by employee ID (the new values,
+ * or a tombstone for deletes) that shadows the snapshot; once the overlay grows
+ * past {@code search.autocomplete.max-overlay} entries the snapshot is rebuilt
+ * in the background and the overlay entries it has absorbed are dropped.
+ * <p>
+ * Every query scans the whole overlay, so it is kept to a few hundred entries:
+ * a rebuild costs one table scan in the background, while a large overlay adds
+ * to the latency of every keystroke.
+ */
+@Component
+public class EmployeeNameIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+	private static final int FETCH_SIZE = 5000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Timer searchTimer;
+	private final Timer rebuildTimer;
+	private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "employee-name-index");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean rebuildPending = new AtomicBoolean();
+	private final AtomicLong rebuilds = new AtomicLong();
+	private final AtomicLong changeSequence = new AtomicLong();
+	private final Map<Long, OverlayEntry> overlay = new ConcurrentHashMap<>();
+
+	@Value("${search.autocomplete.max-overlay:500}")
+	private int maxOverlay;
+
+	@Value("${search.autocomplete.max-candidates:20000}")
+	private int maxCandidates;
+
+	private volatile NameSearchIndex index;
+	private volatile long lastRebuildNanos;
+	private volatile Instant lastRebuiltAt;
+
+	public EmployeeNameIndex(DataSource dataSource, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+		this.searchTimer = Timer.builder("name.index.search")
+			.description("Time to answer a type-ahead query from the in-memory name index")
+			.publishPercentiles(0.5, 0.99)
+			.register(meterRegistry);
+		this.rebuildTimer = Timer.builder("name.index.rebuild")
+			.description("Time to rebuild the in-memory name index")
+			.register(meterRegistry);
+		Gauge.builder("name.index.memory", this, idx -> idx.index == null ? 0 : idx.index.memoryBytes())
+			.description("Approximate heap used by the in-memory name index")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		Gauge.builder("name.index.overlay", overlay, Map::size)
+			.description("Changes applied on top of the name index snapshot")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Employees where every word of the query prefixes a word of their first name,
+	 * last name or email (or the whole email), case-insensitively.
+	 */
+	public List<EmployeeSuggestion> suggest(String query, int limit) {
+		String[] tokens = NameSearchIndex.queryTokens(query);
+		if (tokens.length == 0 || limit <= 0) {
+			return List.of();
+		}
+		long start = System.nanoTime();
+		List<EmployeeSuggestion> suggestions = new ArrayList<>(limit);
+
+		// Overlay entries are the newest state, so they win over the snapshot. The overlay is
+		// unindexed and kept small (max-overlay); hits are ordered by ID to be repeatable
+		List<OverlayEntry> overlayHits = new ArrayList<>();
+		for (OverlayEntry entry : overlay.values()) {
+			if (!entry.deleted()
+				&& NameSearchIndex.matchesAll(tokens, -1, entry.firstName(), entry.lastName(), entry.email())) {
+				overlayHits.add(entry);
+			}
+		}
+		overlayHits.sort(Comparator.comparing(OverlayEntry::id));
+		for (OverlayEntry entry : overlayHits.subList(0, Math.min(limit, overlayHits.size()))) {
+			suggestions.add(new EmployeeSuggestion(entry.id(), entry.firstName(), entry.lastName(), entry.email()));
+		}
+		NameSearchIndex snapshot = index();
+		snapshot.search(tokens, limit - suggestions.size(), maxCandidates, overlay::containsKey,
+			doc -> suggestions.add(new EmployeeSuggestion(snapshot.idAt(doc), snapshot.firstNameAt(doc),
+				snapshot.lastNameAt(doc), snapshot.emailAt(doc))));
+
+		searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		return suggestions;
+	}
+
+	/**
+	 * The current snapshot, built synchronously on first use if startup has not built it yet.
+	 */
+	public NameSearchIndex index() {
+		NameSearchIndex current = index;
+		if (current == null) {
+			synchronized (this) {
+				current = index;
+				if (current == null) {
+					current = rebuild();
+				}
+			}
+		}
+		return current;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildOnStartup() {
+		index();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		Employee employee = event.employee();
+		long sequence = changeSequence.incrementAndGet();
+		overlay.put(event.employeeId(), event.type() == EmployeeChangedEvent.ChangeType.DELETED
+			? new OverlayEntry(event.employeeId(), null, null, null, true, sequence)
+			: new OverlayEntry(event.employeeId(), employee.getFirstName(), employee.getLastName(),
+				employee.getEmail(), false, sequence));
+		if (overlay.size() > maxOverlay) {
+			requestRebuild();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+		if (event.namesChanged()) {
+			requestRebuild();
+		}
+	}
+
+	/**
+	 * Schedule a background rebuild; requests arriving while one is pending are coalesced.
+	 */
+	public void requestRebuild() {
+		if (rebuildPending.compareAndSet(false, true)) {
+			rebuildExecutor.execute(() -> {
+				rebuildPending.set(false);
+				try {
+					rebuild();
+				} catch (RuntimeException e) {
+					logger.error("Name index rebuild failed, keeping previous snapshot: {}", e.getMessage(), e);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Load all names and emails into a new snapshot and drop the overlay entries it now contains.
+	 */
+	public synchronized NameSearchIndex rebuild() {
+		long start = System.nanoTime();
+		// Changes committed before the scan starts are visible to it; later ones stay in the overlay
+		long absorbedSequence = changeSequence.get();
+		Loader loader = new Loader();
+		jdbcTemplate.query("SELECT EMPLOYEE_ID, FIRST_NAME, LAST_NAME, EMAIL FROM EMPLOYEES", loader);
+		NameSearchIndex rebuilt = NameSearchIndex.build(loader.ids, loader.firstNames, loader.lastNames,
+			loader.emails, loader.count);
+		long elapsed = System.nanoTime() - start;
+
+		index = rebuilt;
+		overlay.values().removeIf(entry -> entry.sequence() <= absorbedSequence);
+		lastRebuildNanos = elapsed;
+		lastRebuiltAt = Instant.now();
+		rebuilds.incrementAndGet();
+		rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+		logger.info("Name index rebuilt: {} employees, {} terms, {} postings, {} KB in {}ms",
+			rebuilt.documentCount(), rebuilt.termCount(), rebuilt.postingCount(), rebuilt.memoryBytes() / 1024,
+			elapsed / 1_000_000);
+		return rebuilt;
+	}
+
+	public Stats stats() {
+		NameSearchIndex current = index;
+		return new Stats(
+			current == null ? 0 : current.documentCount(),
+			current == null ? 0 : current.termCount(),
+			current == null ? 0 : current.postingCount(),
+			current == null ? 0 : current.memoryBytes(),
+			overlay.size(),
+			searchTimer.count(),
+			searchTimer.mean(TimeUnit.MILLISECONDS),
+			searchTimer.max(TimeUnit.MILLISECONDS),
+			lastRebuildNanos / 1_000_000.0,
+			lastRebuiltAt,
+			rebuilds.get(),
+			rebuildPending.get());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		rebuildExecutor.shutdownNow();
+	}
+
+	private record OverlayEntry(Long id, String firstName, String lastName, String email, boolean deleted,
+		long sequence) {
+	}
+
+	/**
+	 * Accumulates rows into growable parallel arrays.
+	 */
+	private static final class Loader implements RowCallbackHandler {
+		private long[] ids = new long[1024];
+		private String[] firstNames = new String[1024];
+		private String[] lastNames = new String[1024];
+		private String[] emails = new String[1024];
+		private int count;
+
+		@Override
+		public void processRow(ResultSet resultSet) throws SQLException {
+			if (count == ids.length) {
+				ids = Arrays.copyOf(ids, count * 2);
+				firstNames = Arrays.copyOf(firstNames, count * 2);
+				lastNames = Arrays.copyOf(lastNames, count * 2);
+				emails = Arrays.copyOf(emails, count * 2);
+			}
+			ids[count] = resultSet.getLong(1);
+			firstNames[count] = resultSet.getString(2);
+			lastNames[count] = resultSet.getString(3);
+			emails[count] = resultSet.getString(4);
+			count++;
+		}
+	}
+
+	/**
+	 * Index size, query latency and rebuild statistics.
+	 */
+	public record Stats(
+		int employees,
+		int terms,
+		int postings,
+		long memoryBytes,
+		int overlayEntries,
+		long searches,
+		double meanSearchMillis,
+		double maxSearchMillis,
+		double lastRebuildMillis,
+		Instant lastRebuiltAt,
+		long rebuilds,
+		boolean rebuildPending) {
+	}
+}
@@ -0,0 +1,357 @@
+package com.example.hello.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable prefix index over employee first names, last names and emails.
+ * <p>
+ * Every document contributes lower-cased terms: each name token, the full
+ * email address and the email's dot/at-separated parts. Terms are stored in
+ * one sorted array with postings (document ordinals) in compressed sparse row
+ * form, so the documents matching a prefix are found with two binary searches
+ * and the size of that candidate set is known in O(1). Multi-word queries are
+ * driven by the most selective word; the other words are checked against a
+ * forward index of each document's term positions with integer comparisons.
+ * <p>
+ * Memory budget: roughly 350-400 bytes per employee with typical name and
+ * email lengths, i.e. about 360 MB for 1M employees. Every email is unique, so
+ * the stored fields plus the per-email terms dominate; postings and the forward
+ * index add about 50 bytes per employee. {@link #memoryBytes()} reports the
+ * estimate for the current snapshot.
+ */
+public final class NameSearchIndex {
+
+	private final long[] ids;
+	private final String[] firstNames;
+	private final String[] lastNames;
+	private final String[] emails;
+	private final String[] terms;
+	private final int[] termStart;
+	private final int[] postings;
+	private final int[] docTermStart;
+	private final int[] docTerms;
+	private final long memoryBytes;
+
+	private NameSearchIndex(long[] ids, String[] firstNames, String[] lastNames, String[] emails, String[] terms,
+		int[] termStart, int[] postings, int[] docTermStart, int[] docTerms) {
+		this.ids = ids;
+		this.firstNames = firstNames;
+		this.lastNames = lastNames;
+		this.emails = emails;
+		this.terms = terms;
+		this.termStart = termStart;
+		this.postings = postings;
+		this.docTermStart = docTermStart;
+		this.docTerms = docTerms;
+		this.memoryBytes = estimateMemory();
+	}
+
+	/**
+	 * Build an index over the first {@code count} entries of the given arrays.
+	 */
+	public static NameSearchIndex build(long[] ids, String[] firstNames, String[] lastNames, String[] emails,
+		int count) {
+		// Assign each distinct term a provisional number and record (term, document) pairs
+		Map<String, Integer> termNumbers = new HashMap<>();
+		List<String> distinctTerms = new ArrayList<>();
+		int[] pairTerm = new int[Math.max(16, count * 4)];
+		int[] pairDoc = new int[pairTerm.length];
+		int pairs = 0;
+		int[] docTermStart = new int[count + 1];
+		Set<String> docTerms = new HashSet<>();
+		for (int doc = 0; doc < count; doc++) {
+			docTermStart[doc] = pairs;
+			docTerms.clear();
+			addTerms(docTerms, firstNames[doc]);
+			addTerms(docTerms, lastNames[doc]);
+			addEmailTerms(docTerms, emails[doc]);
+			for (String term : docTerms) {
+				Integer number = termNumbers.get(term);
+				if (number == null) {
+					number = distinctTerms.size();
+					termNumbers.put(term, number);
+					distinctTerms.add(term);
+				}
+				if (pairs == pairTerm.length) {
+					pairTerm = Arrays.copyOf(pairTerm, pairs * 2);
+					pairDoc = Arrays.copyOf(pairDoc, pairs * 2);
+				}
+				pairTerm[pairs] = number;
+				pairDoc[pairs] = doc;
+				pairs++;
+			}
+		}
+		docTermStart[count] = pairs;
+
+		// Sort the distinct terms, then bucket the pairs by sorted term position. Pairs were
+		// produced in document order, so every postings list comes out ascending.
+		String[] terms = distinctTerms.toArray(new String[0]);
+		Arrays.sort(terms);
+		int[] rank = new int[terms.length];
+		for (int position = 0; position < terms.length; position++) {
+			rank[termNumbers.get(terms[position])] = position;
+		}
+		int[] termStart = new int[terms.length + 1];
+		for (int i = 0; i < pairs; i++) {
+			termStart[rank[pairTerm[i]] + 1]++;
+		}
+		for (int position = 0; position < terms.length; position++) {
+			termStart[position + 1] += termStart[position];
+		}
+		// Postings map term positions to documents; the forward index maps documents back to term positions
+		int[] postings = new int[pairs];
+		int[] fill = Arrays.copyOf(termStart, terms.length);
+		for (int i = 0; i < pairs; i++) {
+			int position = rank[pairTerm[i]];
+			postings[fill[position]++] = pairDoc[i];
+			pairTerm[i] = position;
+		}
+
+		return new NameSearchIndex(
+			Arrays.copyOf(ids, count),
+			Arrays.copyOf(firstNames, count),
+			Arrays.copyOf(lastNames, count),
+			Arrays.copyOf(emails, count),
+			terms,
+			termStart,
+			postings,
+			docTermStart,
+			Arrays.copyOf(pairTerm, pairs));
+	}
+
+	/**
+	 * Normalize a query into lower-cased, whitespace-separated prefixes.
+	 */
+	public static String[] queryTokens(String query) {
+		if (query == null || query.isBlank()) {
+			return new String[0];
+		}
+		return query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+	}
+
+	/**
+	 * Find documents where every query token is a prefix of one of the document's terms.
+	 *
+	 * @param tokens normalized query tokens, see {@link #queryTokens(String)}
+	 * @param limit maximum number of matches to return
+	 * @param maxCandidates maximum number of candidate documents to examine
+	 * @param skip employee IDs to ignore (e.g. superseded by newer versions)
+	 * @param consumer receives the ordinal of each match
+	 */
+	public void search(String[] tokens, int limit, int maxCandidates, LongPredicate skip, MatchConsumer consumer) {
+		if (tokens.length == 0 || limit <= 0) {
+			return;
+		}
+		// Each token matches a contiguous range of sorted term positions
+		int[] rangeFrom = new int[tokens.length];
+		int[] rangeTo = new int[tokens.length];
+		int driver = 0;
+		int smallest = Integer.MAX_VALUE;
+		for (int t = 0; t < tokens.length; t++) {
+			rangeFrom[t] = lowerBound(tokens[t]);
+			rangeTo[t] = lowerBound(tokens[t] + Character.MAX_VALUE);
+			int candidates = termStart[rangeTo[t]] - termStart[rangeFrom[t]];
+			if (candidates == 0) {
+				return;
+			}
+			if (candidates < smallest) {
+				smallest = candidates;
+				driver = t;
+			}
+		}
+
+		// The same document can appear under several matching terms (e.g. "john" and "john.doe@..."),
+		// so remember examined ordinals in an open-addressing table sized for the candidate budget
+		int budget = Math.min(smallest, maxCandidates);
+		int[] seen = new int[Integer.highestOneBit(Math.max(1, budget) * 2) << 1];
+		int mask = seen.length - 1;
+		int found = 0;
+		int examined = 0;
+		int end = termStart[rangeTo[driver]];
+		for (int p = termStart[rangeFrom[driver]]; p < end && found < limit && examined < maxCandidates; p++) {
+			int doc = postings[p];
+			if (!markSeen(seen, mask, doc)) {
+				continue;
+			}
+			examined++;
+			if (skip.test(ids[doc]) || !hasAllRanges(doc, rangeFrom, rangeTo, driver)) {
+				continue;
+			}
+			consumer.accept(doc);
+			found++;
+		}
+	}
+
+	/**
+	 * Whether the document has a term in every token's range except the driver's, using the forward index.
+	 */
+	private boolean hasAllRanges(int doc, int[] rangeFrom, int[] rangeTo, int driver) {
+		int from = docTermStart[doc];
+		int to = docTermStart[doc + 1];
+		for (int t = 0; t < rangeFrom.length; t++) {
+			if (t == driver) {
+				continue;
+			}
+			boolean matched = false;
+			for (int i = from; i < to && !matched; i++) {
+				matched = docTerms[i] >= rangeFrom[t] && docTerms[i] < rangeTo[t];
+			}
+			if (!matched) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Add {@code doc} to the table (slots hold ordinal + 1, zero is empty); false if already present.
+	 */
+	private static boolean markSeen(int[] table, int mask, int doc) {
+		int slot = (doc * 0x9E3779B1) & mask;
+		while (table[slot] != 0) {
+			if (table[slot] == doc + 1) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = doc + 1;
+		return true;
+	}
+
+	/**
+	 * Whether every query token (except {@code skipToken}, -1 for none) prefixes a term of the given fields.
+	 */
+	public static boolean matchesAll(String[] tokens, int skipToken, String firstName, String lastName, String email) {
+		for (int t = 0; t < tokens.length; t++) {
+			if (t == skipToken) {
+				continue;
+			}
+			String token = tokens[t];
+			if (!hasTermWithPrefix(firstName, token) && !hasTermWithPrefix(lastName, token)
+				&& !hasEmailTermWithPrefix(email, token)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public long idAt(int doc) {
+		return ids[doc];
+	}
+
+	public String firstNameAt(int doc) {
+		return firstNames[doc];
+	}
+
+	public String lastNameAt(int doc) {
+		return lastNames[doc];
+	}
+
+	public String emailAt(int doc) {
+		return emails[doc];
+	}
+
+	public int documentCount() {
+		return ids.length;
+	}
+
+	public int termCount() {
+		return terms.length;
+	}
+
+	public int postingCount() {
+		return postings.length;
+	}
+
+	public long memoryBytes() {
+		return memoryBytes;
+	}
+
+	private int lowerBound(String key) {
+		int low = 0;
+		int high = terms.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (terms[mid].compareTo(key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private long estimateMemory() {
+		// Compact (Latin-1) strings: ~40 bytes of header and array overhead plus one byte per char
+		long bytes = (long) ids.length * Long.BYTES
+			+ (long) (termStart.length + postings.length + docTermStart.length + docTerms.length) * Integer.BYTES
+			+ (long) (firstNames.length + lastNames.length + emails.length + terms.length) * 4;
+		for (String[] strings : new String[][] {firstNames, lastNames, emails, terms}) {
+			for (String value : strings) {
+				bytes += value == null ? 0 : 40 + value.length();
+			}
+		}
+		return bytes;
+	}
+
+	private static void addTerms(Set<String> terms, String value) {
+		if (value == null) {
+			return;
+		}
+		for (String token : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+			if (!token.isEmpty()) {
+				terms.add(token);
+			}
+		}
+	}
+
+	private static void addEmailTerms(Set<String> terms, String email) {
+		if (email == null || email.isBlank()) {
+			return;
+		}
+		terms.add(email.trim().toLowerCase(Locale.ROOT));
+		addTerms(terms, email);
+	}
+
+	private static boolean hasEmailTermWithPrefix(String email, String token) {
+		if (email == null) {
+			return false;
+		}
+		String trimmed = email.trim();
+		return trimmed.regionMatches(true, 0, token, 0, token.length()) || hasTermWithPrefix(trimmed, token);
+	}
+
+	/**
+	 * Case-insensitive check whether a token boundary in {@code value} starts with {@code prefix}, without allocating.
+	 */
+	private static boolean hasTermWithPrefix(String value, String prefix) {
+		if (value == null || value.length() < prefix.length()) {
+			return false;
+		}
+		int last = value.length() - prefix.length();
+		for (int i = 0; i <= last; i++) {
+			boolean boundary = i == 0 || !Character.isLetterOrDigit(value.charAt(i - 1));
+			if (boundary && Character.isLetterOrDigit(value.charAt(i))
+				&& value.regionMatches(true, i, prefix, 0, prefix.length())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Receives the ordinal of a matching document.
+	 */
+	@FunctionalInterface
+	public interface MatchConsumer {
+		void accept(int doc);
+	}
+}
@@ -0,0 +1,265 @@
+package com.example.hello.index;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, array-based snapshot of the reporting hierarchy.
+ * <p>
+ * Employees are addressed by their position in a sorted {@code long[]} of IDs,
+ * so no boxed keys or per-node objects are allocated. Each node carries its
+ * pre-order (Euler tour entry) position and subtree size, which makes every
+ * subtree a contiguous slice of the pre-order array and turns "does A manage B"
+ * into two integer comparisons.
+ * <p>
+ * Employees whose manager does not exist are treated as roots. Reporting
+ * cycles (bad data) are broken by detaching one member of each cycle.
+ */
+public final class OrgTree {
+
+	/** Marker for "no manager" in the input arrays. */
+	public static final long NO_MANAGER = Long.MIN_VALUE;
+
+	private static final long[] NO_IDS = new long[0];
+
+	private final long[] ids;
+	private final int[] parent;
+	private final int[] enter;
+	private final int[] size;
+	private final int[] depth;
+	private final int[] preorder;
+	private final int[] childStart;
+	private final int[] children;
+	private final int roots;
+	private final int maxDepth;
+	private final int detachedCycles;
+
+	private OrgTree(long[] ids, int[] parent, int[] enter, int[] size, int[] depth, int[] preorder,
+		int[] childStart, int[] children, int roots, int maxDepth, int detachedCycles) {
+		this.ids = ids;
+		this.parent = parent;
+		this.enter = enter;
+		this.size = size;
+		this.depth = depth;
+		this.preorder = preorder;
+		this.childStart = childStart;
+		this.children = children;
+		this.roots = roots;
+		this.maxDepth = maxDepth;
+		this.detachedCycles = detachedCycles;
+	}
+
+	/**
+	 * Build a tree from parallel arrays of employee and manager IDs. Only the
+	 * first {@code count} entries are used; {@link #NO_MANAGER} marks a root.
+	 */
+	public static OrgTree build(long[] employeeIds, long[] managerIds, int count) {
+		long[] ids = Arrays.copyOf(employeeIds, count);
+		Arrays.sort(ids);
+
+		int[] parent = new int[count];
+		for (int i = 0; i < count; i++) {
+			int node = Arrays.binarySearch(ids, employeeIds[i]);
+			long managerId = managerIds[i];
+			int manager = managerId == NO_MANAGER ? -1 : Arrays.binarySearch(ids, managerId);
+			parent[node] = manager < 0 || manager == node ? -1 : manager;
+		}
+
+		// Children in compressed sparse row form, in ascending ID order
+		int[] childStart = new int[count + 1];
+		for (int node = 0; node < count; node++) {
+			if (parent[node] >= 0) {
+				childStart[parent[node] + 1]++;
+			}
+		}
+		for (int node = 0; node < count; node++) {
+			childStart[node + 1] += childStart[node];
+		}
+		int[] children = new int[childStart[count]];
+		int[] fill = Arrays.copyOf(childStart, count);
+		for (int node = 0; node < count; node++) {
+			if (parent[node] >= 0) {
+				children[fill[parent[node]]++] = node;
+			}
+		}
+
+		int[] enter = new int[count];
+		Arrays.fill(enter, -1);
+		int[] depth = new int[count];
+		int[] preorder = new int[count];
+		int[] stack = new int[Math.max(1, count)];
+		int visited = 0;
+		int roots = 0;
+		int detachedCycles = 0;
+
+		int[] walkMark = null;
+		for (int pass = 0; pass < 2; pass++) {
+			for (int candidate = 0; candidate < count; candidate++) {
+				if (enter[candidate] >= 0) {
+					continue;
+				}
+				int start = candidate;
+				if (parent[start] >= 0) {
+					if (pass == 0) {
+						continue;
+					}
+					// Still unvisited after walking all real roots, so its reporting line
+					// ends in a cycle: walk up until a node repeats and detach that node
+					if (walkMark == null) {
+						walkMark = new int[count];
+					}
+					while (walkMark[start] != candidate + 1) {
+						walkMark[start] = candidate + 1;
+						start = parent[start];
+					}
+					parent[start] = -1;
+					detachedCycles++;
+				}
+				roots++;
+				int top = 0;
+				stack[top++] = start;
+				depth[start] = 0;
+				while (top > 0) {
+					int node = stack[--top];
+					enter[node] = visited;
+					preorder[visited++] = node;
+					// Push in reverse so children are visited in ascending ID order
+					for (int c = childStart[node + 1] - 1; c >= childStart[node]; c--) {
+						int child = children[c];
+						if (enter[child] < 0) {
+							depth[child] = depth[node] + 1;
+							stack[top++] = child;
+						}
+					}
+				}
+			}
+		}
+
+		int[] size = new int[count];
+		int maxDepth = 0;
+		for (int position = count - 1; position >= 0; position--) {
+			int node = preorder[position];
+			size[node]++;
+			if (parent[node] >= 0) {
+				size[parent[node]] += size[node];
+			}
+			maxDepth = Math.max(maxDepth, depth[node]);
+		}
+
+		return new OrgTree(ids, parent, enter, size, depth, preorder, childStart, children, roots, maxDepth,
+			detachedCycles);
+	}
+
+	public boolean contains(long employeeId) {
+		return indexOf(employeeId) >= 0;
+	}
+
+	/**
+	 * Whether {@code employeeId} reports to {@code managerId}, directly or indirectly.
+	 */
+	public boolean reportsTo(long employeeId, long managerId) {
+		int employee = indexOf(employeeId);
+		int manager = indexOf(managerId);
+		if (employee < 0 || manager < 0 || employee == manager) {
+			return false;
+		}
+		return enter[manager] < enter[employee] && enter[employee] < enter[manager] + size[manager];
+	}
+
+	/**
+	 * Everyone below the employee, in pre-order; null if the employee is unknown.
+	 */
+	public long[] subordinateIds(long employeeId) {
+		int node = indexOf(employeeId);
+		if (node < 0) {
+			return null;
+		}
+		int from = enter[node] + 1;
+		int to = enter[node] + size[node];
+		long[] result = new long[to - from];
+		for (int position = from; position < to; position++) {
+			result[position - from] = ids[preorder[position]];
+		}
+		return result;
+	}
+
+	/**
+	 * Direct reports in ascending ID order; null if the employee is unknown.
+	 */
+	public long[] directReportIds(long employeeId) {
+		int node = indexOf(employeeId);
+		if (node < 0) {
+			return null;
+		}
+		int from = childStart[node];
+		int to = childStart[node + 1];
+		if (from == to) {
+			return NO_IDS;
+		}
+		long[] result = new long[to - from];
+		for (int c = from; c < to; c++) {
+			result[c - from] = ids[children[c]];
+		}
+		return result;
+	}
+
+	/**
+	 * Managers from the direct manager up to the root; null if the employee is unknown.
+	 */
+	public long[] managementChainIds(long employeeId) {
+		int node = indexOf(employeeId);
+		if (node < 0) {
+			return null;
+		}
+		long[] result = new long[depth[node]];
+		int current = parent[node];
+		for (int i = 0; current >= 0; i++) {
+			result[i] = ids[current];
+			current = parent[current];
+		}
+		return result;
+	}
+
+	/**
+	 * Number of employees below the given one, or -1 if unknown.
+	 */
+	public int subordinateCount(long employeeId) {
+		int node = indexOf(employeeId);
+		return node < 0 ? -1 : size[node] - 1;
+	}
+
+	public int depthOf(long employeeId) {
+		int node = indexOf(employeeId);
+		return node < 0 ? -1 : depth[node];
+	}
+
+	public int employeeCount() {
+		return ids.length;
+	}
+
+	public int rootCount() {
+		return roots;
+	}
+
+	public int maxDepth() {
+		return maxDepth;
+	}
+
+	public int detachedCycles() {
+		return detachedCycles;
+	}
+
+	/**
+	 * Approximate heap footprint of the arrays backing this tree.
+	 */
+	public long memoryBytes() {
+		long intArrays = (long) parent.length + enter.length + size.length + depth.length + preorder.length
+			+ childStart.length + children.length;
+		long arrayHeaders = 8L * 16;
+		return (long) ids.length * Long.BYTES + intArrays * Integer.BYTES + arrayHeaders;
+	}
+
+	private int indexOf(long employeeId) {
+		int node = Arrays.binarySearch(ids, employeeId);
+		return node < 0 ? -1 : node;
+	}
+}
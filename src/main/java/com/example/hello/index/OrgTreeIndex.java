@@ -0,0 +1,207 @@
+package com.example.hello.index;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.hello.event.EmployeeChangedEvent;
+import com.example.hello.event.EmployeesBulkChangedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps an in-memory {@link OrgTree} of the reporting hierarchy for
+ * sub-millisecond subtree and "reports to" checks.
+ * <p>
+ * The tree is built from EMPLOYEES.MANAGER_ID at startup and rebuilt in the
+ * background after committed changes that affect the hierarchy (creates,
+ * deletes and manager changes). Bursts of changes are coalesced into a single
+ * rebuild; readers keep using the previous snapshot until the new one is ready.
+ */
+@Component
+public class OrgTreeIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrgTreeIndex.class);
+	private static final int FETCH_SIZE = 5000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Timer rebuildTimer;
+	private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "org-tree-index");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean rebuildPending = new AtomicBoolean();
+	private final AtomicLong rebuilds = new AtomicLong();
+
+	private volatile OrgTree tree;
+	private volatile long lastRebuildNanos;
+	private volatile Instant lastRebuiltAt;
+
+	public OrgTreeIndex(DataSource dataSource, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+		this.rebuildTimer = Timer.builder("org.index.rebuild")
+			.description("Time to rebuild the in-memory org tree")
+			.register(meterRegistry);
+		Gauge.builder("org.index.memory", this, index -> index.tree == null ? 0 : index.tree.memoryBytes())
+			.description("Approximate heap used by the in-memory org tree")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		Gauge.builder("org.index.employees", this, index -> index.tree == null ? 0 : index.tree.employeeCount())
+			.description("Employees in the in-memory org tree")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * The current snapshot, built synchronously on first use if startup has not built it yet.
+	 */
+	public OrgTree tree() {
+		OrgTree current = tree;
+		if (current == null) {
+			synchronized (this) {
+				current = tree;
+				if (current == null) {
+					current = rebuild();
+				}
+			}
+		}
+		return current;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildOnStartup() {
+		tree();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (event.affectsHierarchy()) {
+			requestRebuild();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+		if (event.managerChanged()) {
+			requestRebuild();
+		}
+	}
+
+	/**
+	 * Schedule a background rebuild; requests arriving while one is pending are coalesced.
+	 */
+	public void requestRebuild() {
+		if (rebuildPending.compareAndSet(false, true)) {
+			rebuildExecutor.execute(() -> {
+				rebuildPending.set(false);
+				try {
+					rebuild();
+				} catch (RuntimeException e) {
+					logger.error("Org tree rebuild failed, keeping previous snapshot: {}", e.getMessage(), e);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Load all (employee, manager) pairs into primitive arrays and build a new snapshot.
+	 */
+	public synchronized OrgTree rebuild() {
+		long start = System.nanoTime();
+		Loader loader = new Loader();
+		jdbcTemplate.query("SELECT EMPLOYEE_ID, MANAGER_ID FROM EMPLOYEES", loader);
+		OrgTree rebuilt = OrgTree.build(loader.employeeIds, loader.managerIds, loader.count);
+		long elapsed = System.nanoTime() - start;
+
+		tree = rebuilt;
+		lastRebuildNanos = elapsed;
+		lastRebuiltAt = Instant.now();
+		rebuilds.incrementAndGet();
+		rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+		if (rebuilt.detachedCycles() > 0) {
+			logger.warn("Org tree contains {} reporting cycle(s); affected employees were treated as roots",
+				rebuilt.detachedCycles());
+		}
+		logger.info("Org tree rebuilt: {} employees, {} roots, max depth {}, {} KB in {}ms",
+			rebuilt.employeeCount(), rebuilt.rootCount(), rebuilt.maxDepth(), rebuilt.memoryBytes() / 1024,
+			elapsed / 1_000_000);
+		return rebuilt;
+	}
+
+	public Stats stats() {
+		OrgTree current = tree;
+		return new Stats(
+			current == null ? 0 : current.employeeCount(),
+			current == null ? 0 : current.rootCount(),
+			current == null ? 0 : current.maxDepth(),
+			current == null ? 0 : current.detachedCycles(),
+			current == null ? 0 : current.memoryBytes(),
+			lastRebuildNanos / 1_000_000.0,
+			lastRebuiltAt,
+			rebuilds.get(),
+			rebuildPending.get());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		rebuildExecutor.shutdownNow();
+	}
+
+	/**
+	 * Accumulates rows into growable primitive arrays (no boxing per row).
+	 */
+	private static final class Loader implements RowCallbackHandler {
+		private long[] employeeIds = new long[1024];
+		private long[] managerIds = new long[1024];
+		private int count;
+
+		@Override
+		public void processRow(ResultSet resultSet) throws SQLException {
+			if (count == employeeIds.length) {
+				employeeIds = Arrays.copyOf(employeeIds, count * 2);
+				managerIds = Arrays.copyOf(managerIds, count * 2);
+			}
+			employeeIds[count] = resultSet.getLong(1);
+			long managerId = resultSet.getLong(2);
+			managerIds[count] = resultSet.wasNull() ? OrgTree.NO_MANAGER : managerId;
+			count++;
+		}
+	}
+
+	/**
+	 * Index size and rebuild statistics.
+	 */
+	public record Stats(
+		int employees,
+		int roots,
+		int maxDepth,
+		int detachedCycles,
+		long memoryBytes,
+		double lastRebuildMillis,
+		Instant lastRebuiltAt,
+		long rebuilds,
+		boolean rebuildPending) {
+	}
+}
@@ -0,0 +1,58 @@
+package com.example.hello.jdbc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Derives a default Hikari pool size from the number of available cores.
+ * Registered in {@code META-INF/spring.factories}.
+ * <p>
+ * The size is added as {@code spring.datasource.hikari.maximum-pool-size} in a
+ * property source of lowest precedence, so an explicit setting from any other
+ * source wins, and it only reaches the pool Spring Boot binds from
+ * {@code spring.datasource.hikari.*}. Pools built in code keep their own settings.
+ * <p>
+ * The pool is sized as {@code cores * connections-per-core + 1} (bounded by
+ * min/max) and kept at a fixed size: connection churn costs far more on Oracle
+ * than idle connections do.
+ */
+public class ConnectionPoolSizingPostProcessor implements EnvironmentPostProcessor {
+
+	static final String PROPERTY_SOURCE_NAME = "connectionPoolSizing";
+	private static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+	private static final String MINIMUM_IDLE = "spring.datasource.hikari.minimum-idle";
+
+	private final Log logger;
+
+	public ConnectionPoolSizingPostProcessor(DeferredLogFactory logFactory) {
+		this.logger = logFactory.getLog(ConnectionPoolSizingPostProcessor.class);
+	}
+
+	@Override
+	public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+		Map<String, Object> defaults = new LinkedHashMap<>();
+		int cores = Runtime.getRuntime().availableProcessors();
+		if (!environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+			int perCore = environment.getProperty("jdbc.pool.connections-per-core", Integer.class, 2);
+			int min = environment.getProperty("jdbc.pool.min-size", Integer.class, 4);
+			int max = environment.getProperty("jdbc.pool.max-size", Integer.class, 64);
+			int size = Math.max(min, Math.min(max, cores * perCore + 1));
+			defaults.put(MAXIMUM_POOL_SIZE, size);
+			logger.info("Connection pool sized to " + size + " connections for " + cores + " cores");
+		}
+		if (!environment.containsProperty(MINIMUM_IDLE)) {
+			// Fixed size, also when only the maximum was set explicitly
+			defaults.put(MINIMUM_IDLE, "${" + MAXIMUM_POOL_SIZE + "}");
+		}
+		if (!defaults.isEmpty()) {
+			environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, defaults));
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.example.hello.jdbc;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL text so that statements differing only in literal values,
+ * IN-list length or whitespace are aggregated under the same key.
+ */
+public final class SqlNormalizer {
+
+	private static final int MAX_LENGTH = 2000;
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.$:])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+	private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private SqlNormalizer() {
+	}
+
+	public static String normalize(String sql) {
+		if (sql == null) {
+			return "";
+		}
+		String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+		normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+		normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+		normalized = IN_LIST.matcher(normalized).replaceAll("in (?)");
+		if (normalized.length() > MAX_LENGTH) {
+			normalized = normalized.substring(0, MAX_LENGTH) + "...";
+		}
+		return normalized;
+	}
+}
@@ -0,0 +1,122 @@
+package com.example.hello.jdbc;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free execution statistics for one normalized SQL statement.
+ * Latencies are kept in a power-of-two microsecond histogram, so percentiles
+ * are upper-bound estimates with at most 2x error and constant memory.
+ */
+public class SqlStatementStats {
+
+	private static final int BUCKETS = 40;
+
+	private final String sql;
+	private final LongAdder executions = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder rowsFetched = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+	private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+	private final AtomicLong lastExecutedAt = new AtomicLong();
+
+	public SqlStatementStats(String sql) {
+		this.sql = sql;
+	}
+
+	public void recordExecution(long nanos, boolean failed) {
+		executions.increment();
+		if (failed) {
+			errors.increment();
+		}
+		totalNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+		histogram.incrementAndGet(bucketOf(nanos));
+		lastExecutedAt.set(System.currentTimeMillis());
+	}
+
+	public void recordRows(long rows) {
+		rowsFetched.add(rows);
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public long getExecutions() {
+		return executions.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	public Snapshot snapshot() {
+		long count = executions.sum();
+		long total = totalNanos.sum();
+		return new Snapshot(
+			sql,
+			count,
+			errors.sum(),
+			rowsFetched.sum(),
+			toMillis(total),
+			count == 0 ? 0 : toMillis(total / count),
+			toMillis(maxNanos.get()),
+			percentileMillis(0.50),
+			percentileMillis(0.95),
+			percentileMillis(0.99),
+			lastExecutedAt.get());
+	}
+
+	private double percentileMillis(double percentile) {
+		long total = 0;
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = histogram.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percentile * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				// Upper bound of bucket i is 2^i microseconds, never more than the observed max
+				return Math.min((1L << i) / 1000.0, toMillis(maxNanos.get()));
+			}
+		}
+		return toMillis(maxNanos.get());
+	}
+
+	private static int bucketOf(long nanos) {
+		long micros = Math.max(1, nanos / 1000);
+		int bucket = 64 - Long.numberOfLeadingZeros(micros - 1);
+		return Math.min(bucket, BUCKETS - 1);
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	/**
+	 * Immutable view of the statistics, as exposed by the admin endpoint.
+	 */
+	public record Snapshot(
+		String sql,
+		long executions,
+		long errors,
+		long rowsFetched,
+		double totalMillis,
+		double meanMillis,
+		double maxMillis,
+		double p50Millis,
+		double p95Millis,
+		double p99Millis,
+		long lastExecutedAt) {
+	}
+}
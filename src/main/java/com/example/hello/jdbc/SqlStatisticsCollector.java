@@ -0,0 +1,182 @@
+package com.example.hello.jdbc;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects SQL statement statistics reported by {@link StatisticsDataSource}.
+ * Keeps global per-normalized-SQL statistics as well as a per-request scope
+ * (opened by {@link SqlStatementBudgetFilter}) used to detect requests that
+ * issue too many statements or repeat the same statement (N+1 patterns).
+ */
+@Component
+public class SqlStatisticsCollector {
+
+	private static final Logger logger = LoggerFactory.getLogger(SqlStatisticsCollector.class);
+	private static final String OVERFLOW_KEY = "<other statements>";
+
+	private final ConcurrentHashMap<String, SqlStatementStats> statements = new ConcurrentHashMap<>();
+	private final ThreadLocal<RequestScope> currentRequest = new ThreadLocal<>();
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder requestStatements = new LongAdder();
+	private final LongAdder budgetExceeded = new LongAdder();
+	private final LongAccumulator maxStatementsPerRequest = new LongAccumulator(Math::max, 0);
+
+	private final int statementBudget;
+	private final long slowQueryThresholdNanos;
+	private final int repeatedStatementThreshold;
+	private final int maxTrackedStatements;
+
+	public SqlStatisticsCollector(
+		@Value("${jdbc.monitoring.statement-budget:50}") int statementBudget,
+		@Value("${jdbc.monitoring.slow-query-threshold-ms:500}") long slowQueryThresholdMs,
+		@Value("${jdbc.monitoring.repeated-statement-threshold:10}") int repeatedStatementThreshold,
+		@Value("${jdbc.monitoring.max-tracked-statements:1000}") int maxTrackedStatements) {
+		this.statementBudget = statementBudget;
+		this.slowQueryThresholdNanos = slowQueryThresholdMs * 1_000_000L;
+		this.repeatedStatementThreshold = repeatedStatementThreshold;
+		this.maxTrackedStatements = maxTrackedStatements;
+	}
+
+	/**
+	 * Record one statement execution. Returns the statistics entry so the
+	 * caller can attribute fetched rows to it.
+	 */
+	public SqlStatementStats recordExecution(String sql, long nanos, boolean failed) {
+		SqlStatementStats stats = statsFor(sql);
+		stats.recordExecution(nanos, failed);
+
+		if (nanos > slowQueryThresholdNanos) {
+			logger.warn("Slow SQL statement: {}ms - {}", nanos / 1_000_000, stats.getSql());
+		}
+
+		RequestScope scope = currentRequest.get();
+		if (scope != null) {
+			scope.statements++;
+			scope.nanos += nanos;
+			scope.perStatement.merge(stats.getSql(), 1, Integer::sum);
+		}
+		return stats;
+	}
+
+	public void recordRows(SqlStatementStats stats, long rows) {
+		stats.recordRows(rows);
+		RequestScope scope = currentRequest.get();
+		if (scope != null) {
+			scope.rows += rows;
+		}
+	}
+
+	public void beginRequest(String description) {
+		currentRequest.set(new RequestScope(description));
+	}
+
+	public void endRequest() {
+		RequestScope scope = currentRequest.get();
+		currentRequest.remove();
+		if (scope == null) {
+			return;
+		}
+		requests.increment();
+		requestStatements.add(scope.statements);
+		maxStatementsPerRequest.accumulate(scope.statements);
+
+		if (scope.statements > statementBudget) {
+			budgetExceeded.increment();
+			logger.warn("SQL statement budget exceeded: {} issued {} statements (budget {}), {} rows in {}ms",
+				scope.description, scope.statements, statementBudget, scope.rows, scope.nanos / 1_000_000);
+		}
+		scope.perStatement.forEach((sql, count) -> {
+			if (count >= repeatedStatementThreshold) {
+				logger.warn("Possible N+1 query: {} executed the same statement {} times - {}",
+					scope.description, count, sql);
+			}
+		});
+	}
+
+	/**
+	 * Number of statements issued so far by the current request, or -1 when
+	 * no request scope is open on this thread.
+	 */
+	public int currentRequestStatementCount() {
+		RequestScope scope = currentRequest.get();
+		return scope == null ? -1 : scope.statements;
+	}
+
+	public Report report(int limit) {
+		List<SqlStatementStats.Snapshot> top = statements.values().stream()
+			.sorted(Comparator.comparingLong(SqlStatementStats::getTotalNanos).reversed())
+			.limit(limit)
+			.map(SqlStatementStats::snapshot)
+			.toList();
+		long requestCount = requests.sum();
+		long statementsInRequests = requestStatements.sum();
+		return new Report(
+			statements.values().stream().mapToLong(SqlStatementStats::getExecutions).sum(),
+			statements.size(),
+			requestCount,
+			requestCount == 0 ? 0 : (double) statementsInRequests / requestCount,
+			maxStatementsPerRequest.get(),
+			statementBudget,
+			budgetExceeded.sum(),
+			top);
+	}
+
+	public void reset() {
+		statements.clear();
+		requests.reset();
+		requestStatements.reset();
+		budgetExceeded.reset();
+		maxStatementsPerRequest.reset();
+	}
+
+	private SqlStatementStats statsFor(String sql) {
+		String normalized = SqlNormalizer.normalize(sql);
+		SqlStatementStats stats = statements.get(normalized);
+		if (stats != null) {
+			return stats;
+		}
+		// Bound memory when an application generates unbounded distinct SQL text
+		if (statements.size() >= maxTrackedStatements) {
+			return statements.computeIfAbsent(OVERFLOW_KEY, SqlStatementStats::new);
+		}
+		return statements.computeIfAbsent(normalized, SqlStatementStats::new);
+	}
+
+	private static final class RequestScope {
+		private final String description;
+		private final Map<String, Integer> perStatement = new HashMap<>();
+		private int statements;
+		private long rows;
+		private long nanos;
+
+		private RequestScope(String description) {
+			this.description = description;
+		}
+	}
+
+	/**
+	 * Aggregated SQL statistics returned by the admin endpoint.
+	 */
+	public record Report(
+		long totalExecutions,
+		int distinctStatements,
+		long requests,
+		double averageStatementsPerRequest,
+		long maxStatementsPerRequest,
+		int statementBudget,
+		long requestsOverBudget,
+		List<SqlStatementStats.Snapshot> statements) {
+	}
+}
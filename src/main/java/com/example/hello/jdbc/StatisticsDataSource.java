@@ -0,0 +1,207 @@
+package com.example.hello.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that times every JDBC statement and counts fetched rows.
+ * Connections, statements and result sets are wrapped in JDK dynamic proxies,
+ * so the underlying pool (and its metrics) is left untouched.
+ */
+public class StatisticsDataSource extends DelegatingDataSource {
+
+	private final SqlStatisticsCollector collector;
+
+	public StatisticsDataSource(DataSource targetDataSource, SqlStatisticsCollector collector) {
+		super(targetDataSource);
+		this.collector = collector;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrapConnection(obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+	}
+
+	private Connection wrapConnection(Connection connection) {
+		return proxy(Connection.class, connection, new ConnectionHandler(connection));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(StatisticsDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+	/**
+	 * Handles Wrapper.unwrap/isWrapperFor so callers can still reach the vendor
+	 * connection (e.g. oracle.jdbc.OracleConnection) behind the proxy.
+	 */
+	private static Object handleWrapper(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+		Class<?> iface = (Class<?>) args[0];
+		if ("unwrap".equals(method.getName())) {
+			return iface.isInstance(proxy) ? proxy : invoke(target, method, args);
+		}
+		return iface.isInstance(proxy) || (Boolean) invoke(target, method, args);
+	}
+
+	private static boolean isWrapperMethod(Method method) {
+		String name = method.getName();
+		return ("unwrap".equals(name) || "isWrapperFor".equals(name)) && method.getParameterCount() == 1;
+	}
+
+	private final class ConnectionHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (isWrapperMethod(method)) {
+				return handleWrapper(proxy, target, method, args);
+			}
+			Object result = StatisticsDataSource.invoke(target, method, args);
+			switch (method.getName()) {
+				case "createStatement":
+					return StatisticsDataSource.proxy(Statement.class, (Statement) result,
+						new StatementHandler((Statement) result, null));
+				case "prepareStatement":
+					return StatisticsDataSource.proxy(PreparedStatement.class, (PreparedStatement) result,
+						new StatementHandler((Statement) result, (String) args[0]));
+				case "prepareCall":
+					return StatisticsDataSource.proxy(CallableStatement.class, (CallableStatement) result,
+						new StatementHandler((Statement) result, (String) args[0]));
+				default:
+					return result;
+			}
+		}
+	}
+
+	private final class StatementHandler implements InvocationHandler {
+
+		private final Statement target;
+		private final String preparedSql;
+		private String batchSql;
+		private SqlStatementStats lastStats;
+
+		private StatementHandler(Statement target, String preparedSql) {
+			this.target = target;
+			this.preparedSql = preparedSql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (isWrapperMethod(method)) {
+				return handleWrapper(proxy, target, method, args);
+			}
+			String name = method.getName();
+			if ("addBatch".equals(name) && args != null && args.length == 1 && batchSql == null) {
+				batchSql = (String) args[0];
+			}
+			if ("getResultSet".equals(name)) {
+				ResultSet resultSet = (ResultSet) StatisticsDataSource.invoke(target, method, args);
+				return wrapResultSet(resultSet, lastStats);
+			}
+			if (!name.startsWith("execute")) {
+				return StatisticsDataSource.invoke(target, method, args);
+			}
+
+			String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+			if (sql == null) {
+				sql = batchSql;
+			}
+			long start = System.nanoTime();
+			boolean failed = true;
+			try {
+				Object result = StatisticsDataSource.invoke(target, method, args);
+				failed = false;
+				lastStats = collector.recordExecution(sql, System.nanoTime() - start, false);
+				if (result instanceof ResultSet resultSet) {
+					return wrapResultSet(resultSet, lastStats);
+				}
+				return result;
+			} finally {
+				if (failed) {
+					lastStats = collector.recordExecution(sql, System.nanoTime() - start, true);
+				}
+				if ("executeBatch".equals(name) || "executeLargeBatch".equals(name)) {
+					batchSql = null;
+				}
+			}
+		}
+	}
+
+	private ResultSet wrapResultSet(ResultSet resultSet, SqlStatementStats stats) {
+		if (resultSet == null || stats == null) {
+			return resultSet;
+		}
+		return proxy(ResultSet.class, resultSet, new ResultSetHandler(resultSet, stats));
+	}
+
+	private final class ResultSetHandler implements InvocationHandler {
+
+		private final ResultSet target;
+		private final SqlStatementStats stats;
+		private long rows;
+		private boolean reported;
+
+		private ResultSetHandler(ResultSet target, SqlStatementStats stats) {
+			this.target = target;
+			this.stats = stats;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (isWrapperMethod(method)) {
+				return handleWrapper(proxy, target, method, args);
+			}
+			String name = method.getName();
+			if ("next".equals(name)) {
+				Boolean hasRow = (Boolean) StatisticsDataSource.invoke(target, method, args);
+				if (hasRow) {
+					rows++;
+				} else {
+					report();
+				}
+				return hasRow;
+			}
+			if ("close".equals(name)) {
+				report();
+			}
+			return StatisticsDataSource.invoke(target, method, args);
+		}
+
+		private void report() {
+			if (!reported) {
+				reported = true;
+				collector.recordRows(stats, rows);
+			}
+		}
+	}
+}
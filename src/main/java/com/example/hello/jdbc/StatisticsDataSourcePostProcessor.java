@@ -0,0 +1,28 @@
+package com.example.hello.jdbc;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps every DataSource bean with {@link StatisticsDataSource}. The collector is
+ * resolved lazily so this post-processor can be registered early without
+ * forcing eager initialization of application beans.
+ */
+public class StatisticsDataSourcePostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<SqlStatisticsCollector> collector;
+
+	public StatisticsDataSourcePostProcessor(ObjectProvider<SqlStatisticsCollector> collector) {
+		this.collector = collector;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && !(bean instanceof StatisticsDataSource)) {
+			return new StatisticsDataSource(dataSource, collector.getObject());
+		}
+		return bean;
+	}
+}
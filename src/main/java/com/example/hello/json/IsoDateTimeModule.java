@@ -0,0 +1,109 @@
+package com.example.hello.json;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * ISO-8601 serializers for {@link LocalDate} and {@link LocalDateTime} that
+ * format digits straight into a char buffer handed to the generator, instead
+ * of going through {@code DateTimeFormatter} and an intermediate String.
+ * <p>
+ * Output is identical to jackson-datatype-jsr310 with timestamps disabled (the
+ * Spring Boot default): {@code 2020-01-15}, {@code 2025-10-20T12:00:00} or
+ * {@code 2025-10-20T12:00:00.123456}. Years outside 0000-9999 fall back to
+ * the jsr310 formatting. These serializers ignore {@code @JsonFormat} and
+ * {@code WRITE_DATES_AS_TIMESTAMPS}; deserialization is left to jsr310.
+ */
+public class IsoDateTimeModule extends SimpleModule {
+
+	public IsoDateTimeModule() {
+		super("IsoDateTimeModule");
+		addSerializer(LocalDate.class, new LocalDateSerializer());
+		addSerializer(LocalDateTime.class, new LocalDateTimeSerializer());
+	}
+
+	static final class LocalDateSerializer extends StdSerializer<LocalDate> {
+
+		LocalDateSerializer() {
+			super(LocalDate.class);
+		}
+
+		@Override
+		public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider)
+			throws IOException {
+			if (!isFourDigitYear(value.getYear())) {
+				generator.writeString(value.toString());
+				return;
+			}
+			char[] buffer = new char[10];
+			writeDate(buffer, value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+			generator.writeString(buffer, 0, buffer.length);
+		}
+	}
+
+	static final class LocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+		LocalDateTimeSerializer() {
+			super(LocalDateTime.class);
+		}
+
+		@Override
+		public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+			throws IOException {
+			if (!isFourDigitYear(value.getYear())) {
+				generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+				return;
+			}
+			char[] buffer = new char[29];
+			writeDate(buffer, value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+			buffer[10] = 'T';
+			writeTwoDigits(buffer, 11, value.getHour());
+			buffer[13] = ':';
+			writeTwoDigits(buffer, 14, value.getMinute());
+			buffer[16] = ':';
+			writeTwoDigits(buffer, 17, value.getSecond());
+			int length = 19;
+			int nano = value.getNano();
+			if (nano != 0) {
+				// Nine fraction digits with trailing zeros dropped, as ISO_LOCAL_DATE_TIME prints them
+				buffer[length++] = '.';
+				int digits = 9;
+				while (nano % 10 == 0) {
+					nano /= 10;
+					digits--;
+				}
+				for (int i = length + digits - 1; i >= length; i--) {
+					buffer[i] = (char) ('0' + nano % 10);
+					nano /= 10;
+				}
+				length += digits;
+			}
+			generator.writeString(buffer, 0, length);
+		}
+	}
+
+	private static boolean isFourDigitYear(int year) {
+		return year >= 0 && year <= 9999;
+	}
+
+	private static void writeDate(char[] buffer, int year, int month, int day) {
+		writeTwoDigits(buffer, 0, year / 100);
+		writeTwoDigits(buffer, 2, year % 100);
+		buffer[4] = '-';
+		writeTwoDigits(buffer, 5, month);
+		buffer[7] = '-';
+		writeTwoDigits(buffer, 8, day);
+	}
+
+	private static void writeTwoDigits(char[] buffer, int offset, int value) {
+		buffer[offset] = (char) ('0' + value / 10);
+		buffer[offset + 1] = (char) ('0' + value % 10);
+	}
+}
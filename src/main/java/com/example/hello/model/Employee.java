@@ -2,14 +2,28 @@ package com.example.hello.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "EMPLOYEES")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
 public class Employee {
 
 	@Id
@@ -46,6 +60,29 @@ public class Employee {
 	@Column(name = "DEPARTMENT_ID")
 	private Long departmentId;
 
+	/** Optimistic locking version; clients echo it (or the ETag via If-Match) when updating. */
+	@Version
+	@Column(name = "VERSION", nullable = false)
+	private Long version;
+
+	/** UTC time of the last insert or update, truncated to the column's microsecond precision. */
+	@Column(name = "LAST_MODIFIED", nullable = false)
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private LocalDateTime lastModified;
+
+	@PrePersist
+	@PreUpdate
+	void touchLastModified() {
+		lastModified = currentTimestamp();
+	}
+
+	/**
+	 * Value written to LAST_MODIFIED, also used by updates that bypass the entity lifecycle.
+	 */
+	public static LocalDateTime currentTimestamp() {
+		return LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+	}
+
 	public Long getId() {
 		return id;
 	}
@@ -133,6 +170,20 @@ public class Employee {
 	public void setDepartmentId(Long departmentId) {
 		this.departmentId = departmentId;
 	}
-}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
 
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
+}
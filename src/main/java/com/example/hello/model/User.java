@@ -3,6 +3,10 @@ package com.example.hello.model;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,12 +14,15 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
 @Entity
 @Table(name = "APP_USERS", uniqueConstraints = @UniqueConstraint(columnNames = "USERNAME"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User {
 
 	@Id
@@ -38,7 +45,14 @@ public class User {
 	@Column(name = "UPDATED_DATE")
 	private LocalDateTime updatedDate;
 
-	@OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+	/**
+	 * Lazy: load it with the user through an entity graph or fetch join (see
+	 * UserRepository) rather than one select per user. Joined on USERNAME, whose
+	 * value Authority carries itself.
+	 */
+	@OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+	@JoinColumn(name = "USERNAME", referencedColumnName = "USERNAME", insertable = false, updatable = false)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-authorities")
 	private Set<Authority> authorities;
 
 	// Constructors
@@ -1,14 +1,31 @@
 package com.example.hello.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.example.hello.model.Authority;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AuthorityRepository extends JpaRepository<Authority, Long> {
 	
+	/**
+	 * Served from the query cache (region {@code user-queries}) until APP_AUTHORITIES changes.
+	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-queries")
+	})
 	List<Authority> findByUsername(String username);
+
+	/**
+	 * Authorities of the given users; at most 1000 usernames per call on Oracle.
+	 */
+	List<Authority> findByUsernameIn(Collection<String> usernames);
 }
@@ -0,0 +1,37 @@
+package com.example.hello.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.model.Employee;
+
+/**
+ * Read-only projection queries that never load {@link Employee} entities.
+ */
+public interface EmployeeProjectionRepository {
+
+	/**
+	 * Matching employees as {@link EmployeeView} rows, selected with a constructor expression.
+	 */
+	Page<EmployeeView> findViews(Specification<Employee> spec, Pageable pageable);
+
+	/**
+	 * Matching employees reduced to the given attributes (see {@link EmployeeView#FIELDS}),
+	 * one insertion-ordered map per row. Only those columns are selected.
+	 */
+	Page<Map<String, Object>> findFields(Specification<Employee> spec, List<String> fields, Pageable pageable);
+
+	/**
+	 * Matching employees as {@link EmployeeView} rows read lazily from an open cursor, for
+	 * exports that must not hold the whole result in memory. The stream has to be consumed
+	 * and closed inside the surrounding transaction.
+	 */
+	Stream<EmployeeView> streamViews(Specification<Employee> spec, Sort sort);
+}
@@ -0,0 +1,144 @@
+package com.example.hello.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.model.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Criteria-based implementation of {@link EmployeeProjectionRepository}.
+ * The count query only runs when the first page is full or a later page is
+ * requested, mirroring Spring Data's own paging.
+ */
+public class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+	/** Rows fetched per round trip while streaming; the cursor keeps memory flat regardless of result size. */
+	private static final int STREAM_FETCH_SIZE = 500;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Page<EmployeeView> findViews(Specification<Employee> spec, Pageable pageable) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<EmployeeView> query = cb.createQuery(EmployeeView.class);
+		Root<Employee> root = query.from(Employee.class);
+		List<Selection<?>> selections = new ArrayList<>();
+		for (String field : EmployeeView.FIELDS) {
+			selections.add(root.get(field));
+		}
+		query.select(cb.construct(EmployeeView.class, selections.toArray(new Selection<?>[0])));
+		applyWhereAndOrder(query, root, cb, spec, pageable);
+
+		List<EmployeeView> content = page(entityManager.createQuery(query), pageable).getResultList();
+		return toPage(content, spec, pageable);
+	}
+
+	@Override
+	public Page<Map<String, Object>> findFields(Specification<Employee> spec, List<String> fields,
+		Pageable pageable) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Employee> root = query.from(Employee.class);
+		List<Selection<?>> selections = new ArrayList<>();
+		for (String field : fields) {
+			selections.add(root.get(field).alias(field));
+		}
+		query.multiselect(selections);
+		applyWhereAndOrder(query, root, cb, spec, pageable);
+
+		List<Map<String, Object>> content = new ArrayList<>();
+		for (Tuple tuple : page(entityManager.createQuery(query), pageable).getResultList()) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			for (String field : fields) {
+				row.put(field, tuple.get(field));
+			}
+			content.add(row);
+		}
+		return toPage(content, spec, pageable);
+	}
+
+	@Override
+	public Stream<EmployeeView> streamViews(Specification<Employee> spec, Sort sort) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<EmployeeView> query = cb.createQuery(EmployeeView.class);
+		Root<Employee> root = query.from(Employee.class);
+		List<Selection<?>> selections = new ArrayList<>();
+		for (String field : EmployeeView.FIELDS) {
+			selections.add(root.get(field));
+		}
+		query.select(cb.construct(EmployeeView.class, selections.toArray(new Selection<?>[0])));
+		applyWhereAndOrder(query, root, cb, spec, Pageable.unpaged(sort));
+
+		return entityManager.createQuery(query)
+			.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+			.getResultStream();
+	}
+
+	private void applyWhereAndOrder(CriteriaQuery<?> query, Root<Employee> root, CriteriaBuilder cb,
+		Specification<Employee> spec, Pageable pageable) {
+		if (spec != null) {
+			Predicate predicate = spec.toPredicate(root, query, cb);
+			if (predicate != null) {
+				query.where(predicate);
+			}
+		}
+		if (pageable.getSort().isSorted()) {
+			query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+		}
+	}
+
+	private static <T> TypedQuery<T> page(TypedQuery<T> query, Pageable pageable) {
+		if (pageable.isPaged()) {
+			query.setFirstResult((int) pageable.getOffset());
+			query.setMaxResults(pageable.getPageSize());
+		}
+		return query;
+	}
+
+	private <T> Page<T> toPage(List<T> content, Specification<Employee> spec, Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(content);
+		}
+		if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+			return new PageImpl<>(content, pageable, content.size());
+		}
+		return new PageImpl<>(content, pageable, count(spec));
+	}
+
+	private long count(Specification<Employee> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Employee> root = query.from(Employee.class);
+		query.select(cb.count(root));
+		if (spec != null) {
+			Predicate predicate = spec.toPredicate(root, query, cb);
+			if (predicate != null) {
+				query.where(predicate);
+			}
+		}
+		return entityManager.createQuery(query).getSingleResult();
+	}
+}
@@ -1,9 +1,93 @@
 package com.example.hello.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import com.example.hello.dto.DepartmentSalaryStats;
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.dto.JobSalaryStats;
+import com.example.hello.dto.OrgChartNode;
+import com.example.hello.dto.RowVersion;
 import com.example.hello.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-}
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+	EmployeeProjectionRepository, EmployeeWriteRepository {
+
+	@Query("""
+		select new com.example.hello.dto.EmployeeView(
+			e.id, e.firstName, e.lastName, e.email, e.phoneNumber, e.hireDate, e.jobId, e.salary, e.commissionPct,
+			e.managerId, e.departmentId, e.version, e.lastModified)
+		from Employee e
+		order by e.id""")
+	List<EmployeeView> findAllViews();
+
+	// Validators for conditional GETs, answered from the primary key and
+	// IDX_EMPLOYEES_LAST_MODIFIED without reading employee rows
+
+	@Query("select new com.example.hello.dto.RowVersion(e.version, e.lastModified) from Employee e where e.id = :id")
+	Optional<RowVersion> findRowVersionById(@Param("id") Long id);
 
+	// Aggregates are computed with GROUP BY and returned through constructor
+	// expressions, so no Employee entity is loaded or tracked by the persistence context.
 
+	@Query("""
+		select new com.example.hello.dto.DepartmentSalaryStats(
+			e.departmentId, count(e), sum(e.salary), avg(e.salary), min(e.salary), max(e.salary),
+			count(e.commissionPct), avg(e.commissionPct), sum(e.salary * e.commissionPct))
+		from Employee e
+		group by e.departmentId
+		order by e.departmentId""")
+	List<DepartmentSalaryStats> salaryStatsByDepartment();
+
+	@Query("""
+		select new com.example.hello.dto.JobSalaryStats(
+			e.jobId, count(e), sum(e.salary), avg(e.salary), min(e.salary), max(e.salary),
+			count(e.commissionPct), avg(e.commissionPct), sum(e.salary * e.commissionPct))
+		from Employee e
+		where :departmentId is null or e.departmentId = :departmentId
+		group by e.jobId
+		order by e.jobId""")
+	List<JobSalaryStats> salaryStatsByJob(@Param("departmentId") Long departmentId);
+
+	// Hierarchy queries walk MANAGER_ID with a recursive common table expression,
+	// supported by both Oracle (11gR2+) and H2, so a whole subtree or management
+	// chain is fetched in one round trip. The depth bound also guards against cycles.
+
+	@Query(nativeQuery = true, value = """
+		WITH subtree (EMPLOYEE_ID, FIRST_NAME, LAST_NAME, JOB_ID, MANAGER_ID, DEPARTMENT_ID, DEPTH) AS (
+			SELECT EMPLOYEE_ID, FIRST_NAME, LAST_NAME, JOB_ID, MANAGER_ID, DEPARTMENT_ID, 0
+			FROM EMPLOYEES
+			WHERE EMPLOYEE_ID = :rootId
+			UNION ALL
+			SELECT e.EMPLOYEE_ID, e.FIRST_NAME, e.LAST_NAME, e.JOB_ID, e.MANAGER_ID, e.DEPARTMENT_ID, s.DEPTH + 1
+			FROM EMPLOYEES e
+			JOIN subtree s ON e.MANAGER_ID = s.EMPLOYEE_ID
+			WHERE s.DEPTH < :maxDepth
+		)
+		SELECT EMPLOYEE_ID AS "employeeId", FIRST_NAME AS "firstName", LAST_NAME AS "lastName", JOB_ID AS "jobId",
+			MANAGER_ID AS "managerId", DEPARTMENT_ID AS "departmentId", DEPTH AS "depth"
+		FROM subtree
+		ORDER BY DEPTH, EMPLOYEE_ID""")
+	List<OrgChartNode> findSubtree(@Param("rootId") Long rootId, @Param("maxDepth") int maxDepth);
+
+	@Query(nativeQuery = true, value = """
+		WITH chain (EMPLOYEE_ID, FIRST_NAME, LAST_NAME, JOB_ID, MANAGER_ID, DEPARTMENT_ID, DEPTH) AS (
+			SELECT EMPLOYEE_ID, FIRST_NAME, LAST_NAME, JOB_ID, MANAGER_ID, DEPARTMENT_ID, 0
+			FROM EMPLOYEES
+			WHERE EMPLOYEE_ID = :employeeId
+			UNION ALL
+			SELECT m.EMPLOYEE_ID, m.FIRST_NAME, m.LAST_NAME, m.JOB_ID, m.MANAGER_ID, m.DEPARTMENT_ID, c.DEPTH + 1
+			FROM EMPLOYEES m
+			JOIN chain c ON m.EMPLOYEE_ID = c.MANAGER_ID
+			WHERE c.DEPTH < :maxDepth
+		)
+		SELECT EMPLOYEE_ID AS "employeeId", FIRST_NAME AS "firstName", LAST_NAME AS "lastName", JOB_ID AS "jobId",
+			MANAGER_ID AS "managerId", DEPARTMENT_ID AS "departmentId", DEPTH AS "depth"
+		FROM chain
+		ORDER BY DEPTH""")
+	List<OrgChartNode> findManagementChain(@Param("employeeId") Long employeeId, @Param("maxDepth") int maxDepth);
+}
@@ -0,0 +1,77 @@
+package com.example.hello.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.hello.dto.EmployeeSearchCriteria;
+import com.example.hello.model.Employee;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Builds employee search predicates from {@link EmployeeSearchCriteria}.
+ * Only the supplied filters become predicates, and each one is written so the
+ * database can use an index: equality on indexed columns, closed ranges, and
+ * left-anchored LIKE on UPPER(name), backed by the V5 migrations.
+ */
+public final class EmployeeSpecifications {
+
+	private EmployeeSpecifications() {
+	}
+
+	public static Specification<Employee> matching(EmployeeSearchCriteria criteria) {
+		return (root, query, cb) -> {
+			List<Predicate> predicates = new ArrayList<>();
+			if (criteria.departmentId() != null) {
+				predicates.add(cb.equal(root.get("departmentId"), criteria.departmentId()));
+			}
+			if (hasText(criteria.jobId())) {
+				predicates.add(cb.equal(root.get("jobId"), criteria.jobId().trim()));
+			}
+			if (criteria.managerId() != null) {
+				predicates.add(cb.equal(root.get("managerId"), criteria.managerId()));
+			}
+			if (criteria.minSalary() != null) {
+				predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), criteria.minSalary()));
+			}
+			if (criteria.maxSalary() != null) {
+				predicates.add(cb.lessThanOrEqualTo(root.get("salary"), criteria.maxSalary()));
+			}
+			if (criteria.hiredFrom() != null) {
+				predicates.add(cb.greaterThanOrEqualTo(root.get("hireDate"), criteria.hiredFrom()));
+			}
+			if (criteria.hiredTo() != null) {
+				predicates.add(cb.lessThanOrEqualTo(root.get("hireDate"), criteria.hiredTo()));
+			}
+			if (hasText(criteria.email())) {
+				predicates.add(cb.equal(root.get("email"), criteria.email().trim()));
+			}
+			if (hasText(criteria.namePrefix())) {
+				String pattern = escapeLike(criteria.namePrefix().trim().toUpperCase(Locale.ROOT)) + "%";
+				predicates.add(cb.or(
+					cb.like(cb.upper(root.get("lastName")), pattern, '\\'),
+					cb.like(cb.upper(root.get("firstName")), pattern, '\\')));
+			}
+			return cb.and(predicates.toArray(new Predicate[0]));
+		};
+	}
+
+	/**
+	 * Employees with the given IDs; callers keep the list within the database's IN-list limit.
+	 */
+	public static Specification<Employee> withIds(Collection<Long> ids) {
+		return (root, query, cb) -> root.get("id").in(ids);
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isBlank();
+	}
+
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.hello.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.hello.model.Employee;
+
+/**
+ * Set-based writes that go straight to the database without loading
+ * {@link Employee} entities. Every statement increments VERSION and stamps
+ * LAST_MODIFIED, like an entity update would.
+ */
+public interface EmployeeWriteRepository {
+
+	/**
+	 * Apply the given attribute values to one employee in a single UPDATE.
+	 *
+	 * @param changes attribute name to new value (null clears the column)
+	 * @param expectedVersion only update if the row still has this version; null to skip the check
+	 * @return the number of rows updated, 0 if the employee does not exist or the version did not match
+	 */
+	int updateFields(Long id, Map<String, Object> changes, Long expectedVersion);
+
+	/**
+	 * Update every matching employee in a single UPDATE; null arguments leave the column alone.
+	 *
+	 * @param salaryFactor multiplier for SALARY (rounded to cents), e.g. 1.035 for a 3.5% raise
+	 * @return the number of rows updated
+	 */
+	int updateMatching(Specification<Employee> spec, Long departmentId, Long managerId, BigDecimal salaryFactor);
+
+	/**
+	 * Delete every matching employee in a single DELETE.
+	 *
+	 * @return the number of rows deleted
+	 */
+	int deleteMatching(Specification<Employee> spec);
+}
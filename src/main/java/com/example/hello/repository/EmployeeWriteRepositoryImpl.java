@@ -0,0 +1,82 @@
+package com.example.hello.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.hello.model.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria-based implementation of {@link EmployeeWriteRepository}.
+ * Bulk statements bypass the persistence context, so callers must not rely on
+ * Employee instances loaded earlier in the same transaction.
+ */
+public class EmployeeWriteRepositoryImpl implements EmployeeWriteRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public int updateFields(Long id, Map<String, Object> changes, Long expectedVersion) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+		Root<Employee> root = update.from(Employee.class);
+		changes.forEach((field, value) -> update.set(root.get(field), value));
+		stampVersion(update, root, cb);
+
+		Predicate byId = cb.equal(root.get("id"), id);
+		update.where(expectedVersion == null ? byId : cb.and(byId, cb.equal(root.get("version"), expectedVersion)));
+		return entityManager.createQuery(update).executeUpdate();
+	}
+
+	@Override
+	public int updateMatching(Specification<Employee> spec, Long departmentId, Long managerId,
+		BigDecimal salaryFactor) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+		Root<Employee> root = update.from(Employee.class);
+		if (departmentId != null) {
+			update.set(root.<Long>get("departmentId"), departmentId);
+		}
+		if (managerId != null) {
+			update.set(root.<Long>get("managerId"), managerId);
+		}
+		if (salaryFactor != null) {
+			// A BigDecimal parameter would be bound with SALARY's scale (1.035 -> 1.04), so the
+			// factor is passed as an integer number of millionths instead
+			Path<BigDecimal> salary = root.get("salary");
+			long factorMillionths = salaryFactor.movePointRight(6).setScale(0, RoundingMode.HALF_UP).longValueExact();
+			Expression<Number> raised = cb.quot(cb.prod(salary, cb.literal(factorMillionths)), 1_000_000L);
+			update.set(salary, cb.function("ROUND", BigDecimal.class, raised, cb.literal(2)));
+		}
+		stampVersion(update, root, cb);
+		update.where(spec.toPredicate(root, null, cb));
+		return entityManager.createQuery(update).executeUpdate();
+	}
+
+	@Override
+	public int deleteMatching(Specification<Employee> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaDelete<Employee> delete = cb.createCriteriaDelete(Employee.class);
+		Root<Employee> root = delete.from(Employee.class);
+		delete.where(spec.toPredicate(root, null, cb));
+		return entityManager.createQuery(delete).executeUpdate();
+	}
+
+	private static void stampVersion(CriteriaUpdate<Employee> update, Root<Employee> root, CriteriaBuilder cb) {
+		update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+		update.set(root.get("lastModified"), Employee.currentTimestamp());
+	}
+}
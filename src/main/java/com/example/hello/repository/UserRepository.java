@@ -1,14 +1,58 @@
 package com.example.hello.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.hello.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserWriteRepository {
 	
+	/**
+	 * Served from the query cache (region {@code user-queries}) until APP_USERS changes.
+	 * Authorities are lazy; use {@link #findWithAuthoritiesByUsername} when they are needed.
+	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-queries")
+	})
 	Optional<User> findByUsername(String username);
+
+	/**
+	 * The user and its authorities in one select.
+	 */
+	@EntityGraph(attributePaths = "authorities")
+	Optional<User> findWithAuthoritiesByUsername(String username);
+
+	/**
+	 * One page of user IDs. Paging a collection fetch join would happen in memory,
+	 * so the page is selected first and its users fetched with {@link #findWithAuthoritiesByIdIn}.
+	 */
+	@Query("select u.id from User u")
+	Page<Long> findIds(Pageable pageable);
+
+	/**
+	 * The users with their authorities in one select, in no particular order.
+	 */
+	@Query("select u from User u left join fetch u.authorities where u.id in :ids")
+	List<User> findWithAuthoritiesByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Those of the given usernames that exist; at most 1000 per call on Oracle.
+	 */
+	@Query("select u.username from User u where u.username in :usernames")
+	List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
 }
@@ -0,0 +1,37 @@
+package com.example.hello.repository;
+
+import java.util.List;
+
+import com.example.hello.model.Authority;
+import com.example.hello.model.User;
+
+/**
+ * Batched JDBC writes for provisioning users. APP_USERS and APP_AUTHORITIES
+ * take identity IDs, for which Hibernate cannot batch inserts, so these go
+ * around the persistence context: callers must evict the user caches after
+ * commit.
+ */
+public interface UserWriteRepository {
+
+	/**
+	 * Insert the users (username, password hash and enabled flag) in JDBC batches;
+	 * their authorities are not written.
+	 *
+	 * @return the number of users inserted
+	 */
+	int insertUsers(List<User> users);
+
+	/**
+	 * Insert the (username, authority) rows in JDBC batches.
+	 *
+	 * @return the number of rows inserted
+	 */
+	int insertAuthorities(List<Authority> authorities);
+
+	/**
+	 * Delete the (username, authority) rows in JDBC batches; rows that do not exist are skipped.
+	 *
+	 * @return the number of rows deleted
+	 */
+	int deleteAuthorities(List<Authority> authorities);
+}
@@ -0,0 +1,69 @@
+package com.example.hello.repository;
+
+import java.sql.Statement;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.hello.model.Authority;
+import com.example.hello.model.User;
+
+/**
+ * {@link JdbcTemplate} implementation of {@link UserWriteRepository}, sending
+ * {@code users.admin.batch-size} rows per round trip. CREATED_DATE and
+ * UPDATED_DATE take their column defaults.
+ */
+public class UserWriteRepositoryImpl implements UserWriteRepository {
+
+	private static final String INSERT_USER_SQL = "INSERT INTO APP_USERS (USERNAME, PASSWORD, ENABLED) VALUES (?, ?, ?)";
+	private static final String INSERT_AUTHORITY_SQL = "INSERT INTO APP_AUTHORITIES (USERNAME, AUTHORITY) VALUES (?, ?)";
+	private static final String DELETE_AUTHORITY_SQL = "DELETE FROM APP_AUTHORITIES WHERE USERNAME = ? AND AUTHORITY = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final int batchSize;
+
+	public UserWriteRepositoryImpl(JdbcTemplate jdbcTemplate, @Value("${users.admin.batch-size:500}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public int insertUsers(List<User> users) {
+		return sum(jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, batchSize, (statement, user) -> {
+			statement.setString(1, user.getUsername());
+			statement.setString(2, user.getPassword());
+			statement.setBoolean(3, user.getEnabled());
+		}));
+	}
+
+	@Override
+	public int insertAuthorities(List<Authority> authorities) {
+		return sum(jdbcTemplate.batchUpdate(INSERT_AUTHORITY_SQL, authorities, batchSize, (statement, authority) -> {
+			statement.setString(1, authority.getUsername());
+			statement.setString(2, authority.getAuthority());
+		}));
+	}
+
+	@Override
+	public int deleteAuthorities(List<Authority> authorities) {
+		return sum(jdbcTemplate.batchUpdate(DELETE_AUTHORITY_SQL, authorities, batchSize, (statement, authority) -> {
+			statement.setString(1, authority.getUsername());
+			statement.setString(2, authority.getAuthority());
+		}));
+	}
+
+	/**
+	 * Rows affected over all batches. A driver that reports only success for a
+	 * batched statement (Oracle returns SUCCESS_NO_INFO, -2) counts as one row.
+	 */
+	private static int sum(int[][] counts) {
+		int total = 0;
+		for (int[] batch : counts) {
+			for (int count : batch) {
+				total += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+			}
+		}
+		return total;
+	}
+}
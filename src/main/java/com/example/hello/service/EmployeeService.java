@@ -1,64 +1,343 @@
 package com.example.hello.service;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.hello.cache.AccessFrequencyTracker;
+import com.example.hello.cache.TieredCache;
+import com.example.hello.changes.EmployeeChangeFeed;
+import com.example.hello.config.CacheConfig;
+import com.example.hello.dto.BulkEmployeeDelete;
+import com.example.hello.dto.BulkEmployeeUpdate;
+import com.example.hello.dto.DataVersion;
+import com.example.hello.dto.DepartmentSalaryStats;
+import com.example.hello.dto.EmployeeSearchCriteria;
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.dto.JobSalaryStats;
+import com.example.hello.dto.OrgChartNode;
+import com.example.hello.dto.RowVersion;
+import com.example.hello.event.EmployeeChangedEvent;
+import com.example.hello.event.EmployeesBulkChangedEvent;
 import com.example.hello.model.Employee;
 import com.example.hello.repository.EmployeeRepository;
+import com.example.hello.repository.EmployeeSpecifications;
+import com.example.hello.repository.EmployeeWriteRepository;
 
 @Service
 public class EmployeeService {
 
+	/** Upper bound for hierarchy traversal; deeper (or cyclic) reporting lines are cut off. */
+	public static final int MAX_HIERARCHY_DEPTH = 50;
+
+	/** Oracle rejects IN lists longer than 1000 expressions, so ID-based bulk statements are chunked. */
+	private static final int IN_LIST_CHUNK_SIZE = 1000;
+
 	private final EmployeeRepository employeeRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TieredCache<Long, Employee> employeeCache;
+	private final AccessFrequencyTracker accessTracker;
+	private final EmployeeChangeFeed changeFeed;
 
-	public EmployeeService(EmployeeRepository employeeRepository) {
+	public EmployeeService(EmployeeRepository employeeRepository, ApplicationEventPublisher eventPublisher,
+		TieredCache<Long, Employee> employeeCache, AccessFrequencyTracker accessTracker,
+		EmployeeChangeFeed changeFeed) {
 		this.employeeRepository = employeeRepository;
+		this.eventPublisher = eventPublisher;
+		this.employeeCache = employeeCache;
+		this.accessTracker = accessTracker;
+		this.changeFeed = changeFeed;
 	}
 
 	@Transactional(readOnly = true)
-	public List<Employee> listAll() {
-		return employeeRepository.findAll();
+	public List<EmployeeView> listViews() {
+		return employeeRepository.findAllViews();
 	}
 
+	/**
+	 * All employees reduced to the given attributes (see {@link EmployeeView#FIELDS}), ordered by ID.
+	 */
 	@Transactional(readOnly = true)
+	public List<Map<String, Object>> listFields(List<String> fields) {
+		return employeeRepository.findFields(null, fields, Pageable.unpaged(Sort.by("id"))).getContent();
+	}
+
+	/**
+	 * One employee, from the in-process or shared cache tier when present (including
+	 * a recent 404). Not transactional, so a cache hit does not take a connection;
+	 * writes evict the entry on every node.
+	 */
 	public Optional<Employee> getById(Long id) {
-		return employeeRepository.findById(id);
+		accessTracker.record(CacheConfig.EMPLOYEES, id);
+		return Optional.ofNullable(employeeCache.get(id, key -> employeeRepository.findById(key).orElse(null)));
+	}
+
+	/**
+	 * Load the given employees into the cache with one query per 1000 IDs, for
+	 * startup warm-up. IDs that no longer exist are cached as 404s. Returns the
+	 * number of employees found.
+	 */
+	public int preload(List<Long> ids) {
+		Map<Long, Employee> found = new HashMap<>();
+		for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK_SIZE) {
+			employeeRepository.findAllById(ids.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, ids.size())))
+				.forEach(employee -> found.put(employee.getId(), employee));
+		}
+		ids.forEach(id -> employeeCache.get(id, found::get));
+		return found.size();
+	}
+
+	/**
+	 * One employee at least as new as {@code version}. A cached copy that is older,
+	 * or a cached 404 (their eviction from another node has not arrived yet), is
+	 * replaced, so the body matches an ETag computed from that version.
+	 */
+	public Optional<Employee> getById(Long id, RowVersion version) {
+		Optional<Employee> employee = getById(id);
+		if (employee.isEmpty() || employee.get().getVersion() < version.version()) {
+			employeeCache.invalidate(id.toString());
+			return getById(id);
+		}
+		return employee;
+	}
+
+	/**
+	 * Version and last modification time (UTC) of one employee, without loading the entity.
+	 */
+	@Transactional(readOnly = true)
+	public Optional<RowVersion> rowVersion(Long id) {
+		return employeeRepository.findRowVersionById(id);
+	}
+
+	/**
+	 * Version of the whole table taken from the change outbox; changes with every committed insert,
+	 * update or delete, in commit order. LAST_MODIFIED is stamped from the application clock at flush
+	 * time, so COUNT/MAX(LAST_MODIFIED) can miss a change that commits after a later-stamped one.
+	 */
+	public DataVersion dataVersion() {
+		return changeFeed.dataVersion();
+	}
+
+	@Transactional(readOnly = true)
+	public Page<EmployeeView> search(EmployeeSearchCriteria criteria, Pageable pageable) {
+		return employeeRepository.findViews(EmployeeSpecifications.matching(criteria), pageable);
+	}
+
+	/**
+	 * Pass every matching employee to {@code sink} in ID order while the rows are read from the
+	 * database cursor, so exports of any size run in constant memory. Returns the number of rows.
+	 * Allowed to run as long as the async request (spring.mvc.async.request-timeout) rather than
+	 * the default transaction timeout; it writes nothing, so no cache invalidation waits on it.
+	 */
+	@Transactional(readOnly = true, timeout = 300)
+	public long export(EmployeeSearchCriteria criteria, Consumer<EmployeeView> sink) {
+		try (Stream<EmployeeView> views = employeeRepository.streamViews(
+			EmployeeSpecifications.matching(criteria), Sort.by("id"))) {
+			long count = 0;
+			for (Iterator<EmployeeView> it = views.iterator(); it.hasNext(); count++) {
+				sink.accept(it.next());
+			}
+			return count;
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> searchFields(EmployeeSearchCriteria criteria, List<String> fields,
+		Pageable pageable) {
+		return employeeRepository.findFields(EmployeeSpecifications.matching(criteria), fields, pageable);
+	}
+
+	@Transactional(readOnly = true)
+	public List<DepartmentSalaryStats> salaryStatsByDepartment() {
+		return employeeRepository.salaryStatsByDepartment();
+	}
+
+	@Transactional(readOnly = true)
+	public List<JobSalaryStats> salaryStatsByJob(Long departmentId) {
+		return employeeRepository.salaryStatsByJob(departmentId);
+	}
+
+	/**
+	 * Direct reports of a manager, or empty if the manager does not exist.
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<OrgChartNode>> directReports(Long managerId) {
+		return subtree(managerId, 1)
+			.map(nodes -> nodes.subList(1, nodes.size()));
+	}
+
+	/**
+	 * The manager (depth 0) and everyone reporting to them, down to maxDepth levels.
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<OrgChartNode>> subtree(Long managerId, int maxDepth) {
+		List<OrgChartNode> nodes = employeeRepository.findSubtree(managerId, Math.min(maxDepth, MAX_HIERARCHY_DEPTH));
+		return nodes.isEmpty() ? Optional.empty() : Optional.of(nodes);
+	}
+
+	/**
+	 * The employee (depth 0) followed by each manager up to the root.
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<OrgChartNode>> managementChain(Long employeeId) {
+		List<OrgChartNode> nodes = employeeRepository.findManagementChain(employeeId, MAX_HIERARCHY_DEPTH);
+		return nodes.isEmpty() ? Optional.empty() : Optional.of(nodes);
 	}
 
 	@Transactional
 	public Employee create(Employee employee) {
-		return employeeRepository.save(employee);
+		// A null version marks the entity as new, so it is inserted rather than merged
+		employee.setVersion(null);
+		Employee saved = employeeRepository.save(employee);
+		eventPublisher.publishEvent(EmployeeChangedEvent.created(saved));
+		return saved;
+	}
+
+	/**
+	 * Replace all fields of an employee.
+	 *
+	 * @param expectedVersion the version the client last read; null to overwrite unconditionally
+	 */
+	@Transactional
+	public WriteResult update(Long id, Employee update, Long expectedVersion) {
+		Optional<Employee> found = employeeRepository.findById(id);
+		if (found.isEmpty()) {
+			return WriteResult.notFound();
+		}
+		Employee existing = found.get();
+		if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+			return WriteResult.conflict();
+		}
+		Long previousManagerId = existing.getManagerId();
+		existing.setFirstName(update.getFirstName());
+		existing.setLastName(update.getLastName());
+		existing.setEmail(update.getEmail());
+		existing.setPhoneNumber(update.getPhoneNumber());
+		existing.setHireDate(update.getHireDate());
+		existing.setJobId(update.getJobId());
+		existing.setSalary(update.getSalary());
+		existing.setCommissionPct(update.getCommissionPct());
+		existing.setManagerId(update.getManagerId());
+		existing.setDepartmentId(update.getDepartmentId());
+		// Flush now so a concurrent writer surfaces as an optimistic locking failure here,
+		// and the returned entity carries the incremented version
+		Employee saved = employeeRepository.saveAndFlush(existing);
+		eventPublisher.publishEvent(EmployeeChangedEvent.updated(saved, previousManagerId));
+		return WriteResult.updated(saved);
+	}
+
+	/**
+	 * Apply only the given fields with a single UPDATE (no read beforehand). The
+	 * row is read back afterwards for the response and change listeners.
+	 *
+	 * @param changes attribute name to already-converted value, see {@link EmployeeWriteRepository}
+	 * @param expectedVersion the version the client last read; null to update unconditionally
+	 */
+	@Transactional
+	public WriteResult patch(Long id, Map<String, Object> changes, Long expectedVersion) {
+		if (employeeRepository.updateFields(id, changes, expectedVersion) == 0) {
+			return employeeRepository.findRowVersionById(id).isPresent() ? WriteResult.conflict() : WriteResult.notFound();
+		}
+		Employee saved = employeeRepository.findById(id).orElseThrow();
+		eventPublisher.publishEvent(EmployeeChangedEvent.patched(saved, changes.containsKey("managerId")));
+		return WriteResult.updated(saved);
+	}
+
+	/**
+	 * Apply a change set to the selected employees with set-based UPDATE statements in one
+	 * transaction: one statement for a filter, one per 1000 IDs for an ID list.
+	 *
+	 * @return the number of employees updated
+	 * @throws IllegalArgumentException if the new manager is one of the employees the filter selects
+	 */
+	@Transactional
+	public int bulkUpdate(BulkEmployeeUpdate request) {
+		if (request.managerId() != null && request.filter() != null && employeeRepository.exists(
+			EmployeeSpecifications.matching(request.filter()).and(EmployeeSpecifications.withIds(List.of(request.managerId()))))) {
+			throw new IllegalArgumentException("Employee " + request.managerId() + " cannot be its own manager");
+		}
+		BigDecimal salaryFactor = request.salaryRaisePct() == null ? null
+			: BigDecimal.ONE.add(request.salaryRaisePct().movePointLeft(2));
+		int updated = forEachSelection(request.ids(), request.filter(), spec -> employeeRepository.updateMatching(
+			spec, request.departmentId(), request.managerId(), salaryFactor));
+		if (updated > 0) {
+			eventPublisher.publishEvent(EmployeesBulkChangedEvent.updated(updated, request.managerId() != null));
+		}
+		return updated;
 	}
 
+	/**
+	 * Delete the selected employees with set-based DELETE statements in one transaction.
+	 *
+	 * @return the number of employees deleted
+	 */
 	@Transactional
-	public Optional<Employee> update(Long id, Employee update) {
-		return employeeRepository.findById(id)
-			.map(existing -> {
-				existing.setFirstName(update.getFirstName());
-				existing.setLastName(update.getLastName());
-				existing.setEmail(update.getEmail());
-				existing.setPhoneNumber(update.getPhoneNumber());
-				existing.setHireDate(update.getHireDate());
-				existing.setJobId(update.getJobId());
-				existing.setSalary(update.getSalary());
-				existing.setCommissionPct(update.getCommissionPct());
-				existing.setManagerId(update.getManagerId());
-				existing.setDepartmentId(update.getDepartmentId());
-				return employeeRepository.save(existing);
-			});
+	public int bulkDelete(BulkEmployeeDelete request) {
+		int deleted = forEachSelection(request.ids(), request.filter(), employeeRepository::deleteMatching);
+		if (deleted > 0) {
+			eventPublisher.publishEvent(EmployeesBulkChangedEvent.deleted(deleted));
+		}
+		return deleted;
+	}
+
+	private int forEachSelection(List<Long> ids, EmployeeSearchCriteria filter,
+		ToIntFunction<Specification<Employee>> statement) {
+		if (ids == null) {
+			return statement.applyAsInt(EmployeeSpecifications.matching(filter));
+		}
+		int affected = 0;
+		List<Long> distinct = ids.stream().distinct().toList();
+		for (int from = 0; from < distinct.size(); from += IN_LIST_CHUNK_SIZE) {
+			List<Long> chunk = distinct.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, distinct.size()));
+			affected += statement.applyAsInt(EmployeeSpecifications.withIds(chunk));
+		}
+		return affected;
 	}
 
 	@Transactional
 	public boolean delete(Long id) {
-		if (!employeeRepository.existsById(id)) {
+		Optional<Employee> existing = employeeRepository.findById(id);
+		if (existing.isEmpty()) {
 			return false;
 		}
-		employeeRepository.deleteById(id);
+		employeeRepository.delete(existing.get());
+		eventPublisher.publishEvent(EmployeeChangedEvent.deleted(existing.get()));
 		return true;
 	}
-}
 
+	/**
+	 * Outcome of a versioned write.
+	 */
+	public record WriteResult(Outcome outcome, Employee employee) {
 
+		public enum Outcome {
+			UPDATED, NOT_FOUND, CONFLICT
+		}
+
+		static WriteResult updated(Employee employee) {
+			return new WriteResult(Outcome.UPDATED, employee);
+		}
+
+		static WriteResult notFound() {
+			return new WriteResult(Outcome.NOT_FOUND, null);
+		}
+
+		static WriteResult conflict() {
+			return new WriteResult(Outcome.CONFLICT, null);
+		}
+	}
+}
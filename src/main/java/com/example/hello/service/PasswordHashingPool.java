@@ -0,0 +1,85 @@
+package com.example.hello.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hashes passwords for bulk user creation on a fixed pool of
+ * {@code users.admin.hash-threads} workers (0: one per core).
+ * <p>
+ * BCrypt is deliberately slow (tens of milliseconds per hash), so thousands
+ * of accounts hashed on the request thread would take minutes. The pool is
+ * shared by all requests, so concurrent bulk creations queue for the same
+ * workers instead of taking every core away from request handling.
+ */
+@Component
+public class PasswordHashingPool {
+
+	private final PasswordEncoder passwordEncoder;
+	private final int threads;
+	private final ExecutorService workers;
+	private final Timer hashTimer;
+
+	public PasswordHashingPool(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+		@Value("${users.admin.hash-threads:0}") int hashThreads) {
+		this.passwordEncoder = passwordEncoder;
+		this.threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadCount = new AtomicInteger();
+		this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.hashTimer = Timer.builder("users.password.hashing")
+			.description("Time to hash the passwords of one bulk user creation")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * The encoded passwords, in the order given. Each worker takes one contiguous slice.
+	 */
+	public List<String> encodeAll(List<String> rawPasswords) {
+		long start = System.nanoTime();
+		int sliceSize = Math.max(1, (rawPasswords.size() + threads - 1) / threads);
+		List<Callable<List<String>>> slices = new ArrayList<>();
+		for (int from = 0; from < rawPasswords.size(); from += sliceSize) {
+			List<String> slice = rawPasswords.subList(from, Math.min(from + sliceSize, rawPasswords.size()));
+			slices.add(() -> slice.stream().map(passwordEncoder::encode).toList());
+		}
+		try {
+			List<String> encoded = new ArrayList<>(rawPasswords.size());
+			for (Future<List<String>> slice : workers.invokeAll(slices)) {
+				encoded.addAll(slice.get());
+			}
+			return encoded;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while hashing passwords", e);
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof RuntimeException runtime ? runtime
+				: new IllegalStateException("Could not hash passwords", e.getCause());
+		} finally {
+			hashTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		workers.shutdownNow();
+	}
+}
@@ -16,8 +16,12 @@ public class PostService {
 
     private final RestClient restClient;
 
-	public PostService(@Value("${external.posts.base-url}") String postsBaseUrl) {
-		this.restClient = RestClient.builder()
+	/**
+	 * Uses the auto-configured builder so responses are read with the application's
+	 * tuned ObjectMapper (see {@code JacksonConfig}) rather than a default one.
+	 */
+	public PostService(RestClient.Builder restClientBuilder, @Value("${external.posts.base-url}") String postsBaseUrl) {
+		this.restClient = restClientBuilder
 			.baseUrl(postsBaseUrl)
 			.build();
 	}
@@ -0,0 +1,171 @@
+package com.example.hello.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.cache.CacheInvalidationBus;
+import com.example.hello.config.CacheConfig;
+import com.example.hello.dto.BulkAuthorityUpdate;
+import com.example.hello.dto.NewUser;
+import com.example.hello.dto.UserView;
+import com.example.hello.model.Authority;
+import com.example.hello.model.User;
+import com.example.hello.repository.AuthorityRepository;
+import com.example.hello.repository.UserRepository;
+
+/**
+ * Reads and bulk writes behind the user administration API.
+ * <p>
+ * Every read issues a fixed number of statements however many users and
+ * authorities it returns: one user, one select; a page, a select of the IDs
+ * (plus Spring Data's count when the page is not the only one) and one select
+ * of those users with their authorities.
+ * <p>
+ * Writes go through batched JDBC ({@link com.example.hello.repository.UserWriteRepository})
+ * and clear the {@code users} caches on every node after commit, which also
+ * evicts the Hibernate user regions (see {@link com.example.hello.cache.JpaCacheRegions}).
+ */
+@Service
+public class UserAdminService {
+
+	/** Oracle rejects IN lists longer than 1000 expressions, so username lookups are chunked. */
+	private static final int IN_LIST_CHUNK_SIZE = 1000;
+
+	private final UserRepository userRepository;
+	private final AuthorityRepository authorityRepository;
+	private final PasswordHashingPool passwordHashingPool;
+	private final CacheInvalidationBus invalidationBus;
+	private final TransactionTemplate transactionTemplate;
+
+	public UserAdminService(UserRepository userRepository, AuthorityRepository authorityRepository,
+		PasswordHashingPool passwordHashingPool, CacheInvalidationBus invalidationBus,
+		TransactionTemplate transactionTemplate) {
+		this.userRepository = userRepository;
+		this.authorityRepository = authorityRepository;
+		this.passwordHashingPool = passwordHashingPool;
+		this.invalidationBus = invalidationBus;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	@Transactional(readOnly = true)
+	public Page<UserView> list(Pageable pageable) {
+		Page<Long> ids = userRepository.findIds(pageable);
+		if (ids.isEmpty()) {
+			return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+		}
+		Map<Long, User> users = userRepository.findWithAuthoritiesByIdIn(ids.getContent()).stream()
+			.collect(Collectors.toMap(User::getId, Function.identity()));
+		// In page order; a user deleted between the two selects is left out
+		List<UserView> views = ids.getContent().stream()
+			.map(users::get)
+			.filter(Objects::nonNull)
+			.map(UserView::from)
+			.toList();
+		return new PageImpl<>(views, pageable, ids.getTotalElements());
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<UserView> get(String username) {
+		return userRepository.findWithAuthoritiesByUsername(username).map(UserView::from);
+	}
+
+	/**
+	 * Create the users with their authorities, all or none. Passwords are hashed
+	 * on the {@link PasswordHashingPool} before the transaction starts, so no
+	 * connection is held meanwhile. Returns the number of users created.
+	 *
+	 * @throws DuplicateKeyException if a username is already taken
+	 */
+	public int createUsers(List<NewUser> newUsers) {
+		// Checked up front so a rejected request does not cost the hashing
+		Set<String> taken = existingUsernames(newUsers.stream().map(NewUser::username).toList());
+		if (!taken.isEmpty()) {
+			throw new DuplicateKeyException("Users already exist: " + taken);
+		}
+		List<String> hashes = passwordHashingPool.encodeAll(newUsers.stream().map(NewUser::password).toList());
+		List<User> users = new ArrayList<>(newUsers.size());
+		List<Authority> authorities = new ArrayList<>();
+		for (int i = 0; i < newUsers.size(); i++) {
+			NewUser newUser = newUsers.get(i);
+			users.add(new User(newUser.username(), hashes.get(i), newUser.enabled() == null || newUser.enabled()));
+			if (newUser.authorities() != null) {
+				newUser.authorities().stream()
+					.distinct()
+					.forEach(authority -> authorities.add(new Authority(newUser.username(), authority)));
+			}
+		}
+		return transactionTemplate.execute(status -> {
+			// A username taken since the check fails the batch on the unique constraint
+			int created = userRepository.insertUsers(users);
+			userRepository.insertAuthorities(authorities);
+			// Also drops cached "unknown user" lookups of the new names
+			invalidationBus.clear(CacheConfig.USERS);
+			return created;
+		});
+	}
+
+	/**
+	 * Grant and revoke roles for the given users in one transaction. Only the
+	 * missing grants are inserted and only the held roles deleted, each in
+	 * batches. Returns the number of authority rows added plus removed.
+	 *
+	 * @throws IllegalArgumentException naming the usernames that do not exist
+	 */
+	public int updateAuthorities(BulkAuthorityUpdate update) {
+		List<String> usernames = update.usernames().stream().distinct().toList();
+		List<String> grant = update.grant() == null ? List.of() : update.grant();
+		List<String> revoke = update.revoke() == null ? List.of() : update.revoke();
+		return transactionTemplate.execute(status -> {
+			Set<String> existing = existingUsernames(usernames);
+			if (existing.size() < usernames.size()) {
+				List<String> unknown = usernames.stream().filter(username -> !existing.contains(username)).toList();
+				throw new IllegalArgumentException("Unknown users: " + unknown);
+			}
+			Map<String, Set<String>> held = new HashMap<>();
+			for (int from = 0; from < usernames.size(); from += IN_LIST_CHUNK_SIZE) {
+				authorityRepository.findByUsernameIn(usernames.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, usernames.size())))
+					.forEach(authority -> held.computeIfAbsent(authority.getUsername(), ignored -> new HashSet<>())
+						.add(authority.getAuthority()));
+			}
+			List<Authority> added = new ArrayList<>();
+			List<Authority> removed = new ArrayList<>();
+			for (String username : usernames) {
+				Set<String> roles = held.getOrDefault(username, Set.of());
+				grant.stream().distinct().filter(role -> !roles.contains(role))
+					.forEach(role -> added.add(new Authority(username, role)));
+				revoke.stream().distinct().filter(roles::contains)
+					.forEach(role -> removed.add(new Authority(username, role)));
+			}
+			int changed = userRepository.insertAuthorities(added) + userRepository.deleteAuthorities(removed);
+			if (changed > 0) {
+				invalidationBus.clear(CacheConfig.USERS);
+			}
+			return changed;
+		});
+	}
+
+	private Set<String> existingUsernames(List<String> usernames) {
+		Set<String> existing = new HashSet<>();
+		for (int from = 0; from < usernames.size(); from += IN_LIST_CHUNK_SIZE) {
+			existing.addAll(userRepository.findExistingUsernames(
+				usernames.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, usernames.size()))));
+		}
+		return existing;
+	}
+}
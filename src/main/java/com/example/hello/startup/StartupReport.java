@@ -0,0 +1,137 @@
+package com.example.hello.startup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Summary of the startup timeline recorded by {@link BufferingApplicationStartup}:
+ * time to ready, the slowest individual steps and the total time per step name.
+ * Built once when the application is ready and logged, so a regression shows up
+ * in the deploy logs; the full timeline stays available at /actuator/startup.
+ * <p>
+ * Step durations are inclusive: a bean's instantiation contains the
+ * instantiation of the dependencies it triggered. The warm-up that runs
+ * after the context is ready ({@link Warmup}) is reported separately.
+ */
+@Component
+public class StartupReport {
+
+	private static final Logger logger = LoggerFactory.getLogger(StartupReport.class);
+
+	private final ApplicationStartup applicationStartup;
+
+	@Value("${startup.report.slowest-steps:20}")
+	private int slowestSteps;
+
+	private volatile Summary summary;
+	private volatile Warmup warmup;
+
+	public StartupReport(ApplicationStartup applicationStartup) {
+		this.applicationStartup = applicationStartup;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady(ApplicationReadyEvent event) {
+		// Only recorded when started through EmployeeManagementApplication.main, not e.g. in tests
+		if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+			return;
+		}
+		summary = summarize(buffering.getBufferedTimeline(), event.getTimeTaken(),
+			ManagementFactory.getRuntimeMXBean().getUptime());
+		logger.info("Started in {}ms ({}ms JVM uptime), {} startup steps recorded; slowest:", summary.startupMillis(),
+			summary.jvmUptimeMillis(), summary.recordedSteps());
+		summary.slowestSteps().stream().limit(10)
+			.forEach(step -> logger.info("  {}ms {} {}", step.millis(), step.name(), step.tags()));
+	}
+
+	/**
+	 * The summary computed at startup, or null while the application is still starting.
+	 */
+	public Summary summary() {
+		Summary current = summary;
+		return current == null ? null : current.withWarmup(warmup);
+	}
+
+	public void warmupCompleted(Warmup warmup) {
+		this.warmup = warmup;
+	}
+
+	private Summary summarize(StartupTimeline timeline, Duration timeTaken, long jvmUptimeMillis) {
+		List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+		List<Step> slowest = events.stream()
+			.sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+			.limit(slowestSteps)
+			.map(StartupReport::toStep)
+			.toList();
+		Map<String, Long> millisByName = events.stream()
+			.collect(Collectors.groupingBy(e -> e.getStartupStep().getName(),
+				Collectors.summingLong(e -> e.getDuration().toMillis())))
+			.entrySet().stream()
+			.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+			.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+		return new Summary(timeline.getStartTime(), timeTaken == null ? -1 : timeTaken.toMillis(), jvmUptimeMillis,
+			events.size(), slowest, millisByName, null);
+	}
+
+	private static Step toStep(StartupTimeline.TimelineEvent event) {
+		Map<String, String> tags = new LinkedHashMap<>();
+		for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+			tags.put(tag.getKey(), tag.getValue());
+		}
+		return new Step(event.getStartupStep().getName(), event.getDuration().toMillis(), tags);
+	}
+
+	/**
+	 * One recorded step and its inclusive duration.
+	 */
+	public record Step(String name, long millis, Map<String, String> tags) {
+	}
+
+	/**
+	 * Startup duration, slowest steps and total inclusive time per step name,
+	 * plus the warm-up once it has finished.
+	 */
+	public record Summary(
+		Instant startedAt,
+		long startupMillis,
+		long jvmUptimeMillis,
+		int recordedSteps,
+		List<Step> slowestSteps,
+		Map<String, Long> millisByStepName,
+		Warmup warmup) {
+
+		Summary withWarmup(Warmup warmup) {
+			return new Summary(startedAt, startupMillis, jvmUptimeMillis, recordedSteps, slowestSteps,
+				millisByStepName, warmup);
+		}
+	}
+
+	/**
+	 * Time spent warming up before reporting ready, per phase.
+	 */
+	public record Warmup(long millis, List<WarmupPhase> phases) {
+	}
+
+	/**
+	 * One warm-up phase and how many items (keys, requests) it covered.
+	 */
+	public record WarmupPhase(String name, int items, long millis) {
+	}
+}
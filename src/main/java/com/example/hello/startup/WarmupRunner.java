@@ -0,0 +1,189 @@
+package com.example.hello.startup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import com.example.hello.cache.AccessFrequencyTracker;
+import com.example.hello.config.CacheConfig;
+import com.example.hello.dto.EmployeeSearchCriteria;
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.model.Employee;
+import com.example.hello.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Warms the instance up after the context is ready and before it takes traffic.
+ * <p>
+ * Spring Boot switches readiness to ACCEPTING_TRAFFIC only after every
+ * ApplicationReadyEvent listener has returned, and this one runs last. With
+ * {@code management.health.readinessstate.enabled=true} /actuator/health reports
+ * OUT_OF_SERVICE (503) until then, so the load balancer keeps the instance
+ * out of rotation while it:
+ * <ol>
+ * <li>preloads the {@code warmup.employees} most-accessed employees into the
+ * employee cache, by ID from the {@link AccessFrequencyTracker} snapshots;</li>
+ * <li>preloads the {@code warmup.users} most-accessed users with their authorities;</li>
+ * <li>runs the service calls behind GET /api/employees/{id} and
+ * /api/employees/search {@code warmup.requests} times (at most
+ * {@code warmup.max-request-millis}) and serializes the results, so the JIT
+ * compiles the request path before real requests hit it.</li>
+ * </ol>
+ * The request phase stays below the controllers: they expect a real request
+ * from the filter chain (security, conditional headers, content negotiation),
+ * which only a loopback HTTP call with credentials could provide.
+ * Phase timings are logged, recorded as the {@code startup.warmup} timer and
+ * included in /api/admin/startup-report. Failures are logged and never block startup.
+ */
+@Component
+public class WarmupRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+	private final EmployeeService employeeService;
+	private final UserDetailsService userDetailsService;
+	private final AccessFrequencyTracker accessTracker;
+	private final ObjectMapper objectMapper;
+	private final StartupReport startupReport;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${warmup.enabled:true}")
+	private boolean enabled;
+
+	@Value("${warmup.employees:1000}")
+	private int employees;
+
+	@Value("${warmup.users:200}")
+	private int users;
+
+	@Value("${warmup.requests:500}")
+	private int requests;
+
+	@Value("${warmup.max-request-millis:10000}")
+	private long maxRequestMillis;
+
+	public WarmupRunner(EmployeeService employeeService, UserDetailsService userDetailsService, AccessFrequencyTracker accessTracker, ObjectMapper objectMapper,
+		StartupReport startupReport, MeterRegistry meterRegistry) {
+		this.employeeService = employeeService;
+		this.userDetailsService = userDetailsService;
+		this.accessTracker = accessTracker;
+		this.objectMapper = objectMapper;
+		this.startupReport = startupReport;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	public void warmUp() {
+		if (!enabled) {
+			return;
+		}
+		long start = System.nanoTime();
+		// Warm-up lookups must not make the keys look hot in the next snapshot
+		accessTracker.setRecording(false);
+		List<StartupReport.WarmupPhase> phases = new ArrayList<>();
+		try {
+			List<Long> employeeIds = accessTracker.hottest(CacheConfig.EMPLOYEES, employees).stream()
+				.map(Long::valueOf)
+				.toList();
+			phases.add(phase("employees", employeeIds, employeeService::preload));
+			phases.add(phase("users", accessTracker.hottest(CacheConfig.USERS, users), this::loadUsers));
+			phases.add(phase("requests", employeeIds, this::requestLoop));
+		} catch (RuntimeException e) {
+			logger.warn("Warm-up stopped early: {}", e.getMessage(), e);
+		} finally {
+			accessTracker.setRecording(true);
+		}
+		StartupReport.Warmup warmup = new StartupReport.Warmup(
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), phases);
+		startupReport.warmupCompleted(warmup);
+		logger.info("Warmed up in {}ms: {}", warmup.millis(), phases);
+	}
+
+	private <T> StartupReport.WarmupPhase phase(String name, T input, ToIntFunction<T> work) {
+		long start = System.nanoTime();
+		int items = work.applyAsInt(input);
+		long nanos = System.nanoTime() - start;
+		Timer.builder("startup.warmup")
+			.description("Time spent warming up before reporting ready")
+			.tag("phase", name)
+			.register(meterRegistry)
+			.record(nanos, TimeUnit.NANOSECONDS);
+		return new StartupReport.WarmupPhase(name, items, TimeUnit.NANOSECONDS.toMillis(nanos));
+	}
+
+	private int loadUsers(List<String> usernames) {
+		int loaded = 0;
+		for (String username : usernames) {
+			try {
+				userDetailsService.loadUserByUsername(username);
+				loaded++;
+			} catch (UsernameNotFoundException e) {
+				// Deleted since the snapshot
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * What the get and search endpoints do for an unconditional request, cycling
+	 * over the hot employees (or the first page when there is no snapshot yet).
+	 */
+	private int requestLoop(List<Long> hotIds) {
+		List<Long> ids = hotIds.isEmpty() ? firstPageIds() : hotIds;
+		if (ids.isEmpty() || requests <= 0) {
+			return 0;
+		}
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxRequestMillis);
+		int sent = 0;
+		while (sent < requests && System.nanoTime() < deadline) {
+			Long id = ids.get(sent % ids.size());
+			serialize(sent % 2 == 0
+				? employeeService.rowVersion(id).flatMap(version -> employeeService.getById(id, version)).orElse(null)
+				: new PagedModel<>(employeeService.search(departmentOf(id), PageRequest.of(0, 20, Sort.by("id")))));
+			sent++;
+		}
+		return sent;
+	}
+
+	private List<Long> firstPageIds() {
+		return employeeService.search(departmentOf(null), PageRequest.of(0, 100, Sort.by("id")))
+			.map(EmployeeView::id)
+			.getContent();
+	}
+
+	private EmployeeSearchCriteria departmentOf(Long employeeId) {
+		Long departmentId = employeeId == null ? null
+			: employeeService.getById(employeeId).map(Employee::getDepartmentId).orElse(null);
+		return new EmployeeSearchCriteria(departmentId, null, null, null, null, null, null, null, null);
+	}
+
+	private void serialize(Object body) {
+		if (body != null) {
+			try {
+				objectMapper.writeValueAsBytes(body);
+			} catch (JsonProcessingException e) {
+				throw new IllegalStateException("Could not serialize warm-up response", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,26 @@
+-- =====================================================
+-- Flyway Migration: V10__Create_Cache_Invalidations.sql
+-- Description: Change log behind the cross-node cache invalidation bus
+-- Author: Mahendra Chaurasia
+-- Date: 2025-10-22
+-- =====================================================
+
+-- One row per evicted key (or cleared region), inserted in the transaction of
+-- the write that made the cached value stale. Every instance polls ID > cursor
+-- and evicts locally; IDs skipped because their transaction had not committed
+-- yet are re-checked until they appear or time out
+CREATE TABLE CACHE_INVALIDATIONS (
+    ID NUMBER(19) GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    REGION VARCHAR2(50) NOT NULL,
+    CACHE_KEY VARCHAR2(200),
+    NODE_ID VARCHAR2(100) NOT NULL,
+    CREATED_AT TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_CACHE_INVALIDATIONS_CREATED ON CACHE_INVALIDATIONS(CREATED_AT);
+
+COMMENT ON TABLE CACHE_INVALIDATIONS IS 'Cache evictions broadcast to all application instances';
+COMMENT ON COLUMN CACHE_INVALIDATIONS.REGION IS 'Cache region, e.g. employees or users';
+COMMENT ON COLUMN CACHE_INVALIDATIONS.CACHE_KEY IS 'Evicted key; null clears the whole region';
+COMMENT ON COLUMN CACHE_INVALIDATIONS.NODE_ID IS 'Instance that made the change (it has already evicted locally)';
+COMMENT ON COLUMN CACHE_INVALIDATIONS.CREATED_AT IS 'Time of the eviction (UTC), used for purging';
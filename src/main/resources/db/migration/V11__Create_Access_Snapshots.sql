@@ -0,0 +1,25 @@
+-- =====================================================
+-- Flyway Migration: V11__Create_Access_Snapshots.sql
+-- Description: Access-frequency snapshots used to warm caches on startup
+-- Author: Mahendra Chaurasia
+-- Date: 2025-10-23
+-- =====================================================
+
+-- Each instance inserts the hit counts of its most-accessed keys when it shuts
+-- down. A starting instance preloads the keys with the most hits summed over
+-- recent snapshots, so the hot set survives deploys and is shared by new nodes
+CREATE TABLE ACCESS_SNAPSHOTS (
+    ID NUMBER(19) GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    REGION VARCHAR2(50) NOT NULL,
+    CACHE_KEY VARCHAR2(200) NOT NULL,
+    HITS NUMBER(19) NOT NULL,
+    RECORDED_AT TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_ACCESS_SNAPSHOTS_REGION ON ACCESS_SNAPSHOTS(REGION, RECORDED_AT);
+
+COMMENT ON TABLE ACCESS_SNAPSHOTS IS 'Hit counts of the hottest cache keys, written at shutdown for startup warm-up';
+COMMENT ON COLUMN ACCESS_SNAPSHOTS.REGION IS 'Cache region, e.g. employees or users';
+COMMENT ON COLUMN ACCESS_SNAPSHOTS.CACHE_KEY IS 'Accessed key (employee ID, username)';
+COMMENT ON COLUMN ACCESS_SNAPSHOTS.HITS IS 'Lookups of the key during the instance lifetime';
+COMMENT ON COLUMN ACCESS_SNAPSHOTS.RECORDED_AT IS 'Time of the snapshot (UTC), used for expiry';
@@ -0,0 +1,20 @@
+-- =====================================================
+-- Flyway Migration: V12__Create_Employee_Change_Relay.sql
+-- Description: Relay lock and feed position of the employee change feed
+-- Author: Mahendra Chaurasia
+-- Date: 2025-10-24
+-- =====================================================
+
+-- Every instance may relay. A relay locks this single row (SELECT ... FOR UPDATE)
+-- for its whole transaction, numbers rows from LAST_SEQ + 1 and stores the new
+-- LAST_SEQ, so relays run one at a time and SEQ order stays commit order
+CREATE TABLE EMPLOYEE_CHANGE_RELAY (
+    ID NUMBER(1) PRIMARY KEY,
+    LAST_SEQ NUMBER(19) NOT NULL
+);
+
+INSERT INTO EMPLOYEE_CHANGE_RELAY (ID, LAST_SEQ)
+SELECT 1, COALESCE(MAX(SEQ), 0) FROM EMPLOYEE_CHANGES;
+
+COMMENT ON TABLE EMPLOYEE_CHANGE_RELAY IS 'Single-row lock serializing the employee change relay';
+COMMENT ON COLUMN EMPLOYEE_CHANGE_RELAY.LAST_SEQ IS 'Highest SEQ assigned in EMPLOYEE_CHANGES';
@@ -0,0 +1,17 @@
+-- =====================================================
+-- Flyway Migration: V5__Add_Employee_Search_Indexes.sql
+-- Description: Composite indexes for common employee search filters
+-- Author: Mahendra Chaurasia
+-- Date: 2025-10-20
+-- =====================================================
+
+-- Department + job is the most common filter combination; the index also
+-- covers department-only lookups through its leading column
+CREATE INDEX IDX_EMPLOYEES_DEPT_JOB ON EMPLOYEES(DEPARTMENT_ID, JOB_ID);
+
+-- Salary range within a department or a job
+CREATE INDEX IDX_EMPLOYEES_DEPT_SALARY ON EMPLOYEES(DEPARTMENT_ID, SALARY);
+CREATE INDEX IDX_EMPLOYEES_JOB_SALARY ON EMPLOYEES(JOB_ID, SALARY);
+
+-- Hire date range within a department
+CREATE INDEX IDX_EMPLOYEES_DEPT_HIRE_DATE ON EMPLOYEES(DEPARTMENT_ID, HIRE_DATE);
@@ -0,0 +1,15 @@
+-- =====================================================
+-- Flyway Migration: V6__Add_Employee_Last_Modified.sql
+-- Description: Last-modified timestamp for conditional GETs (ETag / Last-Modified)
+-- Author: Mahendra Chaurasia
+-- Date: 2025-10-20
+-- =====================================================
+
+-- Maintained by the application in UTC on every insert and update of an
+-- Employee; existing rows are stamped with the migration time
+ALTER TABLE EMPLOYEES ADD LAST_MODIFIED TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+-- Originally served MAX(LAST_MODIFIED) for the list ETag. The list ETag now comes
+-- from the EMPLOYEE_CHANGES outbox (V9) and the list sends no Last-Modified; the
+-- column still backs the ETag and Last-Modified of a single employee
+CREATE INDEX IDX_EMPLOYEES_LAST_MODIFIED ON EMPLOYEES(LAST_MODIFIED);
@@ -0,0 +1,10 @@
+-- =====================================================
+-- Flyway Migration: V7__Add_Employee_Version.sql
+-- Description: Optimistic locking version for EMPLOYEES
+-- Author: Mahendra Chaurasia
+-- Date: 2025-10-20
+-- =====================================================
+
+-- Incremented on every update (JPA @Version, PATCH and bulk updates);
+-- writes carrying a stale version are rejected instead of overwriting
+ALTER TABLE EMPLOYEES ADD VERSION NUMBER(19) DEFAULT 0 NOT NULL;
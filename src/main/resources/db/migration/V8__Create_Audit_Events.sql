@@ -0,0 +1,34 @@
+-- =====================================================
+-- Flyway Migration: V8__Create_Audit_Events.sql
+-- Description: Persistent audit trail for @AuditLog operations
+-- Author: Mahendra Chaurasia
+-- Date: 2025-10-21
+-- =====================================================
+
+-- Append-only; rows are inserted in JDBC batches by AuditEventWriter
+CREATE TABLE AUDIT_EVENTS (
+    ID NUMBER(19) GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    EVENT_TIME TIMESTAMP NOT NULL,
+    USERNAME VARCHAR2(45) NOT NULL,
+    ACTION VARCHAR2(100) NOT NULL,
+    RESOURCE_TYPE VARCHAR2(100) NOT NULL,
+    OUTCOME VARCHAR2(10) NOT NULL,
+    DURATION_MS NUMBER(19) NOT NULL,
+    MESSAGE VARCHAR2(500),
+    ERROR_MESSAGE VARCHAR2(1000)
+);
+
+-- The query API filters by user or action and always orders by time
+CREATE INDEX IDX_AUDIT_EVENTS_TIME ON AUDIT_EVENTS(EVENT_TIME);
+CREATE INDEX IDX_AUDIT_EVENTS_USER_TIME ON AUDIT_EVENTS(USERNAME, EVENT_TIME);
+CREATE INDEX IDX_AUDIT_EVENTS_ACTION_TIME ON AUDIT_EVENTS(ACTION, EVENT_TIME);
+
+COMMENT ON TABLE AUDIT_EVENTS IS 'Audit trail of @AuditLog operations';
+COMMENT ON COLUMN AUDIT_EVENTS.EVENT_TIME IS 'Operation start time (UTC)';
+COMMENT ON COLUMN AUDIT_EVENTS.USERNAME IS 'Authenticated user, or SYSTEM';
+COMMENT ON COLUMN AUDIT_EVENTS.ACTION IS 'Audited action, e.g. UPDATE_EMPLOYEE';
+COMMENT ON COLUMN AUDIT_EVENTS.RESOURCE_TYPE IS 'Affected resource, e.g. EMPLOYEE';
+COMMENT ON COLUMN AUDIT_EVENTS.OUTCOME IS 'SUCCESS or FAILURE';
+COMMENT ON COLUMN AUDIT_EVENTS.DURATION_MS IS 'Operation duration in milliseconds';
+COMMENT ON COLUMN AUDIT_EVENTS.MESSAGE IS 'Message from the @AuditLog annotation';
+COMMENT ON COLUMN AUDIT_EVENTS.ERROR_MESSAGE IS 'Exception message when the operation failed';
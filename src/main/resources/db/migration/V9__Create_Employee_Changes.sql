@@ -0,0 +1,30 @@
+-- =====================================================
+-- Flyway Migration: V9__Create_Employee_Changes.sql
+-- Description: Transactional outbox behind the employee change feed
+-- Author: Mahendra Chaurasia
+-- Date: 2025-10-21
+-- =====================================================
+
+-- Rows are inserted in the same transaction as the employee change, with SEQ
+-- null. The relay numbers them after commit, so SEQ order is commit order and
+-- a consumer reading SEQ > cursor never skips a change committed late
+CREATE TABLE EMPLOYEE_CHANGES (
+    ID NUMBER(19) GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    SEQ NUMBER(19),
+    EMPLOYEE_ID NUMBER(19),
+    CHANGE_TYPE VARCHAR2(20) NOT NULL,
+    VERSION NUMBER(19),
+    CHANGED_AT TIMESTAMP NOT NULL,
+    PUBLISHED_AT TIMESTAMP,
+    PAYLOAD VARCHAR2(4000),
+    CONSTRAINT UK_EMPLOYEE_CHANGES_SEQ UNIQUE (SEQ)
+);
+
+COMMENT ON TABLE EMPLOYEE_CHANGES IS 'Outbox of employee changes served by /api/employees/changes';
+COMMENT ON COLUMN EMPLOYEE_CHANGES.SEQ IS 'Feed cursor, assigned by the relay after commit; null until published';
+COMMENT ON COLUMN EMPLOYEE_CHANGES.EMPLOYEE_ID IS 'Changed employee; null for bulk changes';
+COMMENT ON COLUMN EMPLOYEE_CHANGES.CHANGE_TYPE IS 'CREATED, UPDATED, DELETED, BULK_UPDATED or BULK_DELETED';
+COMMENT ON COLUMN EMPLOYEE_CHANGES.VERSION IS 'Employee VERSION after the change';
+COMMENT ON COLUMN EMPLOYEE_CHANGES.CHANGED_AT IS 'Time of the change (UTC)';
+COMMENT ON COLUMN EMPLOYEE_CHANGES.PUBLISHED_AT IS 'Time the relay assigned SEQ (UTC)';
+COMMENT ON COLUMN EMPLOYEE_CHANGES.PAYLOAD IS 'Employee JSON after the change; null for deletes and bulk changes';
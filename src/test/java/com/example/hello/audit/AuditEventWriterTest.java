@@ -0,0 +1,162 @@
+package com.example.hello.audit;
+
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the batched audit writer and the audit trail query, against an
+ * in-memory H2 schema created from V8__Create_Audit_Events.sql.
+ */
+public class AuditEventWriterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 10, 21, 9, 0);
+
+    private DriverManagerDataSource dataSource;
+    private AuditEventWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:audit;MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V8__Create_Audit_Events.sql"))
+            .execute(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+        new ResourceDatabasePopulator(new ByteArrayResource(
+            "DROP TABLE AUDIT_EVENTS".getBytes())).execute(dataSource);
+    }
+
+    @Test
+    public void shouldWriteFullBatches() throws InterruptedException {
+        writer = writer(100, 3, 60_000);
+        for (int i = 0; i < 6; i++) {
+            assertThat(writer.submit(event(i, "admin", AuditEvent.Outcome.SUCCESS))).isTrue();
+        }
+        writer.start();
+
+        await(() -> writer.stats().written() == 6);
+        assertThat(writer.stats().batches()).isEqualTo(2);
+        assertThat(writer.stats().meanBatchSize()).isEqualTo(3.0);
+    }
+
+    @Test
+    public void shouldFlushPartialBatchAfterInterval() throws InterruptedException {
+        writer = writer(100, 100, 50);
+        writer.start();
+
+        writer.submit(event(0, "user", AuditEvent.Outcome.FAILURE));
+
+        await(() -> writer.stats().written() == 1);
+        assertThat(writer.stats().batches()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldDropWhenQueueStaysFullAndFlushOnShutdown() throws InterruptedException {
+        writer = writer(2, 100, 60_000);
+
+        assertThat(writer.submit(event(0, "user", AuditEvent.Outcome.SUCCESS))).isTrue();
+        assertThat(writer.submit(event(1, "user", AuditEvent.Outcome.SUCCESS))).isTrue();
+        assertThat(writer.submit(event(2, "user", AuditEvent.Outcome.SUCCESS))).isFalse();
+        assertThat(writer.stats().backpressureWaits()).isEqualTo(1);
+        assertThat(writer.stats().dropped()).isEqualTo(1);
+
+        writer.start();
+        writer.shutdown();
+
+        assertThat(writer.stats().written()).isEqualTo(2);
+        assertThat(writer.submit(event(3, "user", AuditEvent.Outcome.SUCCESS))).isFalse();
+    }
+
+    @Test
+    public void shouldTruncateEveryColumnAndRetryFailedBatchRowByRow() throws InterruptedException {
+        writer = writer(100, 3, 60_000);
+        writer.submit(new AuditEvent(null, START, "u".repeat(60), "A".repeat(150), "R".repeat(150),
+            AuditEvent.Outcome.SUCCESS, 1, "m".repeat(499) + "\uD83D\uDE00", "e".repeat(1200)));
+        // USERNAME is NOT NULL: this row fails the batch
+        writer.submit(event(1, null, AuditEvent.Outcome.FAILURE));
+        writer.submit(event(2, "admin", AuditEvent.Outcome.SUCCESS));
+        writer.start();
+
+        await(() -> writer.stats().written() + writer.stats().failed() == 3);
+        assertThat(writer.stats().written()).isEqualTo(2);
+        assertThat(writer.stats().failed()).isEqualTo(1);
+
+        Page<AuditEvent> rows = new AuditEventRepository(dataSource).find(filter(null, null, null, null),
+            PageRequest.of(0, 10));
+        assertThat(rows.getContent()).extracting(AuditEvent::username).containsExactly("admin", "u".repeat(45));
+        AuditEvent truncated = rows.getContent().get(1);
+        assertThat(truncated.action()).hasSize(100);
+        assertThat(truncated.resource()).hasSize(100);
+        // The surrogate pair does not fit and is not split
+        assertThat(truncated.message()).isEqualTo("m".repeat(499));
+        assertThat(truncated.errorMessage()).hasSize(1000);
+    }
+
+    @Test
+    public void shouldQueryNewestFirstWithFiltersAndPages() throws InterruptedException {
+        writer = writer(100, 100, 10);
+        for (int i = 0; i < 5; i++) {
+            writer.submit(event(i, i % 2 == 0 ? "admin" : "user", i == 4 ? AuditEvent.Outcome.FAILURE
+                : AuditEvent.Outcome.SUCCESS));
+        }
+        writer.start();
+        await(() -> writer.stats().written() == 5);
+        AuditEventRepository repository = new AuditEventRepository(dataSource);
+
+        Page<AuditEvent> firstPage = repository.find(filter(null, null, null, null), PageRequest.of(0, 2));
+        assertThat(firstPage.getTotalElements()).isEqualTo(5);
+        assertThat(firstPage.getContent()).extracting(AuditEvent::eventTime)
+            .containsExactly(START.plusMinutes(4), START.plusMinutes(3));
+        assertThat(firstPage.getContent().get(0).errorMessage()).isEqualTo("failed 4");
+
+        Page<AuditEvent> admin = repository.find(filter("admin", null, START.plusMinutes(1), null), PageRequest.of(0, 10));
+        assertThat(admin.getContent()).extracting(AuditEvent::eventTime)
+            .containsExactly(START.plusMinutes(4), START.plusMinutes(2));
+
+        Page<AuditEvent> failures = repository.find(filter(null, AuditEvent.Outcome.FAILURE, null, START.plusMinutes(4)),
+            PageRequest.of(0, 10));
+        assertThat(failures.getTotalElements()).isZero();
+
+        assertThat(repository.find(filter(null, null, null, null), PageRequest.of(3, 2)).getContent()).isEmpty();
+    }
+
+    private AuditEventWriter writer(int capacity, int batchSize, long flushIntervalMs) {
+        return new AuditEventWriter(dataSource, new SimpleMeterRegistry(), capacity, batchSize, flushIntervalMs, 1);
+    }
+
+    private static AuditEvent event(int minute, String username, AuditEvent.Outcome outcome) {
+        return new AuditEvent(null, START.plusMinutes(minute), username, "UPDATE_EMPLOYEE", "EMPLOYEE", outcome, 12,
+            "Employee updated", outcome == AuditEvent.Outcome.FAILURE ? "failed " + minute : null);
+    }
+
+    private static AuditEventRepository.Filter filter(String username, AuditEvent.Outcome outcome,
+        LocalDateTime from, LocalDateTime to) {
+        return new AuditEventRepository.Filter(username, null, null, outcome, from, to);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
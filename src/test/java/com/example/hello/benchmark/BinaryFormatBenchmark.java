@@ -0,0 +1,109 @@
+package com.example.hello.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.hello.config.JacksonConfig;
+import com.example.hello.dto.EmployeeView;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * JMH comparison of JSON, CBOR and Smile for the employee list payload, using
+ * mappers configured like the application's (see {@link JacksonConfig}).
+ * Encoded sizes, raw and gzipped, are printed during setup.
+ * <p>
+ * Not part of the test suite. Run after {@code mvn test-compile} with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.example.hello.benchmark.BinaryFormatBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+    private List<EmployeeView> employees;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        JacksonConfig config = new JacksonConfig();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .factory(factory)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(config.blackbirdModule(), config.isoDateTimeModule())
+            .build();
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeView.class);
+
+        employees = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            employees.add(new EmployeeView(id, "First" + id, "Last" + id, "first.last" + id + "@company.com",
+                "555-" + (1000 + id), LocalDate.of(2020, 1, 1).plusDays(id % 2000), "IT_PROG",
+                new BigDecimal(50000 + id * 17).setScale(2), id % 3 == 0 ? new BigDecimal("0.15") : null,
+                id == 1 ? null : id / 10 + 1, 10 * (id % 9 + 1), id % 5,
+                LocalDateTime.of(2025, 10, 20, 12, 0).plusNanos(id * 1_000_017_000L)));
+        }
+        encoded = objectMapper.writeValueAsBytes(employees);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n%s: %,d employees encode to %,d bytes (%,d gzipped)%n", format, employees.size(),
+            encoded.length, gzipped.size());
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<EmployeeView> decode() throws Exception {
+        return objectMapper.readValue(encoded, listType);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BinaryFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
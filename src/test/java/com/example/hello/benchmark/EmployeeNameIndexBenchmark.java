@@ -0,0 +1,145 @@
+package com.example.hello.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.hello.dto.EmployeeSuggestion;
+import com.example.hello.event.EmployeeChangedEvent;
+import com.example.hello.index.EmployeeNameIndex;
+import com.example.hello.model.Employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static com.example.hello.benchmark.NameSearchIndexBenchmark.FIRST_NAMES;
+import static com.example.hello.benchmark.NameSearchIndexBenchmark.LAST_NAMES;
+
+/**
+ * JMH sampling of {@link EmployeeNameIndex#suggest} latency, i.e. the snapshot
+ * search of {@link NameSearchIndexBenchmark} plus the scan of a full overlay of
+ * renamed employees. The snapshot is loaded from an in-memory H2 EMPLOYEES table;
+ * the overlay is filled to {@code search.autocomplete.max-overlay} without
+ * triggering a rebuild. Compare the overlay sizes to see what each keystroke pays
+ * for a larger max-overlay.
+ * <p>
+ * Not part of the test suite. The 1M run needs a heap of about 3 GB. Run after
+ * {@code mvn test-compile} with:
+ * <pre>
+ * java -Xmx3g -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.example.hello.benchmark.EmployeeNameIndexBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EmployeeNameIndexBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"1000000"})
+    public int employees;
+
+    @Param({"500", "10000"})
+    public int overlay;
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+    private EmployeeNameIndex nameIndex;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:name-index-benchmark;MODE=Oracle");
+        // The in-memory database lives as long as one connection is open
+        keepAlive = dataSource.getConnection();
+        Random random = new Random(42);
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE EMPLOYEES (EMPLOYEE_ID NUMBER(19) PRIMARY KEY, FIRST_NAME VARCHAR2(20), "
+                + "LAST_NAME VARCHAR2(25), EMAIL VARCHAR2(50))");
+        }
+        try (PreparedStatement insert = keepAlive.prepareStatement("INSERT INTO EMPLOYEES VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= employees; i++) {
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                insert.setLong(1, i);
+                insert.setString(2, firstName);
+                insert.setString(3, lastName);
+                insert.setString(4, (firstName + "." + lastName + i + "@company.com").toLowerCase());
+                insert.addBatch();
+                if (i % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        nameIndex = new EmployeeNameIndex(dataSource, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(nameIndex, "maxOverlay", overlay);
+        ReflectionTestUtils.setField(nameIndex, "maxCandidates", 20_000);
+        nameIndex.rebuild();
+        for (int i = 0; i < overlay; i++) {
+            Employee renamed = new Employee();
+            // Distinct employees spread over the table, so the overlay holds exactly max-overlay entries
+            renamed.setId((long) i * (employees / overlay) + 1);
+            renamed.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            renamed.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            renamed.setEmail((renamed.getFirstName() + ".renamed" + renamed.getId() + "@company.com").toLowerCase());
+            nameIndex.onEmployeeChanged(EmployeeChangedEvent.patched(renamed, false));
+        }
+        System.out.printf("%n%,d employees, %,d overlay entries%n", employees, nameIndex.stats().overlayEntries());
+
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)].toLowerCase();
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)].toLowerCase();
+            queries[i] = switch (i % 4) {
+                case 0 -> first.substring(0, 1);
+                case 1 -> last.substring(0, 3);
+                case 2 -> first.substring(0, 2) + " " + last.substring(0, 3);
+                default -> first + "." + last + (random.nextInt(employees) + 1);
+            };
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        nameIndex.shutdown();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestion> suggest() {
+        return nameIndex.suggest(queries[next++ & (queries.length - 1)], LIMIT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmployeeNameIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.hello.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.hello.config.JacksonConfig;
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.dto.Post;
+import com.example.hello.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * JMH comparison of an ObjectMapper with Spring Boot's defaults and one tuned by
+ * {@link JacksonConfig}, on the employee list, a single employee update body
+ * and the external posts payload.
+ * <p>
+ * Not part of the test suite. Run after {@code mvn test-compile} with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.example.hello.benchmark.JsonSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"boot", "tuned"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeView> employees;
+    private Post[] posts;
+    private byte[] employeeJson;
+    private byte[] postsJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Spring Boot's defaults: well-known modules (jsr310) and ISO date strings
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (mapper.equals("tuned")) {
+            JacksonConfig config = new JacksonConfig();
+            builder.modulesToInstall(config.blackbirdModule(), config.isoDateTimeModule());
+        }
+        objectMapper = builder.build();
+
+        employees = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            employees.add(new EmployeeView(id, "First" + id, "Last" + id, "first.last" + id + "@company.com",
+                "555-" + (1000 + id), LocalDate.of(2020, 1, 1).plusDays(id), "IT_PROG",
+                new BigDecimal(50000 + id * 17).setScale(2), id % 3 == 0 ? new BigDecimal("0.15") : null,
+                id == 1 ? null : id / 10 + 1, 10 * (id % 9 + 1), id % 5, LocalDateTime.of(2025, 10, 20, 12, 0)));
+        }
+        posts = new Post[100];
+        for (int i = 0; i < posts.length; i++) {
+            Post post = new Post();
+            post.setUserId(1L + i / 10);
+            post.setId(i + 1L);
+            post.setTitle("sunt aut facere repellat provident occaecati excepturi optio reprehenderit " + i);
+            post.setBody("quia et suscipit\nsuscipit recusandae consequuntur expedita et cum\nreprehenderit "
+                + "molestiae ut ut quas totam\nnostrum rerum est autem sunt rem eveniet architecto " + i);
+            posts[i] = post;
+        }
+        employeeJson = objectMapper.writeValueAsBytes(employees.get(41));
+        postsJson = objectMapper.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public byte[] writeEmployeeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public Employee readEmployee() throws Exception {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] writePosts() throws Exception {
+        return objectMapper.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public Post[] readPosts() throws Exception {
+        return objectMapper.readValue(postsJson, Post[].class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
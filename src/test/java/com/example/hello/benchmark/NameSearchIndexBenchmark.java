@@ -0,0 +1,110 @@
+package com.example.hello.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.hello.index.NameSearchIndex;
+
+/**
+ * JMH sampling of type-ahead latency on {@link NameSearchIndex} over synthetic
+ * employees with unique emails. Each invocation runs the next query of a fixed
+ * mix of 1-letter, 3-letter, two-word and email-prefix queries with the
+ * application's defaults (limit 10, {@code search.autocomplete.max-candidates}
+ * 20000), so the reported percentiles (p50, p99) cover the whole mix. Build time
+ * and the index's own memory estimate are printed during setup.
+ * <p>
+ * Not part of the test suite. The 1M run needs a heap of about 2 GB. Run after
+ * {@code mvn test-compile} with:
+ * <pre>
+ * java -Xmx2g -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.example.hello.benchmark.NameSearchIndexBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NameSearchIndexBenchmark {
+
+    static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+        "Michael", "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+        "Thomas", "Sarah", "Charles", "Karen", "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Margaret",
+        "Anthony", "Betty", "Mark", "Sandra", "Donald", "Ashley", "Steven", "Kimberly", "Paul", "Emily"};
+    static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+        "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+        "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris",
+        "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright"};
+    private static final int LIMIT = 10;
+    private static final int MAX_CANDIDATES = 20_000;
+
+    @Param({"1000000"})
+    public int employees;
+
+    private NameSearchIndex index;
+    private String[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long[] ids = new long[employees];
+        String[] firstNames = new String[employees];
+        String[] lastNames = new String[employees];
+        String[] emails = new String[employees];
+        for (int i = 0; i < employees; i++) {
+            ids[i] = i + 1;
+            firstNames[i] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            lastNames[i] = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            emails[i] = (firstNames[i] + "." + lastNames[i] + (i + 1) + "@company.com").toLowerCase();
+        }
+        long start = System.nanoTime();
+        index = NameSearchIndex.build(ids, firstNames, lastNames, emails, employees);
+        System.out.printf("%n%,d employees: built in %,d ms, %,d terms, estimated %,d MB%n", employees,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), index.termCount(),
+            index.memoryBytes() / (1024 * 1024));
+
+        String[] mix = new String[1024];
+        for (int i = 0; i < mix.length; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)].toLowerCase();
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)].toLowerCase();
+            mix[i] = switch (i % 4) {
+                case 0 -> first.substring(0, 1);
+                case 1 -> last.substring(0, 3);
+                case 2 -> first.substring(0, 2) + " " + last.substring(0, 3);
+                default -> first + "." + last + (random.nextInt(employees) + 1);
+            };
+        }
+        queries = new String[mix.length][];
+        for (int i = 0; i < mix.length; i++) {
+            queries[i] = NameSearchIndex.queryTokens(mix[i]);
+        }
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        String[] tokens = queries[next++ & (queries.length - 1)];
+        index.search(tokens, LIMIT, MAX_CANDIDATES, id -> false, doc -> blackhole.consume(index.idAt(doc)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NameSearchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.hello.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for access snapshots against H2 with the schema from
+ * V11__Create_Access_Snapshots.sql.
+ */
+public class AccessFrequencyTrackerTest {
+
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:access;MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V11__Create_Access_Snapshots.sql"))
+            .execute(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        new ResourceDatabasePopulator(new ByteArrayResource("DROP TABLE ACCESS_SNAPSHOTS".getBytes()))
+            .execute(dataSource);
+    }
+
+    @Test
+    public void shouldRankKeysByHitsSummedOverSnapshots() {
+        AccessFrequencyTracker first = tracker(100, 10);
+        record(first, "employees", 1L, 5);
+        record(first, "employees", 2L, 3);
+        record(first, "users", "admin", 9);
+        first.snapshot();
+
+        AccessFrequencyTracker second = tracker(100, 10);
+        record(second, "employees", 2L, 4);
+        record(second, "employees", 3L, 1);
+        second.snapshot();
+
+        assertThat(second.hottest("employees", 10)).containsExactly("2", "1", "3");
+        assertThat(second.hottest("employees", 1)).containsExactly("2");
+        assertThat(second.hottest("users", 10)).containsExactly("admin");
+    }
+
+    @Test
+    public void shouldOnlySnapshotTopKeysAndStopTrackingNewKeysWhenFull() {
+        AccessFrequencyTracker tracker = tracker(2, 1);
+        record(tracker, "employees", 1L, 1);
+        record(tracker, "employees", 2L, 2);
+        record(tracker, "employees", 3L, 5);
+        tracker.snapshot();
+
+        assertThat(tracker.hottest("employees", 10)).containsExactly("2");
+    }
+
+    @Test
+    public void shouldIgnoreLookupsWhileNotRecording() {
+        AccessFrequencyTracker tracker = tracker(100, 10);
+        tracker.setRecording(false);
+        record(tracker, "employees", 1L, 3);
+        tracker.setRecording(true);
+        record(tracker, "employees", 2L, 1);
+        tracker.snapshot();
+
+        assertThat(tracker.hottest("employees", 10)).containsExactly("2");
+    }
+
+    private AccessFrequencyTracker tracker(int trackedKeys, int snapshotSize) {
+        AccessFrequencyTracker tracker = new AccessFrequencyTracker(dataSource);
+        ReflectionTestUtils.setField(tracker, "trackedKeys", trackedKeys);
+        ReflectionTestUtils.setField(tracker, "snapshotSize", snapshotSize);
+        ReflectionTestUtils.setField(tracker, "snapshotMaxAgeHours", 72L);
+        return tracker;
+    }
+
+    private static void record(AccessFrequencyTracker tracker, String region, Object key, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(region, key);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.hello.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for cross-node eviction: two bus instances, each with its own
+ * connection and local cache, against one H2 TCP server with the schema from
+ * V10__Create_Cache_Invalidations.sql.
+ */
+public class JdbcCacheInvalidationBusTest {
+
+    private Server server;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:invalidations;MODE=Oracle;DB_CLOSE_DELAY=-1";
+        nodeA = new Node(url);
+        nodeB = new Node(url);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V10__Create_Cache_Invalidations.sql"))
+            .execute(nodeA.dataSource);
+        nodeA.bus.poll();
+        nodeB.bus.poll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        new ResourceDatabasePopulator(new ByteArrayResource("DROP TABLE CACHE_INVALIDATIONS".getBytes()))
+            .execute(nodeA.dataSource);
+        server.stop();
+    }
+
+    @Test
+    public void shouldEvictOnOtherNodeAfterPoll() {
+        nodeA.load(1L);
+        nodeB.load(1L);
+
+        nodeA.bus.evict("employees", 1L);
+
+        // The writer evicts its own entry at once; the other node on its next poll
+        assertThat(nodeA.cache.size()).isZero();
+        assertThat(nodeB.cache.size()).isEqualTo(1);
+        nodeB.bus.poll();
+        assertThat(nodeB.cache.size()).isZero();
+        assertThat(nodeB.load(1L)).isEqualTo("employee 1 v2");
+    }
+
+    @Test
+    public void shouldNotBroadcastRolledBackWrite() {
+        nodeB.load(1L);
+
+        nodeA.transactionTemplate.executeWithoutResult(status -> {
+            nodeA.bus.evict("employees", 1L);
+            status.setRollbackOnly();
+        });
+
+        nodeB.bus.poll();
+        assertThat(nodeB.cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldApplyInvalidationThatCommitsAfterALaterOne() throws SQLException {
+        nodeB.load(1L);
+        nodeB.load(2L);
+
+        try (Connection slowWriter = nodeA.dataSource.getConnection()) {
+            slowWriter.setAutoCommit(false);
+            try (PreparedStatement statement = slowWriter.prepareStatement(
+                "INSERT INTO CACHE_INVALIDATIONS (REGION, CACHE_KEY, NODE_ID, CREATED_AT) VALUES ('employees', '1', 'node-c', ?)")) {
+                statement.setObject(1, LocalDateTime.of(2025, 10, 22, 9, 0));
+                statement.executeUpdate();
+            }
+            nodeA.bus.evict("employees", 2L);
+
+            // The later ID is applied; the uncommitted one is remembered as a gap
+            nodeB.bus.poll();
+            assertThat(nodeB.bus.pendingGaps()).isEqualTo(1);
+            assertThat(nodeB.cache.size()).isEqualTo(1);
+
+            slowWriter.commit();
+        }
+        nodeB.bus.poll();
+
+        assertThat(nodeB.bus.pendingGaps()).isZero();
+        assertThat(nodeB.cache.size()).isZero();
+    }
+
+    @Test
+    public void shouldClearLocalCachesWhenGapExpires() throws SQLException {
+        ReflectionTestUtils.setField(nodeB.bus, "gapTimeoutSeconds", 0L);
+        nodeB.load(1L);
+        nodeB.load(2L);
+
+        try (Connection slowWriter = nodeA.dataSource.getConnection()) {
+            slowWriter.setAutoCommit(false);
+            try (PreparedStatement statement = slowWriter.prepareStatement(
+                "INSERT INTO CACHE_INVALIDATIONS (REGION, CACHE_KEY, NODE_ID, CREATED_AT) VALUES ('employees', '1', 'node-c', ?)")) {
+                statement.setObject(1, LocalDateTime.of(2025, 10, 22, 9, 0));
+                statement.executeUpdate();
+            }
+            nodeA.bus.evict("employees", 2L);
+            nodeB.bus.poll();
+            assertThat(nodeB.cache.size()).isEqualTo(1);
+
+            // Still uncommitted past the timeout: it may yet commit, so nothing cached can be trusted
+            nodeB.bus.poll();
+            assertThat(nodeB.bus.pendingGaps()).isZero();
+            assertThat(nodeB.cache.size()).isZero();
+            slowWriter.rollback();
+        }
+    }
+
+    @Test
+    public void shouldRejectGapTimeoutShorterThanTransactionTimeout() {
+        ReflectionTestUtils.setField(nodeB.bus, "transactionTimeout", Duration.ofSeconds(90));
+        assertThatThrownBy(nodeB.bus::checkGapTimeout).isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("gap-timeout-seconds");
+
+        ReflectionTestUtils.setField(nodeB.bus, "transactionTimeout", Duration.ofSeconds(60));
+        nodeB.bus.checkGapTimeout();
+    }
+
+    /**
+     * One application instance: its own data source, bus and employee cache.
+     */
+    private static final class Node {
+        private final DriverManagerDataSource dataSource;
+        private final TransactionTemplate transactionTemplate;
+        private final JdbcCacheInvalidationBus bus;
+        private final TieredCache<Long, String> cache;
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private Node(String url) {
+            this.dataSource = new DriverManagerDataSource(url, "sa", "");
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            this.bus = new JdbcCacheInvalidationBus(dataSource, new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(bus, "batchSize", 1000);
+            ReflectionTestUtils.setField(bus, "gapTimeoutSeconds", 60L);
+            ReflectionTestUtils.setField(bus, "maxGaps", 100);
+            this.cache = new TieredCache<>("employees", Long::valueOf, 100, Duration.ofMinutes(10), Duration.ZERO, bus,
+                new SimpleMeterRegistry());
+        }
+
+        private String load(Long id) {
+            return cache.get(id, key -> "employee " + key + " v" + loads.incrementAndGet());
+        }
+    }
+}
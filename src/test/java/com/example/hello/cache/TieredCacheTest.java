@@ -0,0 +1,205 @@
+package com.example.hello.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the two cache tiers: two nodes, each with its own L1, sharing one
+ * {@link H2SharedCacheStore} on an H2 TCP server.
+ */
+public class TieredCacheTest {
+
+    private Server server;
+    private H2SharedCacheStore store;
+    private CacheWriteBehind writeBehind;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        store = new H2SharedCacheStore(url(), 2, 1000, 100);
+        writeBehind = new CacheWriteBehind(100, new SimpleMeterRegistry());
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        writeBehind.shutdown();
+        store.close();
+        server.stop();
+    }
+
+    @Test
+    public void shouldServeValueLoadedByOtherNodeFromSharedTier() throws InterruptedException {
+        assertThat(nodeA.get(1L)).isEqualTo("employee 1");
+        drain();
+
+        assertThat(nodeB.get(1L)).isEqualTo("employee 1");
+        assertThat(nodeB.get(1L)).isEqualTo("employee 1");
+
+        // One database read in total: B's first lookup came from L2, its second from L1
+        assertThat(nodeA.loads.get() + nodeB.loads.get()).isEqualTo(1);
+        assertThat(nodeB.cache.l2HitRatio()).isEqualTo(1.0);
+        assertThat(nodeB.meterRegistry.get("cache.tier.hit.ratio").tag("tier", "l1").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void shouldCacheMissingKeyInBothTiers() throws InterruptedException {
+        assertThat(nodeA.get(404L)).isNull();
+        assertThat(nodeA.get(404L)).isNull();
+        drain();
+        assertThat(nodeB.get(404L)).isNull();
+
+        assertThat(nodeA.loads.get() + nodeB.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotReadSharedTierUntilQueuedEvictionApplied() throws InterruptedException {
+        nodeA.get(1L);
+        drain();
+        nodeA.version.set(2);
+
+        nodeA.cache.invalidate("1");
+        // Loaded from the database even if the L2 eviction has not run yet
+        assertThat(nodeA.get(1L)).isEqualTo("employee 1 v2");
+        drain();
+
+        // B misses L1; L2 was evicted and refilled by A's reload
+        nodeB.version.set(2);
+        assertThat(nodeB.get(1L)).isEqualTo("employee 1 v2");
+    }
+
+    @Test
+    public void shouldLoadFromDatabaseWhenSharedTierFails() throws InterruptedException {
+        store.close();
+
+        assertThat(nodeA.get(1L)).isEqualTo("employee 1");
+        drain();
+        // The L2 read and the background fill both failed
+        assertThat(nodeA.meterRegistry.get("cache.l2.errors").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    public void shouldKeepSharedTierWithinMaxEntries() {
+        for (int key = 0; key < 150; key++) {
+            store.put("employees", String.valueOf(key), new byte[] { 1 }, Duration.ofMinutes(10).plusSeconds(key));
+        }
+
+        // Entries closest to expiry make room for new ones
+        assertThat(store.get("employees", "0")).isNull();
+        assertThat(store.get("employees", "49")).isNull();
+        assertThat(store.get("employees", "50")).isNotNull();
+        assertThat(store.get("employees", "149")).isNotNull();
+    }
+
+    @Test
+    public void shouldKeepSubmissionOrderWhenWriteBehindQueueIsFull() throws InterruptedException {
+        CacheWriteBehind singleSlot = new CacheWriteBehind(1, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> applied = new CopyOnWriteArrayList<>();
+        try {
+            // Occupies the write-behind thread, then a fill fills the queue
+            singleSlot.submit(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            singleSlot.submit(() -> applied.add("fill"));
+            Thread evictor = new Thread(() -> singleSlot.submit(() -> applied.add("evict")));
+            evictor.start();
+
+            // The eviction waits for room instead of overtaking the queued fill
+            evictor.join(200);
+            assertThat(evictor.isAlive()).isTrue();
+            assertThat(applied).isEmpty();
+
+            release.countDown();
+            evictor.join(5000);
+            assertThat(singleSlot.drain(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(applied).containsExactly("fill", "evict");
+        } finally {
+            release.countDown();
+            singleSlot.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRejectStoreThatIsNotShared() {
+        assertThatThrownBy(() -> new H2SharedCacheStore("jdbc:h2:mem:l2-cache;DB_CLOSE_DELAY=-1", 2, 1000, 100))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String url() {
+        return "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:l2-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private void drain() throws InterruptedException {
+        assertThat(writeBehind.drain(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static final CacheCodec<String> UTF8 = new CacheCodec<>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * One application instance: its own L1 and meters over the shared store.
+     * IDs of 400 and above do not exist.
+     */
+    private final class Node {
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final TieredCache<Long, String> cache;
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger version = new AtomicInteger(1);
+
+        private Node() {
+            CacheInvalidationBus bus = new AbstractCacheInvalidationBus(meterRegistry) {
+                @Override
+                protected void send(CacheInvalidation invalidation) {
+                }
+            };
+            this.cache = new TieredCache<>("employees", Long::valueOf, 100, Duration.ofMinutes(10),
+                Duration.ofSeconds(30), new TieredCache.SharedTier<>(store, UTF8, Duration.ofMinutes(10), writeBehind),
+                bus, meterRegistry);
+        }
+
+        private String get(Long id) {
+            return cache.get(id, key -> {
+                loads.incrementAndGet();
+                if (key >= 400) {
+                    return null;
+                }
+                return version.get() == 1 ? "employee " + key : "employee " + key + " v" + version.get();
+            });
+        }
+    }
+}
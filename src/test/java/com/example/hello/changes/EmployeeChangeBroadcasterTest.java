@@ -0,0 +1,254 @@
+package com.example.hello.changes;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for SSE subscription limits, Last-Event-ID replay and stalled clients, against an
+ * in-memory H2 schema created from V9__Create_Employee_Changes.sql and
+ * V12__Create_Employee_Change_Relay.sql.
+ */
+public class EmployeeChangeBroadcasterTest {
+
+    private DriverManagerDataSource dataSource;
+    private EmployeeChangeFeed feed;
+    private EmployeeChangeBroadcaster broadcaster;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:broadcast;MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V9__Create_Employee_Changes.sql"),
+            new ClassPathResource("db/migration/V12__Create_Employee_Change_Relay.sql"))
+            .execute(dataSource);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        feed = new EmployeeChangeFeed(dataSource, new DataSourceTransactionManager(dataSource), objectMapper,
+            new SimpleMeterRegistry(), 1);
+        ReflectionTestUtils.setField(feed, "relayBatchSize", 500);
+        broadcaster = new EmployeeChangeBroadcaster(feed, objectMapper, new SimpleMeterRegistry(), 1);
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 2);
+        ReflectionTestUtils.setField(broadcaster, "overflowPolicy", EmployeeChangeBroadcaster.OverflowPolicy.DISCONNECT);
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 1);
+        ReflectionTestUtils.setField(broadcaster, "heartbeatSeconds", 30L);
+        ReflectionTestUtils.setField(broadcaster, "maxReplay", 10);
+        ReflectionTestUtils.setField(broadcaster, "sendTimeoutSeconds", 1L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        broadcaster.shutdown();
+        feed.shutdown();
+        new ResourceDatabasePopulator(new ByteArrayResource("DROP TABLE EMPLOYEE_CHANGE_RELAY; DROP TABLE EMPLOYEE_CHANGES".getBytes()))
+            .execute(dataSource);
+    }
+
+    @Test
+    public void shouldRejectSubscribersOverTheLimit() {
+        assertThat(broadcaster.subscribe(null)).isNotNull();
+
+        assertThat(broadcaster.subscribe(null)).isNull();
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReplayGapLargerThanBufferWithoutDisconnecting() throws Exception {
+        insertChanges(1, 5);
+        feed.relayBatch();
+
+        // Five missed changes, a buffer of two and max-replay of ten
+        SseEmitter emitter = broadcaster.subscribe(0L);
+
+        awaitSentIds(emitter, 5);
+        assertThat(sentIds(emitter)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldSendResyncWhenGapExceedsMaxReplay() throws Exception {
+        insertChanges(1, 11);
+        feed.relayBatch();
+
+        SseEmitter emitter = broadcaster.subscribe(0L);
+
+        awaitCondition(() -> sentText(emitter).contains("event:resync"));
+        assertThat(sentIds(emitter)).isEmpty();
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotLoseChangesPublishedWhileReplaying() throws Exception {
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 100);
+        // One sender serves all replays in turn; the buffers must hold the live frames meanwhile
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 1000);
+        ReflectionTestUtils.setField(broadcaster, "maxReplay", 1000);
+        insertChanges(1, 5);
+        feed.relayBatch();
+        broadcaster.subscribe(null);
+
+        // Keep publishing while subscribers reconnect, so live frames race the replays
+        AtomicLong published = new AtomicLong(5);
+        Thread writer = new Thread(() -> {
+            while (published.get() < 200) {
+                try {
+                    insertChanges(published.get() + 1, published.get() + 2);
+                    published.addAndGet(feed.relayBatch());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        writer.start();
+        List<SseEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            emitters.add(broadcaster.subscribe(0L));
+            Thread.sleep(2);
+        }
+        writer.join();
+
+        List<Long> expected = LongStream.rangeClosed(1, published.get()).boxed().toList();
+        for (SseEmitter emitter : emitters) {
+            awaitSentIds(emitter, expected.size());
+            assertThat(sentIds(emitter)).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void shouldKeepDeliveringWhenOneSubscriberStopsReading() throws Exception {
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 2);
+        // Room for every frame, so only the send timeout can free the sender
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 100);
+        CountDownLatch sendBlocked = new CountDownLatch(1);
+        CountDownLatch writeTimedOut = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        // Attached to a response whose writes block, like a client that never reads
+        SseEmitter stalled = broadcaster.subscribe(null);
+        ReflectionTestUtils.invokeMethod(stalled, "initialize", blockingHandler(sendBlocked, writeTimedOut, completed));
+
+        try {
+            insertChanges(1, 1);
+            feed.relayBatch();
+            assertThat(sendBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // The only sender thread is now blocked; later changes still have to reach the reader
+            SseEmitter reader = broadcaster.subscribe(null);
+            for (long id = 2; id <= 4; id++) {
+                insertChanges(id, id);
+                feed.relayBatch();
+            }
+
+            awaitSentIds(reader, 3);
+            assertThat(sentIds(reader)).containsExactly(2L, 3L, 4L);
+            assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        } finally {
+            writeTimedOut.countDown();
+        }
+        // Once the blocked write fails, its sender completes the emitter and the extra sender goes
+        assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+        ThreadPoolExecutor senders = (ThreadPoolExecutor) ReflectionTestUtils.getField(broadcaster, "senders");
+        awaitCondition(() -> senders.getCorePoolSize() == 1);
+        assertThat(senders.getCorePoolSize()).isEqualTo(1);
+    }
+
+    /**
+     * An emitter handler whose sends block until {@code writeTimedOut} and then fail,
+     * as the container's write timeout would.
+     */
+    private static Object blockingHandler(CountDownLatch sendBlocked, CountDownLatch writeTimedOut,
+        CountDownLatch completed) throws ClassNotFoundException {
+        Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        return Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[] {handlerType},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "send" -> {
+                        sendBlocked.countDown();
+                        writeTimedOut.await();
+                        throw new IOException("Write timed out");
+                    }
+                    case "complete", "completeWithError" -> completed.countDown();
+                    default -> {
+                    }
+                }
+                return null;
+            });
+    }
+
+    private void insertChanges(long fromEmployeeId, long toEmployeeId) throws SQLException {
+        try (Connection writer = dataSource.getConnection()) {
+            for (long id = fromEmployeeId; id <= toEmployeeId; id++) {
+                insertChange(writer, id);
+            }
+        }
+    }
+
+    private static void awaitSentIds(SseEmitter emitter, int count) throws InterruptedException {
+        awaitCondition(() -> sentIds(emitter).size() >= count);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Everything sent to an emitter that is not attached to a response yet; Spring
+     * keeps such sends until the response is ready.
+     */
+    private static String sentText(SseEmitter emitter) {
+        synchronized (emitter) {
+            Collection<ResponseBodyEmitter.DataWithMediaType> sent =
+                (Collection<ResponseBodyEmitter.DataWithMediaType>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+            return sent.stream().map(data -> data.getData().toString()).collect(Collectors.joining());
+        }
+    }
+
+    private static List<Long> sentIds(SseEmitter emitter) {
+        return Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE).matcher(sentText(emitter)).results()
+            .map(match -> Long.valueOf(match.group(1)))
+            .toList();
+    }
+
+    private static void insertChange(Connection connection, Long employeeId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "INSERT INTO EMPLOYEE_CHANGES (EMPLOYEE_ID, CHANGE_TYPE, VERSION, CHANGED_AT, PAYLOAD) VALUES (?, 'UPDATED', 0, ?, ?)")) {
+            statement.setLong(1, employeeId);
+            statement.setObject(2, LocalDateTime.of(2025, 10, 21, 9, 0));
+            statement.setString(3, "{\"id\":" + employeeId + "}");
+            statement.executeUpdate();
+        }
+    }
+}
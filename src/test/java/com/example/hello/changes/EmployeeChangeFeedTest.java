@@ -0,0 +1,207 @@
+package com.example.hello.changes;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.hello.dto.DataVersion;
+import com.example.hello.dto.EmployeeChange;
+import com.example.hello.dto.EmployeeChangeBatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for the outbox relay and change feed reads, against an in-memory H2
+ * schema created from V9__Create_Employee_Changes.sql and
+ * V12__Create_Employee_Change_Relay.sql.
+ */
+public class EmployeeChangeFeedTest {
+
+    private DriverManagerDataSource dataSource;
+    private EmployeeChangeFeed feed;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:changes;MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V9__Create_Employee_Changes.sql"),
+            new ClassPathResource("db/migration/V12__Create_Employee_Change_Relay.sql"))
+            .execute(dataSource);
+        feed = new EmployeeChangeFeed(dataSource, new DataSourceTransactionManager(dataSource), new ObjectMapper(),
+            new SimpleMeterRegistry(), 1);
+        ReflectionTestUtils.setField(feed, "relayBatchSize", 500);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        feed.shutdown();
+        new ResourceDatabasePopulator(new ByteArrayResource("DROP TABLE EMPLOYEE_CHANGE_RELAY; DROP TABLE EMPLOYEE_CHANGES".getBytes()))
+            .execute(dataSource);
+    }
+
+    @Test
+    public void shouldNumberChangesInCommitOrder() throws SQLException {
+        try (Connection slowWriter = dataSource.getConnection()) {
+            slowWriter.setAutoCommit(false);
+            insertChange(slowWriter, 1L, "UPDATED");
+            try (Connection fastWriter = dataSource.getConnection()) {
+                insertChange(fastWriter, 2L, "CREATED");
+            }
+
+            // Only the committed change is published, although its outbox ID is higher
+            assertThat(feed.relayBatch()).isEqualTo(1);
+            assertThat(feed.read(0, 10).changes()).extracting(EmployeeChange::seq, EmployeeChange::employeeId)
+                .containsExactly(tuple(1L, 2L));
+
+            slowWriter.commit();
+        }
+        assertThat(feed.relayBatch()).isEqualTo(1);
+
+        EmployeeChangeBatch afterFirst = feed.read(1, 10);
+        assertThat(afterFirst.changes()).extracting(EmployeeChange::employeeId).containsExactly(1L);
+        assertThat(afterFirst.cursor()).isEqualTo(2);
+        assertThat(afterFirst.changes().get(0).employee().get("firstName").asText()).isEqualTo("Ann");
+        assertThat(feed.read(2, 10).changes()).isEmpty();
+        assertThat(feed.read(2, 10).cursor()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldChangeDataVersionWhenEarlierChangeCommitsLate() throws SQLException {
+        List<DataVersion> versions = new ArrayList<>();
+        versions.add(feed.dataVersion());
+        try (Connection slowWriter = dataSource.getConnection()) {
+            slowWriter.setAutoCommit(false);
+            // Stamped and flushed first, committed last: invisible to MAX(LAST_MODIFIED) once a later stamp exists
+            insertChange(slowWriter, 1L, "UPDATED");
+            try (Connection fastWriter = dataSource.getConnection()) {
+                insertChange(fastWriter, 2L, "DELETED");
+            }
+            versions.add(feed.dataVersion());
+            feed.relayBatch();
+            versions.add(feed.dataVersion());
+
+            slowWriter.commit();
+        }
+        versions.add(feed.dataVersion());
+        feed.relayBatch();
+        versions.add(feed.dataVersion());
+
+        assertThat(versions).containsExactly(new DataVersion(0, 0), new DataVersion(0, 1), new DataVersion(1, 0),
+            new DataVersion(1, 1), new DataVersion(2, 0));
+        assertThat(feed.dataVersion()).isEqualTo(versions.get(versions.size() - 1));
+    }
+
+    @Test
+    public void shouldNumberChangesWithoutGapsOrDuplicatesWhenInstancesRelayConcurrently() throws Exception {
+        EmployeeChangeFeed otherInstance = new EmployeeChangeFeed(dataSource, new DataSourceTransactionManager(dataSource),
+            new ObjectMapper(), new SimpleMeterRegistry(), 1);
+        ReflectionTestUtils.setField(otherInstance, "relayBatchSize", 7);
+        ReflectionTestUtils.setField(feed, "relayBatchSize", 7);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                for (long id = 1; id <= 300; id++) {
+                    insertChange(connection, id, "UPDATED");
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                writing.set(false);
+            }
+        });
+        writer.start();
+        ExecutorService relays = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (EmployeeChangeFeed instance : List.of(feed, otherInstance)) {
+                running.add(relays.submit(() -> {
+                    while (writing.get() || instance.relayBatch() > 0) {
+                        instance.relayBatch();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> relay : running) {
+                relay.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            relays.shutdownNow();
+            otherInstance.shutdown();
+        }
+
+        List<EmployeeChange> changes = feed.read(0, 1000).changes();
+        assertThat(changes).extracting(EmployeeChange::seq)
+            .containsExactlyElementsOf(LongStream.rangeClosed(1, 300).boxed().toList());
+        // Numbered in outbox order, which here is commit order
+        assertThat(changes).extracting(EmployeeChange::employeeId)
+            .containsExactlyElementsOf(LongStream.rangeClosed(1, 300).boxed().toList());
+        assertThat(feed.cursor()).isEqualTo(300);
+        assertThat(otherInstance.cursor()).isEqualTo(300);
+    }
+
+    @Test
+    public void shouldCompleteWaitingPollWhenChangeIsPublished() throws Exception {
+        CompletableFuture<EmployeeChangeBatch> poll = feed.poll(0, 10, 10_000);
+        assertThat(poll).isNotDone();
+
+        try (Connection writer = dataSource.getConnection()) {
+            insertChange(writer, 7L, "DELETED");
+        }
+        feed.relayBatch();
+
+        EmployeeChangeBatch batch = poll.get(5, TimeUnit.SECONDS);
+        assertThat(batch.changes()).extracting(EmployeeChange::type).containsExactly("DELETED");
+        assertThat(batch.cursor()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnEmptyBatchWhenWaitExpires() throws Exception {
+        EmployeeChangeBatch batch = feed.poll(0, 10, 50).get(5, TimeUnit.SECONDS);
+
+        assertThat(batch.changes()).isEmpty();
+        assertThat(batch.cursor()).isZero();
+        assertThat(batch.resyncRequired()).isFalse();
+    }
+
+    @Test
+    public void shouldAskForResyncWhenCursorIsAhead() {
+        EmployeeChangeBatch batch = feed.read(42, 10);
+
+        assertThat(batch.resyncRequired()).isTrue();
+        assertThat(batch.cursor()).isZero();
+    }
+
+    private static void insertChange(Connection connection, Long employeeId, String type) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "INSERT INTO EMPLOYEE_CHANGES (EMPLOYEE_ID, CHANGE_TYPE, VERSION, CHANGED_AT, PAYLOAD) VALUES (?, ?, 0, ?, ?)")) {
+            statement.setLong(1, employeeId);
+            statement.setString(2, type);
+            statement.setObject(3, LocalDateTime.of(2025, 10, 21, 9, 0));
+            statement.setString(4, "{\"id\":" + employeeId + ",\"firstName\":\"Ann\"}");
+            statement.executeUpdate();
+        }
+    }
+}
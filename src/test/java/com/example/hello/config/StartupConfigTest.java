@@ -0,0 +1,37 @@
+package com.example.hello.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+class StartupConfigTest {
+
+    private static final AtomicBoolean warmedUp = new AtomicBoolean();
+
+    // Registers the same post-processor SpringApplication adds for spring.main.lazy-initialization=true
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withInitializer(context -> context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor()))
+        .withUserConfiguration(StartupConfig.class, WarmupConfig.class);
+
+    @Test
+    void shouldRunSmartInitializingSingletonsUnderLazyInitialization() {
+        warmedUp.set(false);
+        contextRunner.run(context -> assertThat(warmedUp).isTrue());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class WarmupConfig {
+
+        @Bean
+        SmartInitializingSingleton warmup() {
+            return () -> warmedUp.set(true);
+        }
+    }
+}
@@ -8,6 +8,9 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
 import javax.sql.DataSource;
 
 /**
@@ -35,12 +38,16 @@ public class TestConfig {
     @Bean
     @Primary
     public DataSource testDataSource() {
-        return new org.springframework.jdbc.datasource.SimpleDriverDataSource(
-            new org.h2.Driver(),
-            "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
-            "sa",
-            ""
-        );
+        // Pooled like production so pool behaviour (and leaks) surface in tests too
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("TestPool");
+        config.setDriverClassName("org.h2.Driver");
+        config.setJdbcUrl("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+        config.setLeakDetectionThreshold(10000);
+        return new HikariDataSource(config);
     }
 
     @Bean
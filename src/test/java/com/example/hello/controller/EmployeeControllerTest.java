@@ -0,0 +1,219 @@
+package com.example.hello.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.hello.config.JacksonConfig;
+import com.example.hello.dto.DataVersion;
+import com.example.hello.dto.EmployeeSearchCriteria;
+import com.example.hello.dto.EmployeeView;
+import com.example.hello.dto.RowVersion;
+import com.example.hello.jdbc.SqlStatisticsCollector;
+import com.example.hello.model.Employee;
+import com.example.hello.service.EmployeeService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Web layer tests for {@link EmployeeController} against a mocked {@link EmployeeService},
+ * with the JSON, CBOR and Smile converters from {@link JacksonConfig}.
+ */
+@WebMvcTest(EmployeeController.class)
+@Import(JacksonConfig.class)
+@WithMockUser
+public class EmployeeControllerTest {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final LocalDateTime MODIFIED = LocalDateTime.of(2025, 10, 21, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private SqlStatisticsCollector sqlStatisticsCollector;
+
+    private final CountDownLatch dispatched = new CountDownLatch(1);
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setUp() {
+        employee = new Employee();
+        employee.setId(1L);
+        employee.setFirstName("Ann");
+        employee.setVersion(3L);
+        employee.setLastModified(MODIFIED);
+        RowVersion version = new RowVersion(3, MODIFIED);
+        when(employeeService.rowVersion(1L)).thenReturn(Optional.of(version));
+        when(employeeService.getById(1L, version)).thenReturn(Optional.of(employee));
+    }
+
+    @Test
+    public void shouldTagEachEncodingOfAnEmployeeSeparately() throws Exception {
+        String json = etag(MediaType.APPLICATION_JSON);
+        String cbor = etag(MediaType.APPLICATION_CBOR);
+        String smile = etag(SMILE);
+
+        assertThat(json).startsWith("\"3-").endsWith("\"");
+        assertThat(cbor).isEqualTo(json.substring(0, json.length() - 1) + "-cbor\"");
+        assertThat(smile).isEqualTo(json.substring(0, json.length() - 1) + "-smile\"");
+        assertThat(etag(MediaType.ALL)).isEqualTo(json);
+    }
+
+    @Test
+    public void shouldNotAnswerOneEncodingWithNotModifiedForAnother() throws Exception {
+        String json = etag(MediaType.APPLICATION_JSON);
+        String cbor = etag(MediaType.APPLICATION_CBOR);
+
+        mockMvc.perform(get("/api/employees/1").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, json))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/1").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cbor))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/employees/1").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, json))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void shouldTagEachEncodingOfTheListSeparately() throws Exception {
+        when(employeeService.dataVersion()).thenReturn(new DataVersion(0x2a, 3));
+
+        mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2a-3\""))
+            .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+        mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2a-3-cbor\""));
+        mockMvc.perform(get("/api/employees").accept(SMILE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2a-3-smile\""));
+
+        mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, "\"2a-3\""))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, "\"2a-3-cbor\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void shouldAcceptTagOfAnyEncodingInIfMatch() throws Exception {
+        when(employeeService.update(eq(1L), any(Employee.class), eq(3L)))
+            .thenReturn(new EmployeeService.WriteResult(EmployeeService.WriteResult.Outcome.UPDATED, employee));
+
+        mockMvc.perform(put("/api/employees/1").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Ann\"}")
+                .header(HttpHeaders.IF_MATCH, etag(SMILE)))
+            .andExpect(status().isOk());
+
+        verify(employeeService).update(eq(1L), any(Employee.class), eq(3L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStreamFilteredExportAsJsonArrayInIdOrder() throws Exception {
+        doAnswer(invocation -> {
+            awaitDispatch();
+            Consumer<EmployeeView> sink = invocation.getArgument(1);
+            sink.accept(view(101L, "Ann"));
+            sink.accept(view(102L, "Bob"));
+            sink.accept(view(105L, "Cid"));
+            return 3L;
+        }).when(employeeService).export(any(EmployeeSearchCriteria.class), any(Consumer.class));
+
+        MvcResult started = startExport(get("/api/employees/export")
+            .param("departmentId", "50").param("minSalary", "2500").param("namePrefix", "A"));
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[*].id").value(contains(101, 102, 105)))
+            .andExpect(jsonPath("$[0].firstName").value("Ann"))
+            .andExpect(jsonPath("$[2].departmentId").value(50));
+
+        ArgumentCaptor<EmployeeSearchCriteria> criteria = ArgumentCaptor.forClass(EmployeeSearchCriteria.class);
+        verify(employeeService).export(criteria.capture(), any(Consumer.class));
+        assertThat(criteria.getValue().departmentId()).isEqualTo(50L);
+        assertThat(criteria.getValue().minSalary()).isEqualByComparingTo("2500");
+        assertThat(criteria.getValue().namePrefix()).isEqualTo("A");
+        assertThat(criteria.getValue().jobId()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldExportEmptyArrayWhenNothingMatches() throws Exception {
+        doAnswer(invocation -> {
+            awaitDispatch();
+            return 0L;
+        }).when(employeeService).export(any(EmployeeSearchCriteria.class), any(Consumer.class));
+
+        MvcResult started = startExport(get("/api/employees/export").param("jobId", "NONE"));
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().json("[]", true));
+
+        verify(employeeService).export(any(EmployeeSearchCriteria.class), any(Consumer.class));
+    }
+
+    /**
+     * Start an export request. The mocked export waits until MockMvc has finished with the
+     * initial dispatch, which reads the response headers the streaming thread writes.
+     */
+    private MvcResult startExport(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        dispatched.countDown();
+        return started;
+    }
+
+    private void awaitDispatch() throws InterruptedException {
+        assertThat(dispatched.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static EmployeeView view(Long id, String firstName) {
+        return new EmployeeView(id, firstName, "Lee", firstName.toUpperCase() + id, null, LocalDate.of(2020, 1, 6),
+            "IT_PROG", new BigDecimal("4800.00"), null, 103L, 50L, 1L, MODIFIED);
+    }
+
+    private String etag(MediaType accept) throws Exception {
+        return mockMvc.perform(get("/api/employees/1").accept(accept))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
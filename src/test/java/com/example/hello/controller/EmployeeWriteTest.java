@@ -0,0 +1,248 @@
+package com.example.hello.controller;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.accept.ContentNegotiationManager;
+
+import com.example.hello.cache.AbstractCacheInvalidationBus;
+import com.example.hello.cache.AccessFrequencyTracker;
+import com.example.hello.cache.CacheInvalidation;
+import com.example.hello.cache.CacheInvalidationBus;
+import com.example.hello.cache.JpaCacheRegions;
+import com.example.hello.cache.TieredCache;
+import com.example.hello.changes.EmployeeChangeFeed;
+import com.example.hello.config.CacheConfig;
+import com.example.hello.config.JpaCacheConfig;
+import com.example.hello.model.Employee;
+import com.example.hello.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT and PATCH of {@link EmployeeController} through {@link EmployeeService} against
+ * H2 migrated by Flyway, so the single-statement patch, VERSION / LAST_MODIFIED
+ * stamping and the version checks run as real SQL.
+ */
+@DataJpaTest
+@Import({JpaCacheConfig.class, JpaCacheRegions.class, EmployeeService.class, EmployeeWriteTest.LocalCacheConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:employee-write;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=none"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeWriteTest {
+
+    private static final long ID = 3001;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AccessFrequencyTracker accessTracker;
+
+    @MockBean
+    private EmployeeChangeFeed changeFeed;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO EMPLOYEES (EMPLOYEE_ID, FIRST_NAME, LAST_NAME, EMAIL, PHONE_NUMBER, HIRE_DATE, "
+            + "JOB_ID, SALARY, COMMISSION_PCT, MANAGER_ID, DEPARTMENT_ID, LAST_MODIFIED) "
+            + "VALUES (?, 'Ann', 'Lee', 'ann.lee@company.com', '515.123.4567', DATE '2024-01-15', 'IT_PROG', 4800, 0.10, 1, 10, ?)",
+            ID, Timestamp.valueOf(CREATED));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new EmployeeController(employeeService, objectMapper, new ContentNegotiationManager()))
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM EMPLOYEES WHERE EMPLOYEE_ID = ?", ID);
+    }
+
+    @Test
+    public void shouldPatchOnlyGivenFieldsWithOneUpdateAndClearNulls() throws Exception {
+        patchEmployee("{\"salary\":5100.50,\"commissionPct\":null,\"phoneNumber\":null}")
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"1-")))
+            .andExpect(jsonPath("$.version").value(1))
+            .andExpect(jsonPath("$.salary").value(5100.50))
+            .andExpect(jsonPath("$.commissionPct").doesNotExist())
+            .andExpect(jsonPath("$.firstName").value("Ann"));
+
+        // The UPDATE and the read-back for the response; nothing is loaded before the write
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEES WHERE EMPLOYEE_ID = ? AND SALARY = 5100.50 "
+            + "AND COMMISSION_PCT IS NULL AND PHONE_NUMBER IS NULL AND FIRST_NAME = 'Ann' AND EMAIL = 'ann.lee@company.com' "
+            + "AND VERSION = 1", Long.class, ID)).isEqualTo(1);
+        assertThat(lastModified()).isAfter(CREATED);
+    }
+
+    @Test
+    public void shouldRejectUnknownAndReadOnlyFieldsWithoutWriting() throws Exception {
+        patchEmployee("{\"nickname\":\"Annie\"}").andExpect(status().isBadRequest());
+        patchEmployee("{\"salary\":1,\"id\":9}").andExpect(status().isBadRequest());
+        patchEmployee("{\"lastModified\":\"2030-01-01T00:00:00\"}").andExpect(status().isBadRequest());
+        patchEmployee("{\"version\":0}").andExpect(status().isBadRequest());
+        patchEmployee("{\"hireDate\":\"not a date\"}").andExpect(status().isBadRequest());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(version()).isZero();
+        assertThat(lastModified()).isEqualTo(CREATED);
+    }
+
+    @Test
+    public void shouldRejectPatchWithStaleBodyVersionAsConflict() throws Exception {
+        // Two clients read version 0; the first write wins
+        patchEmployee("{\"firstName\":\"Anna\",\"version\":0}").andExpect(status().isOk());
+        patchEmployee("{\"firstName\":\"Annie\",\"version\":0}").andExpect(status().isConflict());
+
+        assertThat(firstName()).isEqualTo("Anna");
+        assertThat(version()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRejectPatchWithStaleIfMatchAsPreconditionFailed() throws Exception {
+        String first = patchEmployee("{\"firstName\":\"Anna\"}", "\"0-1\"")
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        patchEmployee("{\"firstName\":\"Annie\"}", "\"0-1\"").andExpect(status().isPreconditionFailed());
+        patchEmployee("{\"firstName\":\"Annie\"}", "W/\"weak\"").andExpect(status().isPreconditionFailed());
+        assertThat(firstName()).isEqualTo("Anna");
+
+        patchEmployee("{\"firstName\":\"Annie\"}", first).andExpect(status().isOk());
+        assertThat(firstName()).isEqualTo("Annie");
+        assertThat(version()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRejectPutWithStaleBodyVersionAsConflict() throws Exception {
+        String body = "{\"firstName\":\"%s\",\"lastName\":\"Lee\",\"email\":\"ann.lee@company.com\","
+            + "\"hireDate\":\"2024-01-15\",\"jobId\":\"IT_PROG\",\"salary\":4800,\"version\":0}";
+
+        mockMvc.perform(put("/api/employees/{id}", ID).contentType(MediaType.APPLICATION_JSON)
+                .content(body.formatted("Anna")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(put("/api/employees/{id}", ID).contentType(MediaType.APPLICATION_JSON)
+                .content(body.formatted("Annie")))
+            .andExpect(status().isConflict());
+
+        assertThat(firstName()).isEqualTo("Anna");
+        assertThat(version()).isEqualTo(1);
+        assertThat(lastModified()).isAfter(CREATED);
+    }
+
+    @Test
+    public void shouldReportMissingEmployeeAsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/employees/{id}", 9999).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Nobody\",\"version\":0}"))
+            .andExpect(status().isNotFound());
+    }
+
+    private ResultActions patchEmployee(String json) throws Exception {
+        return mockMvc.perform(patch("/api/employees/{id}", ID).contentType(MediaType.APPLICATION_JSON).content(json));
+    }
+
+    private ResultActions patchEmployee(String json, String ifMatch) throws Exception {
+        return mockMvc.perform(patch("/api/employees/{id}", ID).contentType(MediaType.APPLICATION_JSON).content(json)
+            .header(HttpHeaders.IF_MATCH, ifMatch));
+    }
+
+    private String firstName() {
+        return jdbcTemplate.queryForObject("SELECT FIRST_NAME FROM EMPLOYEES WHERE EMPLOYEE_ID = ?", String.class, ID);
+    }
+
+    private long version() {
+        return jdbcTemplate.queryForObject("SELECT VERSION FROM EMPLOYEES WHERE EMPLOYEE_ID = ?", Long.class, ID);
+    }
+
+    private LocalDateTime lastModified() {
+        return jdbcTemplate.queryForObject("SELECT LAST_MODIFIED FROM EMPLOYEES WHERE EMPLOYEE_ID = ?",
+            Timestamp.class, ID).toLocalDateTime();
+    }
+
+    /**
+     * A single-node employee cache without a shared tier.
+     */
+    @TestConfiguration
+    static class LocalCacheConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheInvalidationBus cacheInvalidationBus(MeterRegistry meterRegistry) {
+            return new AbstractCacheInvalidationBus(meterRegistry) {
+                @Override
+                protected void send(CacheInvalidation invalidation) {
+                }
+            };
+        }
+
+        @Bean
+        TieredCache<Long, Employee> employeeCache(CacheInvalidationBus bus, MeterRegistry meterRegistry) {
+            return new TieredCache<>(CacheConfig.EMPLOYEES, Long::valueOf, 100, Duration.ofMinutes(10), Duration.ZERO,
+                bus, meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hello.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the prefix index behind employee type-ahead.
+ */
+public class NameSearchIndexTest {
+
+    private static final long[] IDS = {1, 2, 3, 4};
+    private static final String[] FIRST_NAMES = {"John", "Joan", "Mary-Jo", "Peter"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "O'Brien", "Johnson"};
+    private static final String[] EMAILS = {"john.doe@company.com", "jsmith@company.com", "mobrien@company.com",
+        "peter.johnson@company.com"};
+
+    private final NameSearchIndex index = NameSearchIndex.build(IDS, FIRST_NAMES, LAST_NAMES, EMAILS, IDS.length);
+
+    @Test
+    public void shouldMatchWordPrefixesAcrossNamesAndEmail() {
+        assertThat(search("jo")).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(search("JOH")).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(search("brien")).containsExactly(3L);
+        assertThat(search("jsm")).containsExactly(2L);
+        assertThat(search("xyz")).isEmpty();
+    }
+
+    @Test
+    public void shouldRequireEveryQueryWord() {
+        assertThat(search("jo do")).containsExactly(1L);
+        assertThat(search("peter john")).containsExactly(4L);
+        assertThat(search("joan doe")).isEmpty();
+    }
+
+    @Test
+    public void shouldMatchWholeEmailPrefix() {
+        assertThat(search("john.d")).containsExactly(1L);
+        assertThat(search("peter.johnson@comp")).containsExactly(4L);
+    }
+
+    @Test
+    public void shouldHonourLimitAndSkippedIds() {
+        List<Long> limited = new ArrayList<>();
+        index.search(NameSearchIndex.queryTokens("jo"), 2, 100, id -> false, doc -> limited.add(index.idAt(doc)));
+        assertThat(limited).hasSize(2);
+
+        List<Long> skipped = new ArrayList<>();
+        index.search(NameSearchIndex.queryTokens("joh"), 10, 100, id -> id == 1, doc -> skipped.add(index.idAt(doc)));
+        assertThat(skipped).containsExactly(4L);
+    }
+
+    private List<Long> search(String query) {
+        List<Long> ids = new ArrayList<>();
+        index.search(NameSearchIndex.queryTokens(query), 10, 100, id -> false, doc -> ids.add(index.idAt(doc)));
+        return ids;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hello.index;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.hello.index.OrgTree.NO_MANAGER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the array-based org tree, using the sample hierarchy from
+ * V4__Insert_Sample_Employees.sql.
+ */
+public class OrgTreeTest {
+
+    private static final long[] EMPLOYEES = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    private static final long[] MANAGERS = {NO_MANAGER, 1, 2, NO_MANAGER, 4, 4, 1, NO_MANAGER, 1, 8};
+
+    private final OrgTree tree = OrgTree.build(EMPLOYEES, MANAGERS, EMPLOYEES.length);
+
+    @Test
+    public void shouldAnswerReportingLineChecks() {
+        assertThat(tree.reportsTo(3, 1)).isTrue();
+        assertThat(tree.reportsTo(3, 2)).isTrue();
+        assertThat(tree.reportsTo(2, 3)).isFalse();
+        assertThat(tree.reportsTo(5, 1)).isFalse();
+        assertThat(tree.reportsTo(1, 1)).isFalse();
+        assertThat(tree.reportsTo(42, 1)).isFalse();
+    }
+
+    @Test
+    public void shouldReturnSubtreesAndChains() {
+        assertThat(tree.subordinateIds(1)).containsExactly(2, 3, 7, 9);
+        assertThat(tree.directReportIds(1)).containsExactly(2, 7, 9);
+        assertThat(tree.managementChainIds(3)).containsExactly(2, 1);
+        assertThat(tree.subordinateCount(4)).isEqualTo(2);
+        assertThat(tree.subordinateIds(10)).isEmpty();
+        assertThat(tree.subordinateIds(42)).isNull();
+    }
+
+    @Test
+    public void shouldReportShape() {
+        assertThat(tree.employeeCount()).isEqualTo(10);
+        assertThat(tree.rootCount()).isEqualTo(3);
+        assertThat(tree.maxDepth()).isEqualTo(2);
+        assertThat(tree.memoryBytes()).isPositive();
+    }
+
+    @Test
+    public void shouldTreatMissingManagersAsRootsAndBreakCycles() {
+        long[] employees = {10, 20, 30, 40};
+        long[] managers = {99, 30, 20, 30};
+
+        OrgTree cyclic = OrgTree.build(employees, managers, employees.length);
+
+        assertThat(cyclic.detachedCycles()).isEqualTo(1);
+        assertThat(cyclic.rootCount()).isEqualTo(2);
+        assertThat(cyclic.subordinateCount(10)).isZero();
+        assertThat(cyclic.managementChainIds(40)).isNotEmpty();
+        assertThat(cyclic.subordinateIds(20).length + cyclic.subordinateIds(30).length).isEqualTo(3);
+    }
+}
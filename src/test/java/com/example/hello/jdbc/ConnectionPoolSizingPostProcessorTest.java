@@ -0,0 +1,67 @@
+package com.example.hello.jdbc;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.zaxxer.hikari.HikariConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the core-count pool size defaults, bound the way Spring Boot binds
+ * {@code spring.datasource.hikari.*}.
+ */
+public class ConnectionPoolSizingPostProcessorTest {
+
+    private final ConnectionPoolSizingPostProcessor postProcessor = new ConnectionPoolSizingPostProcessor(Supplier::get);
+
+    @Test
+    public void shouldDeriveFixedPoolSizeFromCores() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("jdbc.pool.connections-per-core", "3")
+            .withProperty("jdbc.pool.max-size", "1000");
+
+        HikariConfig config = bind(environment);
+
+        int expected = Math.max(4, Runtime.getRuntime().availableProcessors() * 3 + 1);
+        assertThat(config.getMaximumPoolSize()).isEqualTo(expected);
+        assertThat(config.getMinimumIdle()).isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldKeepExplicitSizes() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.datasource.hikari.maximum-pool-size", "7");
+
+        HikariConfig config = bind(environment);
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(config.getMinimumIdle()).isEqualTo(7);
+
+        environment.withProperty("spring.datasource.hikari.minimum-idle", "2");
+        config = bind(environment);
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(config.getMinimumIdle()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldAddDefaultsAtLowestPrecedence() {
+        MockEnvironment environment = new MockEnvironment();
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Property sources added later (e.g. test properties) still override the defaults
+        assertThat(environment.getPropertySources().stream().reduce((first, second) -> second).orElseThrow().getName())
+            .isEqualTo(ConnectionPoolSizingPostProcessor.PROPERTY_SOURCE_NAME);
+    }
+
+    private HikariConfig bind(MockEnvironment environment) {
+        environment.getPropertySources().remove(ConnectionPoolSizingPostProcessor.PROPERTY_SOURCE_NAME);
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+        return Binder.get(environment).bindOrCreate("spring.datasource.hikari", HikariConfig.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.hello.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SQL normalization used to aggregate JDBC statistics.
+ */
+public class SqlNormalizerTest {
+
+    @Test
+    public void shouldReplaceLiteralsWithPlaceholders() {
+        String sql = "select * from EMPLOYEES where EMPLOYEE_ID = 42 and JOB_ID = 'IT_PROG' and SALARY > 1000.50";
+
+        assertThat(SqlNormalizer.normalize(sql))
+            .isEqualTo("select * from EMPLOYEES where EMPLOYEE_ID = ? and JOB_ID = ? and SALARY > ?");
+    }
+
+    @Test
+    public void shouldCollapseWhitespaceAndInLists() {
+        String sql = "select e1_0.EMPLOYEE_ID\n  from EMPLOYEES e1_0\n where e1_0.EMPLOYEE_ID in (?, ?,?)";
+
+        assertThat(SqlNormalizer.normalize(sql))
+            .isEqualTo("select e1_0.EMPLOYEE_ID from EMPLOYEES e1_0 where e1_0.EMPLOYEE_ID in (?)");
+    }
+
+    @Test
+    public void shouldKeepDigitsInsideIdentifiers() {
+        String sql = "select u1_0.ID from APP_USERS u1_0 where u1_0.USERNAME = ?";
+
+        assertThat(SqlNormalizer.normalize(sql)).isEqualTo(sql);
+    }
+
+    @Test
+    public void shouldHandleEscapedQuotesInStringLiterals() {
+        assertThat(SqlNormalizer.normalize("update EMPLOYEES set LAST_NAME = 'O''Brien' where EMPLOYEE_ID = 7"))
+            .isEqualTo("update EMPLOYEES set LAST_NAME = ? where EMPLOYEE_ID = ?");
+    }
+}
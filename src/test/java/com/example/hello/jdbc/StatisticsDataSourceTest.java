@@ -0,0 +1,143 @@
+package com.example.hello.jdbc;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements run through a DataSource wrapped by {@link StatisticsDataSourcePostProcessor},
+ * against an in-memory H2 database, with {@link SqlStatementBudgetFilter} opening the
+ * request scope.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+public class StatisticsDataSourceTest {
+
+    private static final String SELECT = "SELECT NAME FROM ITEMS WHERE ID > ?";
+    private static final String INSERT = "INSERT INTO ITEMS (ID, NAME) VALUES (?, ?)";
+
+    private SqlStatisticsCollector collector;
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        // Budget of 3 statements per request, N+1 warning from 3 repeats
+        collector = new SqlStatisticsCollector(3, 500, 3, 1000);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("sqlStatisticsCollector", collector);
+        StatisticsDataSourcePostProcessor postProcessor =
+            new StatisticsDataSourcePostProcessor(beanFactory.getBeanProvider(SqlStatisticsCollector.class));
+
+        DataSource target = new DriverManagerDataSource(
+            "jdbc:h2:mem:statistics-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource = (DataSource) postProcessor.postProcessAfterInitialization(target, "dataSource");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE ITEMS (ID NUMBER(19) PRIMARY KEY, NAME VARCHAR(50))");
+        collector.reset();
+    }
+
+    @Test
+    public void shouldWrapOnlyOnce() {
+        StatisticsDataSourcePostProcessor postProcessor =
+            new StatisticsDataSourcePostProcessor(new DefaultListableBeanFactory().getBeanProvider(SqlStatisticsCollector.class));
+
+        assertThat(dataSource).isInstanceOf(StatisticsDataSource.class);
+        assertThat(postProcessor.postProcessAfterInitialization(dataSource, "dataSource")).isSameAs(dataSource);
+    }
+
+    @Test
+    public void shouldCountExecutionsAndFetchedRowsPerNormalizedStatement() {
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update(INSERT, id, "Item " + id);
+        }
+        List<String> all = jdbcTemplate.queryForList(SELECT, String.class, 0);
+        List<String> some = jdbcTemplate.queryForList(SELECT, String.class, 3);
+        // Literal SQL normalizes to the prepared statement
+        List<String> literal = jdbcTemplate.queryForList("SELECT NAME FROM ITEMS WHERE ID > 4", String.class);
+
+        assertThat(all).hasSize(5);
+        assertThat(some).hasSize(2);
+        assertThat(literal).hasSize(1);
+        assertThat(snapshot(INSERT).executions()).isEqualTo(5);
+        assertThat(snapshot(INSERT).rowsFetched()).isZero();
+        assertThat(snapshot(SELECT).executions()).isEqualTo(3);
+        assertThat(snapshot(SELECT).rowsFetched()).isEqualTo(8);
+        assertThat(snapshot(SELECT).errors()).isZero();
+
+        SqlStatisticsCollector.Report report = collector.report(10);
+        assertThat(report.totalExecutions()).isEqualTo(8);
+        assertThat(report.distinctStatements()).isEqualTo(2);
+        assertThat(report.requests()).isZero();
+    }
+
+    @Test
+    public void shouldCountBatchesAndFailuresOnce() {
+        jdbcTemplate.batchUpdate(INSERT, List.of(new Object[] {1L, "One"}, new Object[] {2L, "Two"}));
+        try {
+            jdbcTemplate.update(INSERT, 1L, "Duplicate");
+        } catch (RuntimeException expected) {
+            // Primary key violation
+        }
+
+        assertThat(snapshot(INSERT).executions()).isEqualTo(2);
+        assertThat(snapshot(INSERT).errors()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldWarnWhenRequestExceedsStatementBudget(CapturedOutput output) throws Exception {
+        handle("/api/items", 3);
+        assertThat(collector.report(10).requestsOverBudget()).isZero();
+        assertThat(output).doesNotContain("SQL statement budget exceeded");
+
+        handle("/api/items/all", 4);
+
+        SqlStatisticsCollector.Report report = collector.report(10);
+        assertThat(report.requests()).isEqualTo(2);
+        assertThat(report.requestsOverBudget()).isEqualTo(1);
+        assertThat(report.maxStatementsPerRequest()).isEqualTo(4);
+        assertThat(report.averageStatementsPerRequest()).isEqualTo(3.5);
+        assertThat(output).contains("SQL statement budget exceeded: GET /api/items/all issued 4 statements (budget 3)")
+            .contains("Possible N+1 query: GET /api/items/all executed the same statement 4 times - " + SELECT);
+        // The filter closes the scope after each request
+        assertThat(collector.currentRequestStatementCount()).isEqualTo(-1);
+    }
+
+    private void handle(String uri, int queries) throws Exception {
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                for (int i = 0; i < queries; i++) {
+                    jdbcTemplate.queryForList(SELECT, String.class, i);
+                }
+                assertThat(collector.currentRequestStatementCount()).isEqualTo(queries);
+            }
+        };
+        new SqlStatementBudgetFilter(collector).doFilter(new MockHttpServletRequest("GET", uri),
+            new MockHttpServletResponse(), new MockFilterChain(servlet));
+    }
+
+    private SqlStatementStats.Snapshot snapshot(String sql) {
+        return collector.report(10).statements().stream()
+            .filter(stats -> stats.sql().equals(sql))
+            .findFirst()
+            .orElseThrow();
+    }
+}
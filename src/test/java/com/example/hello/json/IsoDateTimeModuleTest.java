@@ -0,0 +1,54 @@
+package com.example.hello.json;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests checking that the buffer-based date serializers produce exactly
+ * what jackson-datatype-jsr310 writes with timestamps disabled.
+ */
+public class IsoDateTimeModuleTest {
+
+    private final ObjectMapper jsr310 = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ObjectMapper tuned = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .registerModule(new IsoDateTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void shouldWriteDatesLikeJsr310() throws Exception {
+        for (LocalDate date : List.of(LocalDate.of(2020, 1, 15), LocalDate.of(1, 12, 31), LocalDate.of(9999, 2, 3),
+            LocalDate.of(12345, 6, 7), LocalDate.of(-44, 3, 15))) {
+            assertThat(tuned.writeValueAsString(date)).isEqualTo(jsr310.writeValueAsString(date));
+        }
+    }
+
+    @Test
+    public void shouldWriteDateTimesLikeJsr310() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 10, 20, 7, 5, 0);
+        for (LocalDateTime dateTime : List.of(base, base.withSecond(9), base.withNano(100_000_000),
+            base.withNano(123_000_000), base.withNano(994_212_000), base.withNano(120_400), base.withNano(1),
+            base.withNano(999_999_999), LocalDateTime.of(10000, 1, 1, 0, 0))) {
+            assertThat(tuned.writeValueAsString(dateTime)).isEqualTo(jsr310.writeValueAsString(dateTime));
+        }
+    }
+
+    @Test
+    public void shouldLeaveDeserializationToJsr310() throws Exception {
+        LocalDateTime value = LocalDateTime.of(2025, 10, 20, 7, 5, 3, 994_212_000);
+        assertThat(tuned.readValue(tuned.writeValueAsString(value), LocalDateTime.class)).isEqualTo(value);
+        assertThat(tuned.readValue("\"2020-01-15\"", LocalDate.class)).isEqualTo(LocalDate.of(2020, 1, 15));
+    }
+}
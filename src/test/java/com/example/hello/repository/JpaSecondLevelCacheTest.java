@@ -0,0 +1,100 @@
+package com.example.hello.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.config.JpaCacheConfig;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the Hibernate second-level and query cache against H2 migrated by
+ * Flyway: a repeated lookup in a new transaction must not reach the database.
+ */
+@DataJpaTest
+@Import(JpaCacheConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:jpa-cache;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    // The entities are validated against the Oracle schema; H2 reports NUMBER(19) as NUMERIC
+    "spring.jpa.hibernate.ddl-auto=none"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JpaSecondLevelCacheTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void shouldServeRepeatedEmployeeLookupFromSecondLevelCache() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepository.findById(1L).orElseThrow());
+        long statements = statistics.getPrepareStatementCount();
+
+        String firstName = transactionTemplate.execute(status -> employeeRepository.findById(1L).orElseThrow().getFirstName());
+
+        assertThat(firstName).isEqualTo("John");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getDomainDataRegionStatistics("employee").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldServeRepeatedUserLookupFromQueryCache() {
+        transactionTemplate.executeWithoutResult(status -> userRepository.findByUsername("admin").orElseThrow()
+            .getAuthorities().size());
+        long statements = statistics.getPrepareStatementCount();
+
+        // Authorities are lazy; they come from the collection region on first access
+        transactionTemplate.executeWithoutResult(status -> assertThat(
+            userRepository.findByUsername("admin").orElseThrow().getAuthorities())
+            .extracting("authority").containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryRegionStatistics("user-queries").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldServeRepeatedAuthorityLookupFromQueryCache() {
+        transactionTemplate.executeWithoutResult(status -> authorityRepository.findByUsername("admin"));
+        long statements = statistics.getPrepareStatementCount();
+
+        transactionTemplate.executeWithoutResult(status -> assertThat(authorityRepository.findByUsername("admin")).hasSize(2));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+}
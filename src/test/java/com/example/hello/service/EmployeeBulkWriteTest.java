@@ -0,0 +1,244 @@
+package com.example.hello.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hello.cache.AbstractCacheInvalidationBus;
+import com.example.hello.cache.AccessFrequencyTracker;
+import com.example.hello.cache.CacheInvalidation;
+import com.example.hello.cache.CacheInvalidationBus;
+import com.example.hello.cache.JpaCacheRegions;
+import com.example.hello.cache.TieredCache;
+import com.example.hello.changes.EmployeeChangeFeed;
+import com.example.hello.config.CacheConfig;
+import com.example.hello.config.JpaCacheConfig;
+import com.example.hello.controller.EmployeeBulkController;
+import com.example.hello.dto.BulkEmployeeDelete;
+import com.example.hello.dto.BulkEmployeeUpdate;
+import com.example.hello.dto.EmployeeSearchCriteria;
+import com.example.hello.event.EmployeeChangedEvent;
+import com.example.hello.event.EmployeesBulkChangedEvent;
+import com.example.hello.model.Employee;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Set-based bulk updates and deletes against H2 migrated by Flyway, and the request
+ * validation of {@link EmployeeBulkController} in front of them. Each test adds
+ * employees 1001 to 2100, more than one 1000-ID chunk, and removes them afterwards.
+ */
+@DataJpaTest
+@Import({JpaCacheConfig.class, JpaCacheRegions.class, EmployeeService.class, EmployeeBulkWriteTest.LocalCacheConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:employee-bulk;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=none"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+public class EmployeeBulkWriteTest {
+
+    private static final long FIRST_ID = 1001;
+    private static final long LAST_ID = 2100;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @MockBean
+    private AccessFrequencyTracker accessTracker;
+
+    @MockBean
+    private EmployeeChangeFeed changeFeed;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = FIRST_ID; id <= LAST_ID; id++) {
+            // Odd IDs have no commission
+            rows.add(new Object[] {id, "Bulk", "Employee " + id, "bulk" + id + "@company.com", new BigDecimal("1234.55"),
+                id % 2 == 0 ? new BigDecimal("0.10") : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO EMPLOYEES (EMPLOYEE_ID, FIRST_NAME, LAST_NAME, EMAIL, HIRE_DATE, JOB_ID, "
+            + "SALARY, COMMISSION_PCT, MANAGER_ID, DEPARTMENT_ID) VALUES (?, ?, ?, ?, DATE '2024-01-15', 'IT_PROG', ?, ?, 1, 10)",
+            rows);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM EMPLOYEES WHERE EMPLOYEE_ID >= ?", FIRST_ID);
+    }
+
+    @Test
+    public void shouldRaiseSalariesInChunksRoundedToCents() {
+        List<Long> ids = new ArrayList<>(bulkIds());
+        // Duplicates are updated once
+        ids.add(FIRST_ID);
+
+        int updated = employeeService.bulkUpdate(new BulkEmployeeUpdate(ids, null, 30L, null, new BigDecimal("3.5")));
+
+        assertThat(updated).isEqualTo(1100);
+        // One UPDATE per 1000 IDs
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        // 1234.55 * 1.035 = 1277.75925
+        assertThat(count("SALARY = 1277.76 AND DEPARTMENT_ID = 30 AND MANAGER_ID = 1 AND VERSION = 1")).isEqualTo(1100);
+        assertThat(count("COMMISSION_PCT IS NULL")).isEqualTo(550);
+        assertThat(count("COMMISSION_PCT = 0.10")).isEqualTo(550);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEES WHERE EMPLOYEE_ID < ? AND SALARY = 1277.76",
+            Long.class, FIRST_ID)).isZero();
+        assertThat(events.stream(EmployeesBulkChangedEvent.class))
+            .containsExactly(EmployeesBulkChangedEvent.updated(1100, false));
+    }
+
+    @Test
+    public void shouldApplySalaryCutAndNewManager() {
+        jdbcTemplate.update("UPDATE EMPLOYEES SET SALARY = 1999.99 WHERE EMPLOYEE_ID = ?", LAST_ID);
+
+        int updated = employeeService.bulkUpdate(new BulkEmployeeUpdate(List.of(LAST_ID), null, null, 4L,
+            new BigDecimal("-2.5")));
+
+        assertThat(updated).isEqualTo(1);
+        // 1999.99 * 0.975 = 1949.99025
+        assertThat(count("EMPLOYEE_ID = " + LAST_ID + " AND SALARY = 1949.99 AND MANAGER_ID = 4 AND COMMISSION_PCT = 0.10"))
+            .isEqualTo(1);
+        assertThat(events.stream(EmployeesBulkChangedEvent.class))
+            .containsExactly(EmployeesBulkChangedEvent.updated(1, true));
+    }
+
+    @Test
+    public void shouldDeleteInChunksAndPublishOneEvent() {
+        List<Long> ids = new ArrayList<>(bulkIds());
+        ids.add(9999L);
+
+        int deleted = employeeService.bulkDelete(new BulkEmployeeDelete(ids, null));
+
+        assertThat(deleted).isEqualTo(1100);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(count("1 = 1")).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEES", Long.class)).isEqualTo(10);
+        assertThat(events.stream(EmployeesBulkChangedEvent.class))
+            .containsExactly(EmployeesBulkChangedEvent.deleted(1100));
+        assertThat(events.stream(EmployeeChangedEvent.class)).isEmpty();
+    }
+
+    @Test
+    public void shouldNotPublishWhenNothingMatches() {
+        assertThat(employeeService.bulkDelete(new BulkEmployeeDelete(List.of(9999L), null))).isZero();
+        assertThat(employeeService.bulkUpdate(new BulkEmployeeUpdate(List.of(9999L), null, 30L, null, null))).isZero();
+
+        assertThat(events.stream(EmployeesBulkChangedEvent.class)).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectSalaryCutOfAHundredPercentOrMore() {
+        EmployeeBulkController controller = new EmployeeBulkController(employeeService);
+
+        assertThat(controller.bulkUpdate(new BulkEmployeeUpdate(bulkIds(), null, null, null, new BigDecimal("-100")))
+            .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(controller.bulkUpdate(new BulkEmployeeUpdate(null, filterByDepartment(10L), null, null,
+            new BigDecimal("-150"))).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        assertThat(count("SALARY = 1234.55")).isEqualTo(1100);
+        assertThat(events.stream(EmployeesBulkChangedEvent.class)).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectEmployeeAsItsOwnManager() {
+        EmployeeBulkController controller = new EmployeeBulkController(employeeService);
+
+        assertThat(controller.bulkUpdate(new BulkEmployeeUpdate(bulkIds(), null, null, LAST_ID, null))
+            .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        // LAST_ID is in department 10 and so matches the filter
+        assertThat(controller.bulkUpdate(new BulkEmployeeUpdate(null, filterByDepartment(10L), 30L, LAST_ID, null))
+            .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        assertThat(count("MANAGER_ID = 1 AND DEPARTMENT_ID = 10")).isEqualTo(1100);
+        assertThat(events.stream(EmployeesBulkChangedEvent.class)).isEmpty();
+    }
+
+    private static EmployeeSearchCriteria filterByDepartment(Long departmentId) {
+        return new EmployeeSearchCriteria(departmentId, null, null, null, null, null, null, null, null);
+    }
+
+    private static List<Long> bulkIds() {
+        return LongStream.rangeClosed(FIRST_ID, LAST_ID).boxed().toList();
+    }
+
+    /**
+     * Added employees matching {@code condition}.
+     */
+    private long count(String condition) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEES WHERE EMPLOYEE_ID >= ? AND " + condition,
+            Long.class, FIRST_ID);
+    }
+
+    /**
+     * A single-node employee cache without a shared tier.
+     */
+    @TestConfiguration
+    static class LocalCacheConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheInvalidationBus cacheInvalidationBus(MeterRegistry meterRegistry) {
+            return new AbstractCacheInvalidationBus(meterRegistry) {
+                @Override
+                protected void send(CacheInvalidation invalidation) {
+                }
+            };
+        }
+
+        @Bean
+        TieredCache<Long, Employee> employeeCache(CacheInvalidationBus bus, MeterRegistry meterRegistry) {
+            return new TieredCache<>(CacheConfig.EMPLOYEES, Long::valueOf, 100, Duration.ofMinutes(10), Duration.ZERO,
+                bus, meterRegistry);
+        }
+    }
+}
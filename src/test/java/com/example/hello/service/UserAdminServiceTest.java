@@ -0,0 +1,212 @@
+package com.example.hello.service;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hello.cache.AbstractCacheInvalidationBus;
+import com.example.hello.cache.CacheInvalidation;
+import com.example.hello.cache.CacheInvalidationBus;
+import com.example.hello.cache.JpaCacheRegions;
+import com.example.hello.config.JpaCacheConfig;
+import com.example.hello.config.PasswordEncoderConfig;
+import com.example.hello.dto.BulkAuthorityUpdate;
+import com.example.hello.dto.NewUser;
+import com.example.hello.dto.UserView;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * User administration against H2 migrated by Flyway (users "admin", "bill" and
+ * "user"). The second-level cache is cleared before each test, so the read
+ * statement counts are what reaches the database. Users created by a test are
+ * named "bulk-..." and removed after it.
+ */
+@DataJpaTest
+@Import({JpaCacheConfig.class, JpaCacheRegions.class, PasswordEncoderConfig.class, PasswordHashingPool.class,
+    UserAdminService.class, UserAdminServiceTest.LocalBusConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:user-admin;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=none"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserAdminServiceTest {
+
+    @Autowired
+    private UserAdminService userAdminService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM APP_AUTHORITIES WHERE USERNAME LIKE 'bulk-%'");
+        jdbcTemplate.update("DELETE FROM APP_USERS WHERE USERNAME LIKE 'bulk-%'");
+    }
+
+    @Test
+    public void shouldGetUserWithAuthoritiesInOneStatement() {
+        UserView admin = userAdminService.get("admin").orElseThrow();
+
+        assertThat(admin.authorities()).containsExactly("ROLE_ADMIN", "ROLE_USER");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldListOnlyPageInTwoStatements() {
+        Page<UserView> users = userAdminService.list(PageRequest.of(0, 20, Sort.by("username")));
+
+        assertThat(users.getContent()).extracting(UserView::username).containsExactly("admin", "bill", "user");
+        assertThat(users.getContent()).extracting(UserView::authorities)
+            .containsExactly(List.of("ROLE_ADMIN", "ROLE_USER"), List.of("ROLE_ADMIN"),
+                List.of("ROLE_USER"));
+        // The IDs, then the users with their authorities; no count for a single page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldListPageInThreeStatementsWhenThereAreMore() {
+        Page<UserView> users = userAdminService.list(PageRequest.of(0, 2, Sort.by("username")));
+
+        assertThat(users.getContent()).extracting(UserView::username).containsExactly("admin", "bill");
+        assertThat(users.getTotalElements()).isEqualTo(3);
+        // The IDs, the count and the users with their authorities
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldReturnEmptyPageBeyondLastWithoutFetchingUsers() {
+        Page<UserView> users = userAdminService.list(PageRequest.of(5, 2, Sort.by("username")));
+
+        assertThat(users.getContent()).isEmpty();
+        assertThat(users.getTotalElements()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReturnEmptyForUnknownUser() {
+        assertThat(userAdminService.get("nobody")).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCreateUsersWithHashedPasswordsAndAuthorities() {
+        List<NewUser> users = IntStream.range(0, 20)
+            .mapToObj(i -> new NewUser("bulk-" + i, "secret-" + i, i != 7,
+                i % 2 == 0 ? List.of("ROLE_USER") : List.of("ROLE_USER", "ROLE_ADMIN")))
+            .toList();
+
+        assertThat(userAdminService.createUsers(users)).isEqualTo(20);
+
+        UserView created = userAdminService.get("bulk-7").orElseThrow();
+        assertThat(created.enabled()).isFalse();
+        assertThat(created.authorities()).containsExactly("ROLE_ADMIN", "ROLE_USER");
+        String hash = jdbcTemplate.queryForObject("SELECT PASSWORD FROM APP_USERS WHERE USERNAME = 'bulk-7'", String.class);
+        assertThat(passwordEncoder.matches("secret-7", hash)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM APP_AUTHORITIES WHERE USERNAME LIKE 'bulk-%'",
+            Integer.class)).isEqualTo(30);
+    }
+
+    @Test
+    public void shouldCreateNoUserWhenUsernameTaken() {
+        List<NewUser> users = List.of(
+            new NewUser("bulk-new", "secret", null, List.of("ROLE_USER")),
+            new NewUser("admin", "secret", null, List.of()));
+
+        assertThatThrownBy(() -> userAdminService.createUsers(users)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(userAdminService.get("bulk-new")).isEmpty();
+    }
+
+    @Test
+    public void shouldGrantOnlyMissingAndRevokeOnlyHeldAuthorities() {
+        userAdminService.createUsers(List.of(
+            new NewUser("bulk-a", "secret", true, List.of("ROLE_USER")),
+            new NewUser("bulk-b", "secret", true, List.of("ROLE_ADMIN"))));
+        assertThat(userAdminService.get("bulk-a").orElseThrow().authorities()).containsExactly("ROLE_USER");
+
+        int changed = userAdminService.updateAuthorities(
+            new BulkAuthorityUpdate(List.of("bulk-a", "bulk-b"), List.of("ROLE_ADMIN"), List.of("ROLE_USER")));
+
+        // bulk-a gains ROLE_ADMIN and loses ROLE_USER; bulk-b already has ROLE_ADMIN and never had ROLE_USER
+        assertThat(changed).isEqualTo(2);
+        assertThat(userAdminService.get("bulk-a").orElseThrow().authorities()).containsExactly("ROLE_ADMIN");
+        assertThat(userAdminService.get("bulk-b").orElseThrow().authorities()).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    public void shouldRejectAuthorityUpdateForUnknownUser() {
+        BulkAuthorityUpdate update = new BulkAuthorityUpdate(List.of("user", "bulk-missing"), List.of("ROLE_ADMIN"), null);
+
+        assertThatThrownBy(() -> userAdminService.updateAuthorities(update))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("bulk-missing");
+        assertThat(userAdminService.get("user").orElseThrow().authorities()).containsExactly("ROLE_USER");
+    }
+
+    /**
+     * A single-node bus: invalidations apply after commit and go nowhere else.
+     */
+    @TestConfiguration
+    static class LocalBusConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheInvalidationBus cacheInvalidationBus(MeterRegistry meterRegistry) {
+            return new AbstractCacheInvalidationBus(meterRegistry) {
+                @Override
+                protected void send(CacheInvalidation invalidation) {
+                }
+            };
+        }
+    }
+}